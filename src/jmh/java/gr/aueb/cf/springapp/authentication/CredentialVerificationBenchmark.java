@@ -0,0 +1,77 @@
+package gr.aueb.cf.springapp.authentication;
+
+import gr.aueb.cf.springapp.dao.UserRepository;
+import gr.aueb.cf.springapp.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a login through CustomAuthenticationProvider: a full BCrypt verification against
+ * a hit in the VerifiedCredentialCache. The user is returned by an in-memory UserRepository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CredentialVerificationBenchmark {
+
+    private static final String USERNAME = "benchmark";
+    private static final String PASSWORD = "s3cret-Passw0rd";
+
+    @Param({"10"})
+    private int bcryptStrength;
+
+    private VerifiedCredentialCache credentialCache;
+    private CustomAuthenticationProvider provider;
+    private Authentication authentication;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(bcryptStrength);
+        User user = new User(1L, USERNAME, passwordEncoder.encode(PASSWORD));
+
+        UserRepository userRepository = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(), new Class<?>[] {UserRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findByUsernameEquals")) {
+                        return USERNAME.equals(args[0]) ? user : null;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        credentialCache = new VerifiedCredentialCache(120, 10000);
+        provider = new CustomAuthenticationProvider(userRepository, new StaticMessageSource(),
+                passwordEncoder, credentialCache, new String[0]);
+        authentication = new UsernamePasswordAuthenticationToken(USERNAME, PASSWORD);
+    }
+
+    @Benchmark
+    public Authentication bcryptVerify() {
+        credentialCache.invalidate(USERNAME);
+        return provider.authenticate(authentication);
+    }
+
+    @Benchmark
+    public Authentication cachedVerify() {
+        return provider.authenticate(authentication);
+    }
+}
@@ -0,0 +1,88 @@
+package gr.aueb.cf.springapp.controller;
+
+import gr.aueb.cf.springapp.dto.EmployeeDTO;
+import gr.aueb.cf.springapp.dto.ProjectDTO;
+import gr.aueb.cf.springapp.entity.Employee;
+import gr.aueb.cf.springapp.entity.Employer;
+import gr.aueb.cf.springapp.entity.Project;
+import gr.aueb.cf.springapp.enums.Status;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the entity to DTO mapping done by the controllers before a redirect or a form view,
+ * for a page of employees and for a project with many employees.
+ * The mapping methods do not use the services, so the controllers are created without them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"50", "500"})
+    private int employees;
+
+    private EmployeeController employeeController;
+    private ProjectController projectController;
+    private List<Employee> employeeList;
+    private Project project;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employeeController = new EmployeeController(null, null, null);
+        projectController = new ProjectController(null, null);
+
+        Employer employer = new Employer();
+        employer.setId(1L);
+        employer.setName("Employer");
+        employer.setAddress("Address");
+
+        List<Project> projects = new ArrayList<>();
+        for (long i = 1; i <= 10; i++) {
+            projects.add(new Project(i, "Project " + i, "Description",
+                    LocalDate.parse("2030-01-01"), LocalDate.parse("2030-12-31"), Status.ACTIVE, employer, null));
+        }
+        project = projects.get(0);
+
+        employeeList = new ArrayList<>();
+        for (long i = 1; i <= employees; i++) {
+            Employee employee = new Employee(i, "First" + i, "Last" + i, "Developer", 100_000L, employer, null);
+            for (Project p : projects) {
+                employee.addProject(p);
+            }
+            employeeList.add(employee);
+        }
+    }
+
+    @Benchmark
+    public void mapEmployeesPage(Blackhole blackhole) {
+        for (Employee employee : employeeList) {
+            EmployeeDTO employeeDTO = employeeController.map(employee);
+            blackhole.consume(employeeDTO);
+        }
+    }
+
+    @Benchmark
+    public ProjectDTO mapProject() {
+        return projectController.mapToProjectDTO(project);
+    }
+}
@@ -0,0 +1,96 @@
+package gr.aueb.cf.springapp.entity;
+
+import gr.aueb.cf.springapp.enums.Status;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the membership checks and the add/delete helpers of the Employee-Project association
+ * on a large in-memory graph: one project with many employees, each employee on many projects.
+ * With id-based identity and hash sets, the cost should not depend on the size of the graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssociationMembershipBenchmark {
+
+    @Param({"100", "10000"})
+    private int employeesPerProject;
+
+    @Param({"50"})
+    private int projectsPerEmployee;
+
+    private Project project;
+    private Employee member;
+    private Employee newcomer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Employer employer = new Employer();
+        employer.setId(1L);
+        employer.setName("Employer");
+        employer.setAddress("Address");
+
+        List<Project> projects = new ArrayList<>();
+        for (long i = 1; i <= projectsPerEmployee; i++) {
+            projects.add(new Project(i, "Project " + i, "Description",
+                    LocalDate.parse("2030-01-01"), LocalDate.parse("2030-12-31"), Status.ACTIVE, employer, null));
+        }
+        project = projects.get(0);
+
+        for (long i = 1; i <= employeesPerProject; i++) {
+            Employee employee = new Employee(i, "First" + i, "Last" + i, "Developer", 100_000L, employer, null);
+            for (Project p : projects) {
+                employee.addProject(p);
+            }
+            member = employee;
+        }
+
+        newcomer = new Employee(employeesPerProject + 1L, "First", "Last", "Developer", 100_000L, employer, null);
+    }
+
+    /**
+     * The check of ProjectServiceImpl.assignProjectToEmployee: is the project already assigned to the employee?
+     */
+    @Benchmark
+    public boolean employeeHasProject() {
+        return member.getAllProjects().contains(project);
+    }
+
+    /**
+     * Is the employee one of the employees of the project?
+     */
+    @Benchmark
+    public boolean projectHasEmployee() {
+        return project.getAllEmployees().contains(member);
+    }
+
+    /**
+     * Assigns an employee to the project and releases it again, through both sides of the association.
+     */
+    @Benchmark
+    public boolean addAndDeleteEmployee() {
+        project.addEmployee(newcomer);
+        boolean added = newcomer.getAllProjects().contains(project);
+        project.deleteEmployee(newcomer);
+        return added;
+    }
+}
@@ -0,0 +1,98 @@
+package gr.aueb.cf.springapp.entity;
+
+import gr.aueb.cf.springapp.enums.Status;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Employee.equals and Employee.hashCode on employees that belong to a large graph
+ * (an employer with many projects, each project with many employees), and a hash set lookup of an employee.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityIdentityBenchmark {
+
+    @Param({"100", "10000"})
+    private int employees;
+
+    @Param({"20"})
+    private int projects;
+
+    private Employee employee;
+    private Employee sameEmployee;
+    private Employee otherEmployee;
+    private Set<Employee> employeeSet;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Employer employer = new Employer();
+        employer.setId(1L);
+        employer.setName("Employer");
+        employer.setAddress("Address");
+
+        List<Project> projectList = new ArrayList<>();
+        for (long i = 1; i <= projects; i++) {
+            projectList.add(new Project(i, "Project " + i, "Description",
+                    LocalDate.parse("2030-01-01"), LocalDate.parse("2030-12-31"), Status.ACTIVE, employer, null));
+        }
+
+        employeeSet = new HashSet<>();
+        for (long i = 1; i <= employees; i++) {
+            Employee e = new Employee(i, "First" + i, "Last" + i, "Developer", 100_000L, employer, null);
+            for (Project project : projectList) {
+                e.addProject(project);
+            }
+            employeeSet.add(e);
+            if (i == employees / 2) {
+                employee = e;
+            } else if (i == employees / 2 + 1) {
+                otherEmployee = e;
+            }
+        }
+
+        // A second instance of the same row, as loaded by another persistence context.
+        sameEmployee = new Employee(employee.getId(), employee.getFirstname(), employee.getLastname(),
+                employee.getJobTitle(), employee.getSalary(), employer, projectList);
+    }
+
+    @Benchmark
+    public boolean equalsSameRow() {
+        return employee.equals(sameEmployee);
+    }
+
+    @Benchmark
+    public boolean equalsOtherRow() {
+        return employee.equals(otherEmployee);
+    }
+
+    @Benchmark
+    public int hashCodeOfEmployee() {
+        return employee.hashCode();
+    }
+
+    @Benchmark
+    public boolean setContainsEmployee() {
+        return employeeSet.contains(sameEmployee);
+    }
+}
@@ -0,0 +1,59 @@
+package gr.aueb.cf.springapp.service.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the project date validators of ProjectServiceImpl, which run on every project form submission.
+ * The validators do not use the repositories, so the service is created without them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateValidationBenchmark {
+
+    private ProjectServiceImpl projectService;
+
+    private final String startDate = "2030-01-15";
+    private final String endDate = "2030-12-31";
+    private final String invalidDate = "2030-02-31";
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        projectService = new ProjectServiceImpl(null, null, null, null, null);
+    }
+
+    @Benchmark
+    public boolean isDateFormatted() {
+        return projectService.isDateFormatted(startDate);
+    }
+
+    @Benchmark
+    public boolean isDateValid() {
+        return projectService.isDateValid(startDate);
+    }
+
+    @Benchmark
+    public boolean isDateValidRejected() {
+        return projectService.isDateValid(invalidDate);
+    }
+
+    @Benchmark
+    public boolean isEndAfterStartDate() {
+        return projectService.isEndAfterStartDate(startDate, endDate);
+    }
+}
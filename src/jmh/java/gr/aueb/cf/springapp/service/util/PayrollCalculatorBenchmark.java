@@ -0,0 +1,91 @@
+package gr.aueb.cf.springapp.service.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares payroll totals and raises over boxed Double salaries, as the entities used to hold them,
+ * with PayrollCalculator over salaries in minor units in a long array.
+ * Run with -prof gc to see that the Double raise allocates a box per salary and the long one nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayrollCalculatorBenchmark {
+
+    @Param({"1000", "100000"})
+    private int employees;
+
+    private Double[] doubleSalaries;
+    private Double[] doubleWork;
+    private long[] salaries;
+    private long[] work;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        doubleSalaries = new Double[employees];
+        doubleWork = new Double[employees];
+        salaries = new long[employees];
+        work = new long[employees];
+        for (int i = 0; i < employees; i++) {
+            long cents = 80_000 + random.nextInt(1_000_000);
+            salaries[i] = cents;
+            doubleSalaries[i] = cents / 100.0;
+        }
+    }
+
+    @Benchmark
+    public double totalDouble() {
+        double total = 0;
+        for (Double salary : doubleSalaries) {
+            total += salary;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long totalLong() {
+        return PayrollCalculator.total(salaries, employees);
+    }
+
+    @Benchmark
+    public double raiseDouble() {
+        System.arraycopy(doubleSalaries, 0, doubleWork, 0, employees);
+        double change = 0;
+        for (int i = 0; i < employees; i++) {
+            double raised = Math.round(doubleWork[i] * 1.035 * 100) / 100.0;
+            change += raised - doubleWork[i];
+            doubleWork[i] = raised;
+        }
+        return change;
+    }
+
+    @Benchmark
+    public long raiseLong() {
+        System.arraycopy(salaries, 0, work, 0, employees);
+        return PayrollCalculator.applyRaise(work, employees, 350);
+    }
+
+    @Benchmark
+    public long adjustLong() {
+        System.arraycopy(salaries, 0, work, 0, employees);
+        return PayrollCalculator.applyAdjustment(work, employees, -5_000);
+    }
+}
@@ -0,0 +1,213 @@
+package gr.aueb.cf.springapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.aueb.cf.springapp.SpringApp;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.File;
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Boots the whole application on an embedded H2 database (MySQL mode), seeds it with the configured volumes
+ * and drives the main MVC endpoints with a fixed number of concurrent, logged-in clients.
+ * For every endpoint it reports the p50/p99 latency, the throughput and the SQL statements per request,
+ * on the console and as JSON. The statements are the JDBC statements the application counts per request
+ * (http.server.requests.sql.statements), so they include those Hibernate does not prepare itself.
+ * Run it with ./gradlew loadTest (see build.gradle for the settings).
+ */
+@SpringBootTest(classes = SpringApp.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class EndpointLoadTest {
+
+    private static final String USERNAME = "loadtest@example.com";
+    private static final String PASSWORD = "loadtest-password";
+
+    @LocalServerPort
+    private int port;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void measureEndpoints() throws Exception {
+        LoadTestSettings settings = new LoadTestSettings();
+        System.out.println("Seeding " + settings);
+        LoadTestSeeder seeder = new LoadTestSeeder(entityManager, new TransactionTemplate(transactionManager),
+                passwordEncoder);
+        seeder.seedUser(USERNAME, PASSWORD);
+        seeder.seedData(settings);
+
+        List<HttpClient> clients = new ArrayList<>();
+        for (int i = 0; i < settings.getConcurrency(); i++) {
+            HttpClient client = HttpClient.newBuilder()
+                    .cookieHandler(new CookieManager())
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            HttpResponse<Void> response = client.send(loginRequest(), HttpResponse.BodyHandlers.discarding());
+            assertTrue(isLoggedIn(response), "Login of the load-test user failed");
+            clients.add(client);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.getConcurrency());
+        List<EndpointResult> results = new ArrayList<>();
+        try {
+            results.add(measure("GET /employees/list", get("/employees/list"), hasStatus(200),
+                    settings, clients, executor));
+            results.add(measure("GET /projects/assign", get("/projects/assign"), hasStatus(200),
+                    settings, clients, executor));
+            results.add(measure("POST /login", loginRequest(), this::isLoggedIn,
+                    settings, clients, executor));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (EndpointResult result : results) {
+            System.out.println(result);
+        }
+        File report = new File(settings.getReport());
+        report.getParentFile().mkdirs();
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(report, results);
+        System.out.println("Load-test report written to " + report.getAbsolutePath());
+
+        for (EndpointResult result : results) {
+            assertEquals(0, result.getErrors(), result.getEndpoint() + " returned unexpected statuses");
+        }
+    }
+
+    /**
+     * Sends the request first settings.warmupRequests times, then settings.requests times while measuring.
+     */
+    private EndpointResult measure(String name, HttpRequest request, Predicate<HttpResponse<Void>> expected,
+                                   LoadTestSettings settings, List<HttpClient> clients, ExecutorService executor)
+            throws Exception {
+        drive(request, expected, settings.getWarmupRequests(), clients, executor);
+
+        long statementsBefore = countStatements();
+        long start = System.nanoTime();
+        Run run = drive(request, expected, settings.getRequests(), clients, executor);
+        long elapsed = System.nanoTime() - start;
+        long statements = countStatements() - statementsBefore;
+
+        return new EndpointResult(name, run.latencies, run.errors.get(), elapsed, statements);
+    }
+
+    /**
+     * Sends the request the given number of times, spread over all clients, each client on its own thread.
+     */
+    private Run drive(HttpRequest request, Predicate<HttpResponse<Void>> expected, int requests,
+                      List<HttpClient> clients, ExecutorService executor) throws Exception {
+        Run run = new Run(requests);
+        AtomicInteger next = new AtomicInteger();
+        List<Future<?>> workers = new ArrayList<>();
+        for (HttpClient client : clients) {
+            workers.add(executor.submit(() -> {
+                int index;
+                while ((index = next.getAndIncrement()) < requests) {
+                    long start = System.nanoTime();
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    run.latencies[index] = System.nanoTime() - start;
+                    if (!expected.test(response)) {
+                        run.errors.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        return run;
+    }
+
+    /**
+     * The JDBC statements of all requests recorded so far by the application's request filter.
+     */
+    private long countStatements() {
+        double statements = 0;
+        for (DistributionSummary summary : meterRegistry.find("http.server.requests.sql.statements").summaries()) {
+            statements += summary.totalAmount();
+        }
+        return Math.round(statements);
+    }
+
+    private Predicate<HttpResponse<Void>> hasStatus(int status) {
+        return response -> response.statusCode() == status;
+    }
+
+    /**
+     * A failed login is redirected too, back to /login?error, so the redirect target is checked as well.
+     */
+    private boolean isLoggedIn(HttpResponse<Void> response) {
+        return response.statusCode() == 302 && response.headers().firstValue("Location")
+                .map(location -> !location.contains("/login"))
+                .orElse(false);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private HttpRequest loginRequest() {
+        String form = "username=" + URLEncoder.encode(USERNAME, StandardCharsets.UTF_8)
+                + "&password=" + URLEncoder.encode(PASSWORD, StandardCharsets.UTF_8);
+        return HttpRequest.newBuilder(uri("/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    /**
+     * Latencies and errors of the requests of one run; each request writes its own slot.
+     */
+    private static class Run {
+        private final long[] latencies;
+        private final AtomicInteger errors = new AtomicInteger();
+
+        Run(int requests) {
+            this.latencies = new long[requests];
+        }
+    }
+}
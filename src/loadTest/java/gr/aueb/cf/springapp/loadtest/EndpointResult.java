@@ -0,0 +1,88 @@
+package gr.aueb.cf.springapp.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Measurements of one endpoint: latency percentiles, throughput, errors and SQL statements.
+ */
+public class EndpointResult {
+
+    private final String endpoint;
+    private final int requests;
+    private final int errors;
+    private final double p50Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+    private final double throughputPerSecond;
+    private final double statementsPerRequest;
+
+    /**
+     * @param endpoint the name of the endpoint.
+     * @param latencies the latency of each request, in nanoseconds.
+     * @param errors the number of requests with an unexpected status.
+     * @param elapsedNanos the wall-clock time of the whole run.
+     * @param statements the number of JDBC statements executed during the run.
+     */
+    EndpointResult(String endpoint, long[] latencies, int errors, long elapsedNanos, long statements) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        this.endpoint = endpoint;
+        this.requests = sorted.length;
+        this.errors = errors;
+        this.p50Millis = percentile(sorted, 50) / 1_000_000.0;
+        this.p99Millis = percentile(sorted, 99) / 1_000_000.0;
+        this.maxMillis = sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0;
+        this.throughputPerSecond = elapsedNanos == 0 ? 0 : sorted.length * 1_000_000_000.0 / elapsedNanos;
+        this.statementsPerRequest = sorted.length == 0 ? 0 : (double) statements / sorted.length;
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values.
+     */
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-20s requests=%d errors=%d p50=%.2fms p99=%.2fms max=%.2fms throughput=%.1f/s " +
+                        "statements/request=%.2f", endpoint, requests, errors, p50Millis, p99Millis, maxMillis,
+                throughputPerSecond, statementsPerRequest);
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public int getRequests() {
+        return requests;
+    }
+
+    public int getErrors() {
+        return errors;
+    }
+
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    public double getP99Millis() {
+        return p99Millis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public double getThroughputPerSecond() {
+        return throughputPerSecond;
+    }
+
+    public double getStatementsPerRequest() {
+        return statementsPerRequest;
+    }
+}
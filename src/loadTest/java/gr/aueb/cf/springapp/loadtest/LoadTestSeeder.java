@@ -0,0 +1,85 @@
+package gr.aueb.cf.springapp.loadtest;
+
+import gr.aueb.cf.springapp.entity.Employee;
+import gr.aueb.cf.springapp.entity.Employer;
+import gr.aueb.cf.springapp.entity.Project;
+import gr.aueb.cf.springapp.entity.User;
+import gr.aueb.cf.springapp.enums.Status;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills the embedded database with employers, their projects and employees, and the project assignments.
+ * Each employer is written in its own transaction and the persistence context is cleared afterwards,
+ * so large volumes can be seeded with constant memory.
+ */
+class LoadTestSeeder {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    LoadTestSeeder(EntityManager entityManager, TransactionTemplate transactionTemplate,
+                   PasswordEncoder passwordEncoder) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    /**
+     * Creates the login user of the load test.
+     */
+    void seedUser(String username, String password) {
+        transactionTemplate.executeWithoutResult(status ->
+                entityManager.persist(new User(null, username, passwordEncoder.encode(password))));
+    }
+
+    /**
+     * Creates the employers, projects, employees and assignments described by the settings.
+     */
+    void seedData(LoadTestSettings settings) {
+        for (int i = 0; i < settings.getEmployers(); i++) {
+            int employerIndex = i;
+            transactionTemplate.executeWithoutResult(status -> {
+                seedEmployer(employerIndex, settings);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    private void seedEmployer(int index, LoadTestSettings settings) {
+        Employer employer = new Employer();
+        employer.setName("Employer " + index);
+        employer.setAddress("Street " + index);
+        entityManager.persist(employer);
+
+        List<Project> projects = new ArrayList<>();
+        for (int j = 0; j < settings.getProjectsPerEmployer(); j++) {
+            Project project = new Project(null, "Project " + index + "-" + j, "Load test project",
+                    LocalDate.of(2030, 1, 1), LocalDate.of(2030, 12, 31), Status.ACTIVE, employer, null);
+            entityManager.persist(project);
+            employer.addProject(project);
+            projects.add(project);
+        }
+
+        int assignments = Math.min(settings.getAssignmentsPerEmployee(), projects.size());
+        for (int k = 0; k < settings.getEmployeesPerEmployer(); k++) {
+            Employee employee = new Employee();
+            employee.setFirstname("First" + k);
+            employee.setLastname("Last" + index + "-" + k);
+            employee.setJobTitle(k % 2 == 0 ? "Developer" : "Analyst");
+            employee.setSalary(100_000L + 100L * k);
+            employee.addEmployer(employer);
+            entityManager.persist(employee);
+            for (int a = 0; a < assignments; a++) {
+                employee.addProject(projects.get((k + a) % projects.size()));
+            }
+        }
+    }
+}
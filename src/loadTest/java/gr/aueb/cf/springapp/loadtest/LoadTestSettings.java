@@ -0,0 +1,67 @@
+package gr.aueb.cf.springapp.loadtest;
+
+/**
+ * Volumes and load of a load-test run, read from system properties (e.g. -Dloadtest.concurrency=16),
+ * which the loadTest Gradle task forwards from -P project properties.
+ */
+class LoadTestSettings {
+
+    private final int employers = intProperty("loadtest.employers", 20);
+    private final int employeesPerEmployer = intProperty("loadtest.employeesPerEmployer", 50);
+    private final int projectsPerEmployer = intProperty("loadtest.projectsPerEmployer", 5);
+    private final int assignmentsPerEmployee = intProperty("loadtest.assignmentsPerEmployee", 2);
+    private final int concurrency = intProperty("loadtest.concurrency", 8);
+    private final int requests = intProperty("loadtest.requests", 500);
+    private final int warmupRequests = intProperty("loadtest.warmupRequests", 50);
+    private final String report = System.getProperty("loadtest.report", "build/reports/loadtest/report.json");
+
+    private static int intProperty(String name, int defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.trim().isEmpty() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    @Override
+    public String toString() {
+        return "LoadTestSettings{" +
+                "employers=" + employers +
+                ", employeesPerEmployer=" + employeesPerEmployer +
+                ", projectsPerEmployer=" + projectsPerEmployer +
+                ", assignmentsPerEmployee=" + assignmentsPerEmployee +
+                ", concurrency=" + concurrency +
+                ", requests=" + requests +
+                ", warmupRequests=" + warmupRequests +
+                '}';
+    }
+
+    public int getEmployers() {
+        return employers;
+    }
+
+    public int getEmployeesPerEmployer() {
+        return employeesPerEmployer;
+    }
+
+    public int getProjectsPerEmployer() {
+        return projectsPerEmployer;
+    }
+
+    public int getAssignmentsPerEmployee() {
+        return assignmentsPerEmployee;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public int getRequests() {
+        return requests;
+    }
+
+    public int getWarmupRequests() {
+        return warmupRequests;
+    }
+
+    public String getReport() {
+        return report;
+    }
+}
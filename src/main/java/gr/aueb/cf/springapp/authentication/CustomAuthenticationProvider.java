@@ -3,6 +3,7 @@ package gr.aueb.cf.springapp.authentication;
 import gr.aueb.cf.springapp.dao.UserRepository;
 import gr.aueb.cf.springapp.entity.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -11,12 +12,17 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 
 /**
  * This component is a custom implementation of an AuthenticationProvider.
@@ -25,13 +31,23 @@ import java.util.Locale;
  */
 @Component
 public class CustomAuthenticationProvider implements AuthenticationProvider {
+    public static final String ROLE_ADMIN = "ADMIN";
+
     private final UserRepository userRepository;
     private final MessageSource messageSource;
+    private final PasswordEncoder passwordEncoder;
+    private final VerifiedCredentialCache credentialCache;
+    private final Set<String> adminUsernames;
 
     @Autowired
-    public CustomAuthenticationProvider(UserRepository userRepository, MessageSource messageSource) {
+    public CustomAuthenticationProvider(UserRepository userRepository, MessageSource messageSource,
+                                        PasswordEncoder passwordEncoder, VerifiedCredentialCache credentialCache,
+                                        @Value("${app.security.admin-usernames:}") String[] adminUsernames) {
         this.userRepository = userRepository;
         this.messageSource = messageSource;
+        this.passwordEncoder = passwordEncoder;
+        this.credentialCache = credentialCache;
+        this.adminUsernames = new HashSet<>(Arrays.asList(adminUsernames));
     }
 
     private MessageSourceAccessor accessor;
@@ -49,7 +65,10 @@ public class CustomAuthenticationProvider implements AuthenticationProvider {
      * It receives an Authentication object, retrieves the username and password from it,
      * then validates these credentials against the UserRepository. It compares hashed password
      * stored in database versus the password user has provided after it encodes it with bcrypt.
-     * If the credentials are valid, it creates a new UsernamePasswordAuthenticationToken and returns it.
+     * Credentials verified within the last few minutes are accepted from the VerifiedCredentialCache
+     * without hitting the database or running bcrypt again.
+     * If the credentials are valid, it creates a new UsernamePasswordAuthenticationToken and returns it,
+     * with the ADMIN role if the username is listed in app.security.admin-usernames.
      * If the credentials are invalid, it throws a BadCredentialsException.
      *
      * @param authentication the Authentication object
@@ -61,15 +80,32 @@ public class CustomAuthenticationProvider implements AuthenticationProvider {
         String username = authentication.getName();
         String providedPassword = authentication.getCredentials().toString();
 
+        if (credentialCache.isVerified(username, providedPassword)) {
+            return new UsernamePasswordAuthenticationToken(username, null, getAuthorities(username));
+        }
+
         User user = userRepository.findByUsernameEquals(username);
         if (user == null) {
             throw new BadCredentialsException(accessor.getMessage("badCredentials"));
         }
-        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
         if (!passwordEncoder.matches(providedPassword, user.getPassword())) {
             throw new BadCredentialsException(accessor.getMessage("badCredentials"));
         }
-        return new UsernamePasswordAuthenticationToken(username, user.getPassword(), Collections.<GrantedAuthority>emptyList());
+        credentialCache.markVerified(username, providedPassword);
+        return new UsernamePasswordAuthenticationToken(username, user.getPassword(), getAuthorities(username));
+    }
+
+    /**
+     * This method returns the authorities of a user: the ADMIN role for the configured admin usernames, none otherwise.
+     *
+     * @param username the username
+     * @return the granted authorities
+     */
+    private List<GrantedAuthority> getAuthorities(String username) {
+        if (adminUsernames.contains(username)) {
+            return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + ROLE_ADMIN));
+        }
+        return Collections.emptyList();
     }
 
     /**
@@ -0,0 +1,28 @@
+package gr.aueb.cf.springapp.authentication;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * The PasswordEncoderConfig class provides the single password encoder shared by registration and authentication.
+ * It is kept apart from SecurityConfig so that the authentication provider can depend on it
+ * without a circular dependency.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    /**
+     * Builds the BCrypt password encoder. Its strength (log rounds) is tunable through
+     * the app.security.bcrypt-strength property; every doubling step doubles the verification cost.
+     *
+     * @param strength the BCrypt log rounds, between 4 and 31.
+     * @return a PasswordEncoder instance.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+}
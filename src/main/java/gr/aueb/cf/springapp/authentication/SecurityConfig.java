@@ -3,6 +3,7 @@ package gr.aueb.cf.springapp.authentication;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.BeanIds;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
@@ -52,6 +53,9 @@ public class SecurityConfig {
                 .and()
                 .authorizeRequests().antMatchers("/register").permitAll()
                 .and()
+                .authorizeRequests().antMatchers(HttpMethod.POST, "/employees/search/rebuild")
+                .hasRole(CustomAuthenticationProvider.ROLE_ADMIN)
+                .and()
                 .authorizeRequests().antMatchers("/employees/**").authenticated()
                 .anyRequest().authenticated().and().formLogin()
                 .loginPage("/login").defaultSuccessUrl("/home").permitAll()
@@ -0,0 +1,96 @@
+package gr.aueb.cf.springapp.authentication;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+/**
+ * This component remembers, for a short time, credentials that were successfully verified with BCrypt,
+ * so that clients using HTTP Basic authentication do not pay a full BCrypt verification on every request.
+ * The raw password is never stored: for each username the cache keeps an HMAC-SHA256 of username and password,
+ * computed with a random key generated at startup. The cache is bounded in size and entries expire after a short TTL.
+ */
+@Component
+public class VerifiedCredentialCache {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final Cache<String, byte[]> verified;
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    public VerifiedCredentialCache(@Value("${app.security.credential-cache.ttl-seconds:120}") long ttlSeconds,
+                                   @Value("${app.security.credential-cache.max-size:10000}") long maxSize) {
+        this.verified = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .build();
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Checks if the given credentials were verified recently.
+     *
+     * @param username the username.
+     * @param password the raw password.
+     * @return true if the same username and password were verified within the TTL, false otherwise.
+     */
+    public boolean isVerified(String username, String password) {
+        byte[] digest = verified.getIfPresent(username);
+        return digest != null && MessageDigest.isEqual(digest, digest(username, password));
+    }
+
+    /**
+     * Remembers credentials that have just been verified with BCrypt.
+     *
+     * @param username the username.
+     * @param password the raw password.
+     */
+    public void markVerified(String username, String password) {
+        verified.put(username, digest(username, password));
+    }
+
+    /**
+     * Forgets the verified credentials of a user, e.g. after the user was updated or deleted.
+     *
+     * @param username the username.
+     */
+    public void invalidate(String username) {
+        if (username != null) {
+            verified.invalidate(username);
+        }
+    }
+
+    /**
+     * Computes the keyed hash of a username and password pair.
+     */
+    private byte[] digest(String username, String password) {
+        Mac mac = macs.get();
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package gr.aueb.cf.springapp.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The CacheConfig class enables Spring's annotation-driven caching and holds the names of the application caches.
+ * The caches themselves (Caffeine) are configured through the spring.cache.* properties, while the Hibernate
+ * second-level and query caches are configured through the spring.jpa.properties.hibernate.cache.* properties.
+ * Hit/miss metrics of both are exposed through the actuator metrics endpoint, those of Hibernate only with the
+ * statistics profile. The employerViews cache is read and cleared only through {@link
+ * gr.aueb.cf.springapp.service.impl.EmployerViewsCache}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Cache of the flat employer rows used to fill the employer dropdowns.
+     */
+    public static final String EMPLOYER_VIEWS_CACHE = "employerViews";
+}
@@ -0,0 +1,85 @@
+package gr.aueb.cf.springapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+
+/**
+ * The MetricsConfig class adds request-level instrumentation on top of the actuator metrics,
+ * exported through the Prometheus endpoint:
+ * the http.server.requests timers are tagged with the controller method that handled the request,
+ * the DataSource is wrapped in a proxy that counts the JDBC statements and rows written of every request,
+ * and {@link RequestSqlBudgetFilter} records them and warns about requests over the query budget
+ * (app.metrics.query-budget). Timers of the repository methods are recorded by Spring Boot itself
+ * (spring.data.repository.invocations).
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Tags the http.server.requests timers with the handler, as ControllerClass.method.
+     */
+    @Bean
+    public WebMvcTagsContributor handlerTagsContributor() {
+        return new WebMvcTagsContributor() {
+            @Override
+            public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                         Throwable exception) {
+                return Tags.of("handler", handler instanceof HandlerMethod
+                        ? ((HandlerMethod) handler).getBeanType().getSimpleName() + "."
+                        + ((HandlerMethod) handler).getMethod().getName()
+                        : "none");
+            }
+
+            @Override
+            public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+                return Tags.empty();
+            }
+        };
+    }
+
+    /**
+     * Wraps the DataSource in a proxy that reports every statement to {@link RequestSqlStatistics}.
+     * Only the statements are intercepted, not the result sets, so reading rows is not slowed down.
+     * Static, so that it does not initialize this configuration early.
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatisticsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                RequestSqlStatistics statistics = new RequestSqlStatistics();
+                return ProxyDataSourceBuilder.create((DataSource) bean)
+                        .name(beanName)
+                        .listener(statistics)
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestSqlBudgetFilter> requestSqlBudgetFilter(
+            MeterRegistry meterRegistry, @Value("${app.metrics.query-budget:50}") int queryBudget) {
+        FilterRegistrationBean<RequestSqlBudgetFilter> registration =
+                new FilterRegistrationBean<>(new RequestSqlBudgetFilter(meterRegistry, queryBudget));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
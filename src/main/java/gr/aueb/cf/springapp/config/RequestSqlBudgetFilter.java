@@ -0,0 +1,72 @@
+package gr.aueb.cf.springapp.config;
+
+import gr.aueb.cf.springapp.service.util.LoggerUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Records the JDBC statements and rows written of every request as distribution summaries tagged with the
+ * matched URI pattern, and logs a warning when a request runs more statements than the query budget,
+ * so that N+1 regressions show up under load. Statements of the background jobs a request submits
+ * (bulk salary adjustments, employer deletions) run on other threads and are not included.
+ */
+public class RequestSqlBudgetFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final int queryBudget;
+
+    public RequestSqlBudgetFilter(MeterRegistry meterRegistry, int queryBudget) {
+        this.meterRegistry = meterRegistry;
+        this.queryBudget = queryBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestSqlStatistics.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestSqlStatistics.Counters counters = RequestSqlStatistics.stop();
+            if (counters != null) {
+                record(request, counters);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestSqlStatistics.Counters counters) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("JDBC statements run by a request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(counters.getStatements());
+        DistributionSummary.builder("http.server.requests.sql.rows")
+                .description("Rows written by a request")
+                .tags("uri", uri, "type", "written")
+                .register(meterRegistry)
+                .record(counters.getRowsWritten());
+
+        if (counters.getStatements() > queryBudget) {
+            Counter.builder("http.server.requests.sql.over.budget")
+                    .description("Requests that ran more JDBC statements than the query budget")
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            LoggerUtil.getCurrentLogger().warning(request.getMethod() + " " + request.getRequestURI() + " ran "
+                    + counters.getStatements() + " SQL statements (budget " + queryBudget + ") and wrote "
+                    + counters.getRowsWritten() + " rows");
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package gr.aueb.cf.springapp.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Counts the JDBC statements run and the rows written by the current request.
+ * It listens to the statements run through the proxy around the DataSource, see {@link MetricsConfig}; result sets
+ * are not proxied, so reading rows costs nothing extra. The counters are kept per thread and only between
+ * {@link #start()} and {@link #stop()}: the statements of the background jobs, i.e. the bulk salary adjustments
+ * and the employer deletions that a request only submits, run on their own threads and are not counted.
+ */
+public class RequestSqlStatistics implements QueryExecutionListener {
+
+    private static final ThreadLocal<Counters> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Starts counting on the current thread.
+     */
+    public static void start() {
+        CURRENT.set(new Counters());
+    }
+
+    /**
+     * Stops counting on the current thread.
+     * @return what was counted since {@link #start()}, or null if counting was not started.
+     */
+    public static Counters stop() {
+        Counters counters = CURRENT.get();
+        CURRENT.remove();
+        return counters;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Counters counters = CURRENT.get();
+        if (counters == null) {
+            return;
+        }
+        counters.statements += execInfo.isBatch() ? execInfo.getBatchSize() : queryInfoList.size();
+        Object result = execInfo.getResult();
+        if (result instanceof Integer) {
+            counters.rowsWritten += Math.max(0, (Integer) result);
+        } else if (result instanceof int[]) {
+            for (int rows : (int[]) result) {
+                counters.rowsWritten += Math.max(0, rows);
+            }
+        }
+    }
+
+    /**
+     * What a request ran against the database.
+     */
+    public static class Counters {
+
+        private long statements;
+
+        private long rowsWritten;
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getRowsWritten() {
+            return rowsWritten;
+        }
+    }
+}
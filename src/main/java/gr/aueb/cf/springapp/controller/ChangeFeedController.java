@@ -0,0 +1,49 @@
+package gr.aueb.cf.springapp.controller;
+
+import gr.aueb.cf.springapp.dto.ChangeFeedDTO;
+import gr.aueb.cf.springapp.service.IChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * The ChangeFeedController class serves the changes of employees, employers and projects in the order they were
+ * committed, for downstream systems that sync them incrementally: a consumer reads the changes after the cursor
+ * it kept ("since", zero at first), reads the changed resources from the REST API and keeps the returned
+ * "next" cursor for the next read, repeating right away while "more" is true.
+ * The class is annotated with @RequestMapping("/api/changes") to map web requests onto specific handler methods.
+ */
+@RestController
+@RequestMapping(path = "/api/changes", produces = MediaType.APPLICATION_JSON_VALUE)
+public class ChangeFeedController {
+
+    private static final String DEFAULT_LIMIT = "100";
+    private static final int MAX_LIMIT = 1000;
+
+    private final IChangeFeedService changeFeedService;
+
+    @Autowired
+    public ChangeFeedController(IChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    /**
+     * @param since the sequence number of the last change already read.
+     * @param limit the maximum number of changes, at most 1000.
+     * @return the changes after the cursor; 400 if the cursor is negative.
+     */
+    @GetMapping
+    public ResponseEntity<ChangeFeedDTO> getChanges(
+            @RequestParam(value = "since", defaultValue = "0") long since,
+            @RequestParam(value = "limit", defaultValue = DEFAULT_LIMIT) int limit) {
+        try {
+            return ResponseEntity.ok(changeFeedService.getChanges(since, Math.max(1, Math.min(limit, MAX_LIMIT))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -1,24 +1,34 @@
 package gr.aueb.cf.springapp.controller;
 
 import gr.aueb.cf.springapp.dto.EmployeeDTO;
+import gr.aueb.cf.springapp.dto.EmployeeFilterDTO;
+import gr.aueb.cf.springapp.dto.EmployeeReadDTO;
 import gr.aueb.cf.springapp.dto.EmployerDTO;
+import gr.aueb.cf.springapp.dto.ImportResultDTO;
 import gr.aueb.cf.springapp.entity.Employee;
 import gr.aueb.cf.springapp.entity.Employer;
+import gr.aueb.cf.springapp.service.IEmployeeImportService;
+import gr.aueb.cf.springapp.service.IEmployeeSearchService;
 import gr.aueb.cf.springapp.service.IEmployeeService;
 import gr.aueb.cf.springapp.service.exceptions.EntityAlreadyExistsException;
 import gr.aueb.cf.springapp.service.exceptions.EntityNotFoundException;
 import gr.aueb.cf.springapp.service.exceptions.InvalidHiringException;
 import gr.aueb.cf.springapp.service.util.LoggerUtil;
+import gr.aueb.cf.springapp.service.util.MoneyUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import javax.validation.Valid;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * The EmployeeController class handles HTTP requests for employee resources.
@@ -30,58 +40,131 @@ import java.util.List;
 public class EmployeeController {
 
 	private final IEmployeeService employeeService;
+	private final IEmployeeImportService employeeImportService;
+	private final IEmployeeSearchService employeeSearchService;
 
 	@Autowired
-	public EmployeeController(IEmployeeService employeeService) {
+	public EmployeeController(IEmployeeService employeeService, IEmployeeImportService employeeImportService,
+							  IEmployeeSearchService employeeSearchService) {
 		this.employeeService = employeeService;
+		this.employeeImportService = employeeImportService;
+		this.employeeSearchService = employeeSearchService;
 	}
 
 	/**
-	 * This method returns a list of all employees and employers.
+	 * This method returns one page of employees and all employers.
 	 * It maps to the "/list" endpoint and is a GET request.
-	 * It retrieves all Employees and Employers from the database calling Employee service, maps them to their DTOs,
-	 * and adds them to the Model.
+	 * It retrieves a page of Employees (keyset paginated on lastname and id, optionally filtered by job title,
+	 * employer and salary range) and all Employers from the database calling Employee service, as flat read-only DTOs,
+	 * and adds them to the Model together with the cursor of the next page.
+	 * With the "all" parameter set, every matching employee after the cursor is shown instead of one page:
+	 * the rows are read in chunks while the view is rendered, so the table starts reaching the browser
+	 * after the first chunk and memory stays bounded however many employees there are.
 	 * The method returns a String that is used to find the corresponding view (in this case "employees/employees-table").
 	 *
+	 * @param filter the page cursor, page size and filters given as request parameters.
 	 * @param model the Model object that carries data to the view.
 	 * @return a String representing the name of the view.
 	 */
 	@RequestMapping(path = "/list" ,method = RequestMethod.GET)
-	public String listEmployees(Model model)  {
+	public String listEmployees(@ModelAttribute("filter") EmployeeFilterDTO filter, Model model)  {
+
+		if (filter.isAll()) {
+			model.addAttribute("employers", employeeService.getAllEmployerViews());
+			model.addAttribute("employees",
+					employeeService.findEmployeesInChunks(filter, EmployeeFilterDTO.MAX_PAGE_SIZE));
+			model.addAttribute("pageSize", filter.getPageSize());
+			return "employees/employees-table";
+		}
 
-		List<Employee> theEmployees = employeeService.findAllEmployees();
-		List<EmployeeDTO> employeeDTOS = new ArrayList<>();
+		int pageSize = filter.getPageSize();
+		List<EmployeeReadDTO> employees = employeeService.findEmployeesPage(filter, pageSize + 1);
+		boolean hasNext = employees.size() > pageSize;
+		if (hasNext) {
+			employees = employees.subList(0, pageSize);
+		}
 
-		for (Employee employee : theEmployees){
-			employeeDTOS.add(new EmployeeDTO(employee.getId(),employee.getFirstname(),
-					employee.getLastname(),employee.getJobTitle(),employee.getSalary(),
-					employee.getEmployer(),employee.getAllProjects()));
+		String nextCursor = null;
+		if (hasNext) {
+			EmployeeReadDTO last = employees.get(employees.size() - 1);
+			nextCursor = last.getLastname() + "," + last.getId();
 		}
 
+		model.addAttribute("employers", employeeService.getAllEmployerViews());
+		model.addAttribute("employees", employees);
+		model.addAttribute("pageSize", pageSize);
+		model.addAttribute("nextCursor", nextCursor);
 
-		List<EmployerDTO> employerDTOS = getAllEmployersInDtos();
-		model.addAttribute("employers",employerDTOS);
-		model.addAttribute("employees", employeeDTOS);
+		return "employees/employees-table";
+	}
 
+	/**
+	 * This method is mapped to the "/search" endpoint and is a GET request.
+	 * It searches the employees whose names, job title or employer name match the given words (exactly, by prefix
+	 * or with typos) in the employee search index and shows the best matches in the employees table.
+	 *
+	 * @param text the words to search for.
+	 * @param limit the maximum number of employees to show.
+	 * @param model the Model object that carries data to the view.
+	 * @return a String representing the name of the view.
+	 */
+	@RequestMapping(path = "/search", method = RequestMethod.GET)
+	public String searchEmployees(@RequestParam(value = "q", defaultValue = "") String text,
+								  @RequestParam(value = "limit", defaultValue = "50") int limit, Model model) {
+		List<EmployeeReadDTO> employees;
+		try {
+			employees = employeeSearchService.search(text, Math.min(limit, EmployeeFilterDTO.MAX_PAGE_SIZE));
+		} catch (IOException e) {
+			LoggerUtil.getCurrentLogger().warning(e.getMessage());
+			model.addAttribute("error", e.getMessage());
+			return "error";
+		}
+
+		model.addAttribute("employers", employeeService.getAllEmployerViews());
+		model.addAttribute("employees", employees);
+		model.addAttribute("filter", new EmployeeFilterDTO());
+		model.addAttribute("pageSize", EmployeeFilterDTO.DEFAULT_PAGE_SIZE);
+		model.addAttribute("searchText", text);
 		return "employees/employees-table";
 	}
 
 	/**
-	 * This method retrieves all employers from database in a list,
-	 * then converts the list of Employer entities to EmployerDTO objects.
-	 * It iterates through each Employer, creates a corresponding EmployerDTO object, and adds it to a list.
+	 * This method is mapped to the "/search" endpoint and is a GET request accepting JSON.
+	 * It returns the employees matching the given words in the employee search index, best match first.
 	 *
-	 * @return a List of EmployerDTO objects.
+	 * @param text the words to search for.
+	 * @param limit the maximum number of employees to return.
+	 * @return the matching employees, without their projects.
+	 * @throws IOException if the search index cannot be read.
 	 */
-	private List<EmployerDTO> getAllEmployersInDtos() {
-		List<Employer> employers = employeeService.getAllEmployers();
-		List<EmployerDTO> employerDTOS = new ArrayList<>();
+	@GetMapping(path = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+	@ResponseBody
+	public List<EmployeeReadDTO> searchEmployeesJson(@RequestParam(value = "q", defaultValue = "") String text,
+													 @RequestParam(value = "limit", defaultValue = "50") int limit)
+			throws IOException {
+		return employeeSearchService.search(text, Math.min(limit, EmployeeFilterDTO.MAX_PAGE_SIZE));
+	}
 
-		for (Employer employer : employers){
-			employerDTOS.add(new EmployerDTO(employer.getId(),employer.getName(),employer.getAddress(),
-					employer.getAllEmployees(),employer.getAllProjects()));
+	/**
+	 * This method is mapped to the "/search/rebuild" endpoint and is a POST request.
+	 * It rebuilds the employee search index from the database, e.g. after rows were changed outside the application,
+	 * and redirects to the list view with the number of indexed employees. Only admins (app.security.admin-usernames)
+	 * may rebuild the index.
+	 *
+	 * @param model the Model object that carries data to the view.
+	 * @param redirectAttributes attributes to pass to the redirected page.
+	 * @return a String representing the name of the view.
+	 */
+	@RequestMapping(path = "/search/rebuild", method = RequestMethod.POST)
+	public String rebuildSearchIndex(Model model, RedirectAttributes redirectAttributes) {
+		try {
+			redirectAttributes.addFlashAttribute("indexedEmployees", employeeSearchService.rebuildIndex());
+			return "redirect:/employees/list";
+		} catch (IOException e) {
+			LoggerUtil.getCurrentLogger().warning(e.getMessage());
+			model.addAttribute("error", e.getMessage());
+			return "error";
 		}
-		return employerDTOS;
 	}
 
 	/**
@@ -136,6 +219,49 @@ public class EmployeeController {
 	}
 
 
+	/**
+	 * This method is mapped to the "/import" endpoint and is a GET request.
+	 * It returns the view with the form to upload a CSV or JSON file of employees.
+	 *
+	 * @return a String representing the name of the view.
+	 */
+	@RequestMapping(path = "/import", method = RequestMethod.GET)
+	public String showFormForImport() {
+		return "employees/import-employees";
+	}
+
+	/**
+	 * This method is mapped to the "/import" endpoint and is a POST request.
+	 * It imports the employees of the uploaded file, as JSON if the file is a .json file (or has a JSON content type)
+	 * and as CSV otherwise. The file is streamed and the rows are saved in chunks, so large files can be imported
+	 * with constant memory. The number of imported and rejected rows and the errors per row are added to the model.
+	 *
+	 * @param file the uploaded CSV or JSON file.
+	 * @param model the Model object that carries data to the view.
+	 * @return a String representing the name of the view.
+	 */
+	@RequestMapping(path = "/import", method = RequestMethod.POST)
+	public String importEmployees(@RequestParam("file") MultipartFile file, Model model) {
+		if (file.isEmpty()) {
+			model.addAttribute("errorMessage", "Please choose a file to import");
+			return "employees/import-employees";
+		}
+
+		String filename = file.getOriginalFilename() == null ? "" : file.getOriginalFilename().toLowerCase(Locale.ROOT);
+		String contentType = file.getContentType() == null ? "" : file.getContentType();
+		boolean json = filename.endsWith(".json") || contentType.contains("json");
+
+		try (InputStream inputStream = file.getInputStream()) {
+			ImportResultDTO result = json ? employeeImportService.importJson(inputStream)
+					: employeeImportService.importCsv(inputStream);
+			model.addAttribute("result", result);
+		} catch (IOException | IllegalArgumentException e) {
+			LoggerUtil.getCurrentLogger().warning(e.getMessage());
+			model.addAttribute("errorMessage", e.getMessage());
+		}
+		return "employees/import-employees";
+	}
+
 	/**
 	 * This method is mapped to the "/showFormForUpdate" endpoint and is a GET request.
 	 * It retrieves the Employee with the given ID from the database and prepares the model for updating
@@ -151,7 +277,7 @@ public class EmployeeController {
 			Employee employee = employeeService.findById(id);
 
 			EmployeeDTO employeeDTO = new EmployeeDTO(employee.getId(),employee.getFirstname()
-					,employee.getLastname(),employee.getJobTitle(),employee.getSalary(),
+					,employee.getLastname(),employee.getJobTitle(),MoneyUtil.toAmount(employee.getSalary()),
 					employee.getEmployer(),employee.getAllProjects());
 
 			model.addAttribute("employeeForm", employeeDTO);
@@ -331,14 +457,14 @@ public class EmployeeController {
 	 * @param employee the Employee entity to map.
 	 * @return an EmployeeDTO object that corresponds to the given Employee.
 	 */
-	private EmployeeDTO map(Employee employee) {
+	EmployeeDTO map(Employee employee) {
 		EmployeeDTO employeeDTO = new EmployeeDTO();
 		employeeDTO.setId(employee.getId());
 		employeeDTO.setFirstname(employee.getFirstname());
 		employeeDTO.setLastname(employee.getLastname());
 		employeeDTO.setJobTitle(employee.getJobTitle());
 		employeeDTO.setEmployer(employee.getEmployer());
-		employeeDTO.setSalary(employee.getSalary());
+		employeeDTO.setSalary(MoneyUtil.toAmount(employee.getSalary()));
 		employeeDTO.setProjects(employee.getAllProjects());
 		return employeeDTO;
 	}
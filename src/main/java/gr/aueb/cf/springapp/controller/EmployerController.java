@@ -2,12 +2,16 @@ package gr.aueb.cf.springapp.controller;
 
 import gr.aueb.cf.springapp.dto.EmployeeDTO;
 import gr.aueb.cf.springapp.dto.EmployerDTO;
+import gr.aueb.cf.springapp.dto.EmployerReadDTO;
 import gr.aueb.cf.springapp.entity.Employee;
 import gr.aueb.cf.springapp.entity.Employer;
+import gr.aueb.cf.springapp.service.IEmployerDeletionService;
 import gr.aueb.cf.springapp.service.IEmployerService;
 import gr.aueb.cf.springapp.service.exceptions.EntityAlreadyExistsException;
 import gr.aueb.cf.springapp.service.exceptions.EntityNotFoundException;
+import gr.aueb.cf.springapp.service.util.ChunkedRows;
 import gr.aueb.cf.springapp.service.util.LoggerUtil;
+import gr.aueb.cf.springapp.service.util.MoneyUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -28,41 +32,33 @@ import java.util.List;
 @RequestMapping("/employers")
 public class EmployerController {
 
+    private static final int ROWS_PER_CHUNK = 500;
+
     private final IEmployerService employerService;
 
+    private final IEmployerDeletionService employerDeletionService;
+
     @Autowired
-    public EmployerController(IEmployerService employerService) {
+    public EmployerController(IEmployerService employerService, IEmployerDeletionService employerDeletionService) {
         this.employerService = employerService;
+        this.employerDeletionService = employerDeletionService;
     }
 
     /**
-     * Fetches a list of all employers and all  employees,
-     * mapping them to DTOs and adding them to the model for the view.
+     * Fetches all employers with their employees as flat read-only DTOs and adds them to the model for the view.
+     * The employers are read in chunks while the view is rendered, two queries per chunk, so the table starts
+     * reaching the browser after the first chunk, memory stays bounded and the view never touches a managed entity.
+     * The employer deletions still running or failed are listed too.
      *
      * @param model The Model instance for populating view attributes.
      * @return Returns a string to direct the application to the employers-table view.
      */
     @RequestMapping(path = "/list", method = RequestMethod.GET)
     public String getEmployers(Model model){
-        List<Employer> employers = employerService.findAllEmployers();
-        List<Employee> employees = employerService.findAllEmployees();
-
-        List<EmployerDTO> employerDTOS = new ArrayList<>();
-
-        for (Employer employer : employers){
-            employerDTOS.add(new EmployerDTO(employer.getId(),employer.getName(),
-                    employer.getAddress(),employer.getAllEmployees(),employer.getAllProjects()));
-        }
+        ChunkedRows<EmployerReadDTO> employers = employerService.findEmployerViewsInChunks(ROWS_PER_CHUNK);
 
-        List<EmployeeDTO> employeeDTOS = new ArrayList<>();
-
-        for (Employee employee : employees){
-            employeeDTOS.add(new EmployeeDTO(employee.getId(),employee.getFirstname(),employee.getLastname(),
-                    employee.getJobTitle(),employee.getSalary(),employee.getEmployer(),employee.getAllProjects()));
-        }
-
-        model.addAttribute("employers", employerDTOS);
-        model.addAttribute("employees", employeeDTOS);
+        model.addAttribute("employers", employers);
+        model.addAttribute("deletions", employerDeletionService.getUnfinishedDeletions());
         return "employers/employers-table";
     }
 
@@ -121,9 +117,9 @@ public class EmployerController {
 
 
     /**
-     * Deletes an employer identified by the provided employerId.
-     * If the employer is found, it deletes the employer and redirects to the list of employers.
-     * Otherwise, it logs the error and redirects to an error page.
+     * Starts deleting an employer identified by the provided employerId in the background.
+     * If the employer is found, it is hidden right away and the user is redirected to the list of employers,
+     * where the progress of the deletion is shown. Otherwise, it logs the error and redirects to an error page.
      *
      * @param employerId the id of the employer to be deleted.
      * @param model The Model instance for populating view attributes.
@@ -140,11 +136,8 @@ public class EmployerController {
         }
 
         try {
-            Employer employer = employerService.findById(employerId);
-
-            employerService.deleteEmployer(employerId);
-            EmployerDTO employerDTO =map (employer);
-            redirectAttributes.addFlashAttribute("deletedDTO",   employerDTO);
+            redirectAttributes.addFlashAttribute("startedDeletion",
+                    employerDeletionService.startDeletion(employerId));
 
             return "redirect:/employers/list";
         }catch (EntityNotFoundException e){
@@ -183,7 +176,8 @@ public class EmployerController {
 
             for (Employee employee : employees){
                 employeeDTOS.add(new EmployeeDTO(employee.getId(),employee.getFirstname(),employee.getLastname(),
-                        employee.getJobTitle(),employee.getSalary(),employee.getEmployer(),employee.getAllProjects()));
+                        employee.getJobTitle(),MoneyUtil.toAmount(employee.getSalary()),employee.getEmployer(),
+                        employee.getAllProjects()));
             }
 
 
@@ -0,0 +1,92 @@
+package gr.aueb.cf.springapp.controller;
+
+import gr.aueb.cf.springapp.dto.EmployerDeletionReadDTO;
+import gr.aueb.cf.springapp.service.IEmployerDeletionService;
+import gr.aueb.cf.springapp.service.exceptions.EntityNotFoundException;
+import gr.aueb.cf.springapp.service.util.LoggerUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+/**
+ * The EmployerDeletionController class handles the background deletions of employers started from the list
+ * of employers: following their progress, cancelling them and resuming the failed ones.
+ * The class is annotated with @RequestMapping("/employers/deletions") to map web requests onto specific
+ * handler methods.
+ */
+@Controller
+@RequestMapping("/employers/deletions")
+public class EmployerDeletionController {
+
+    private final IEmployerDeletionService employerDeletionService;
+
+    @Autowired
+    public EmployerDeletionController(IEmployerDeletionService employerDeletionService) {
+        this.employerDeletionService = employerDeletionService;
+    }
+
+    /**
+     * This method is mapped to the "/cancel" endpoint and is a POST request.
+     * It cancels a deletion; a running deletion stops after its current chunk.
+     *
+     * @param deletionId the id of the deletion.
+     * @param redirectAttributes the RedirectAttributes object used for passing attributes in a redirect scenario.
+     * @return a String representing the redirect path.
+     */
+    @RequestMapping(path = "/cancel", method = RequestMethod.POST)
+    public String cancelDeletion(@RequestParam("deletionId") Long deletionId, RedirectAttributes redirectAttributes) {
+        try {
+            redirectAttributes.addFlashAttribute("cancelledDeletion",
+                    employerDeletionService.cancelDeletion(deletionId));
+        } catch (EntityNotFoundException e) {
+            LoggerUtil.getCurrentLogger().warning(e.getMessage());
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+        return "redirect:/employers/list";
+    }
+
+    /**
+     * This method is mapped to the "/resume" endpoint and is a POST request.
+     * It resumes a deletion with what is left of the employer.
+     *
+     * @param deletionId the id of the deletion.
+     * @param redirectAttributes the RedirectAttributes object used for passing attributes in a redirect scenario.
+     * @return a String representing the redirect path.
+     */
+    @RequestMapping(path = "/resume", method = RequestMethod.POST)
+    public String resumeDeletion(@RequestParam("deletionId") Long deletionId, RedirectAttributes redirectAttributes) {
+        try {
+            redirectAttributes.addFlashAttribute("startedDeletion",
+                    employerDeletionService.resumeDeletion(deletionId));
+        } catch (EntityNotFoundException e) {
+            LoggerUtil.getCurrentLogger().warning(e.getMessage());
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+        return "redirect:/employers/list";
+    }
+
+    /**
+     * This method is mapped to the "/{id}" endpoint and is a GET request.
+     * It returns the progress of a deletion, e.g. to poll it while it runs.
+     *
+     * @param id the id of the deletion.
+     * @return the deletion with its progress, or 404 if there is no such deletion.
+     */
+    @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<EmployerDeletionReadDTO> getDeletion(@PathVariable("id") Long id) {
+        try {
+            return ResponseEntity.ok(employerDeletionService.getDeletion(id));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package gr.aueb.cf.springapp.controller;
+
+import gr.aueb.cf.springapp.enums.ExportFormat;
+import gr.aueb.cf.springapp.service.IExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * The ExportController class handles the download of employees, employers, projects and assignments
+ * as CSV or XLSX files. The files are streamed to the response while the rows are read from the database,
+ * so exports of any size start immediately and use constant memory.
+ * The class is annotated with @RequestMapping("/export") to map web requests onto specific handler methods.
+ */
+@Controller
+@RequestMapping("/export")
+public class ExportController {
+
+    private final IExportService exportService;
+
+    @Autowired
+    public ExportController(IExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * This method is mapped to the "/employees" endpoint and is a GET request.
+     * It streams all employees with their employer as a file download.
+     *
+     * @param format the format of the file, "csv" (default) or "xlsx".
+     * @param response the response to write the file to.
+     * @throws IOException if the file cannot be written to the response.
+     */
+    @RequestMapping(path = "/employees", method = RequestMethod.GET)
+    public void exportEmployees(@RequestParam(value = "format", defaultValue = "csv") String format,
+                                HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = parseFormat(format);
+        prepare(response, exportFormat, "employees");
+        exportService.exportEmployees(exportFormat, response.getOutputStream());
+    }
+
+    /**
+     * This method is mapped to the "/employers" endpoint and is a GET request.
+     * It streams all employers as a file download.
+     *
+     * @param format the format of the file, "csv" (default) or "xlsx".
+     * @param response the response to write the file to.
+     * @throws IOException if the file cannot be written to the response.
+     */
+    @RequestMapping(path = "/employers", method = RequestMethod.GET)
+    public void exportEmployers(@RequestParam(value = "format", defaultValue = "csv") String format,
+                                HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = parseFormat(format);
+        prepare(response, exportFormat, "employers");
+        exportService.exportEmployers(exportFormat, response.getOutputStream());
+    }
+
+    /**
+     * This method is mapped to the "/projects" endpoint and is a GET request.
+     * It streams all projects with their employer as a file download.
+     *
+     * @param format the format of the file, "csv" (default) or "xlsx".
+     * @param response the response to write the file to.
+     * @throws IOException if the file cannot be written to the response.
+     */
+    @RequestMapping(path = "/projects", method = RequestMethod.GET)
+    public void exportProjects(@RequestParam(value = "format", defaultValue = "csv") String format,
+                               HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = parseFormat(format);
+        prepare(response, exportFormat, "projects");
+        exportService.exportProjects(exportFormat, response.getOutputStream());
+    }
+
+    /**
+     * This method is mapped to the "/assignments" endpoint and is a GET request.
+     * It streams the EMPLOYEES_PROJECTS assignment table as a file download.
+     *
+     * @param format the format of the file, "csv" (default) or "xlsx".
+     * @param response the response to write the file to.
+     * @throws IOException if the file cannot be written to the response.
+     */
+    @RequestMapping(path = "/assignments", method = RequestMethod.GET)
+    public void exportAssignments(@RequestParam(value = "format", defaultValue = "csv") String format,
+                                  HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = parseFormat(format);
+        prepare(response, exportFormat, "assignments");
+        exportService.exportAssignments(exportFormat, response.getOutputStream());
+    }
+
+    /**
+     * Parses the format request parameter.
+     * @throws IllegalArgumentException if the format is not supported.
+     */
+    private ExportFormat parseFormat(String format) {
+        try {
+            return ExportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+    }
+
+    /**
+     * Sets the headers of a file download. No content length is set, so the file is sent in chunks.
+     */
+    private void prepare(HttpServletResponse response, ExportFormat format, String name) {
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + name + "." + format.getExtension() + "\"");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+    }
+}
@@ -1,30 +1,39 @@
 package gr.aueb.cf.springapp.controller;
 
+import gr.aueb.cf.springapp.dto.AssignmentMatrixDTO;
+import gr.aueb.cf.springapp.dto.BulkAssignmentResultDTO;
 import gr.aueb.cf.springapp.dto.EmployeeDTO;
-import gr.aueb.cf.springapp.dto.EmployerDTO;
+import gr.aueb.cf.springapp.dto.EmployerReadDTO;
 import gr.aueb.cf.springapp.dto.ProjectDTO;
+import gr.aueb.cf.springapp.dto.ProjectFilterDTO;
+import gr.aueb.cf.springapp.dto.ProjectReadDTO;
 import gr.aueb.cf.springapp.entity.Employee;
-import gr.aueb.cf.springapp.entity.Employer;
 import gr.aueb.cf.springapp.entity.Project;
 import gr.aueb.cf.springapp.service.IProjectService;
 import gr.aueb.cf.springapp.service.exceptions.EntityAlreadyExistsException;
 import gr.aueb.cf.springapp.service.exceptions.EntityNotFoundException;
 import gr.aueb.cf.springapp.service.exceptions.InvalidEmployeeAssigmentException;
 import gr.aueb.cf.springapp.service.exceptions.ProjectAlreadyAssignedInEmployee;
+import gr.aueb.cf.springapp.service.util.ChunkedRows;
+import gr.aueb.cf.springapp.service.util.DateUtil;
 import gr.aueb.cf.springapp.service.util.LoggerUtil;
+import gr.aueb.cf.springapp.service.util.MoneyUtil;
 import gr.aueb.cf.springapp.validator.ProjectValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -36,6 +45,12 @@ import java.util.List;
 @RequestMapping(path = "/projects")
 public class ProjectController {
 
+    private static final int ROWS_PER_CHUNK = 500;
+
+    private static final int MEMBERS_PER_PAGE = 20;
+
+    private static final int ASSIGNMENT_EMPLOYERS_PER_PAGE = 5;
+
     private final IProjectService projectService;
     private final ProjectValidator projectValidator;
 
@@ -48,46 +63,62 @@ public class ProjectController {
 
     /**
      *
-     * Handles the GET request for the "/list" path, which lists all projects.
-     * Retrieves all projects from the project service, maps them to DTOs, and adds them to the model.
+     * Handles the GET request for the "/list" path, which lists the projects.
+     * Retrieves the projects matching the optional date filter, with their headcounts, from the project service
+     * as flat read-only DTOs and adds them to the model. The projects are read in chunks while the view is rendered,
+     * so the table starts reaching the browser after the first chunk and memory stays bounded.
+     * The employees of a project are loaded from "/{id}/members" when its row is expanded.
+     * @param filter The optional date filter given as request parameters.
      * @param model The Model instance for populating view attributes.
      * @return The name of the view to render the projects table.
      * */
     @RequestMapping(path = "/list", method = RequestMethod.GET)
-    public String listProjects(Model model) {
+    public String listProjects(@ModelAttribute("filter") ProjectFilterDTO filter, Model model) {
 
-        List<Project> projects = projectService.findAll();
-        List<ProjectDTO> projectDTOS = new ArrayList<>();
+        ChunkedRows<ProjectReadDTO> projects = projectService.findProjectViewsInChunks(filter, ROWS_PER_CHUNK);
 
-        for (Project project : projects){
-            projectDTOS.add(new ProjectDTO(project.getId(),project.getName(), project.getDescription(), project.getStartDate(), project.getEndDate(),
-                    project.getStatus(), project.getEmployer(), project.getAllEmployees()));
-        }
-
-        model.addAttribute("projects", projectDTOS);
+        model.addAttribute("projects", projects);
 
         return "projects/projects-table";
     }
 
+    /**
+     * Handles the GET request for the "/{id}/members" path, which returns a page of the employees of a project
+     * as an HTML fragment, loaded into the projects table when the row of the project is expanded.
+     * @param id The ID of the project.
+     * @param page The page of employees to show, starting from 0.
+     * @param model The Model instance for populating view attributes.
+     * @param response The response, whose status is set to 404 if the project is not found.
+     * @return The fragment with the employees of the project.
+     */
+    @RequestMapping(path = "/{id}/members", method = RequestMethod.GET)
+    public String listProjectMembers(@PathVariable("id") Long id,
+                                     @RequestParam(value = "page", defaultValue = "0") int page,
+                                     Model model, HttpServletResponse response) {
+        try {
+            model.addAttribute("projectId", id);
+            model.addAttribute("members", projectService.findProjectMembers(id,
+                    PageRequest.of(Math.max(page, 0), MEMBERS_PER_PAGE)));
+            return "projects/project-members :: members";
+        } catch (EntityNotFoundException e) {
+            LoggerUtil.getCurrentLogger().warning(e.getMessage());
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return "projects/project-members :: notFound";
+        }
+    }
+
 
     /**
      * Handles the GET request for the "/create" path, which shows the form to create a new project.
-     * Retrieves a list of employers from the project service, maps them to DTOs, and adds them to the model.
+     * Retrieves the (cached) list of employers from the project service and adds it to the model.
      * @param model The Model instance for populating view attributes.
      * @return The name of the view to show the create project form.
      */
     @RequestMapping(value = "/create", method = RequestMethod.GET)
     public String showFormToCreate(Model model){
-        List<Employer> employerList = projectService.getAllEmployers();
-
-        List<EmployerDTO> employerDTOS = new ArrayList<>();
-        for (Employer employer : employerList){
-            employerDTOS.add(new EmployerDTO(employer.getId(),employer.getName(),
-                    employer.getAddress(),employer.getAllEmployees(),employer.getAllProjects()));
-        }
-
+        List<EmployerReadDTO> employers = projectService.getAllEmployerViews();
 
-        model.addAttribute("employers", employerDTOS);
+        model.addAttribute("employers", employers);
         model.addAttribute("projectForm", new ProjectDTO());
         return "projects/create-projects";
     }
@@ -114,8 +145,7 @@ public class ProjectController {
         if (bindingResult.hasErrors()){
             redirectAttributes.addFlashAttribute("errorMessage", "Please correct the errors in order to proceed!");
             LoggerUtil.getCurrentLogger().warning("empty");
-            List<Employer> employerList = projectService.getAllEmployers();
-            model.addAttribute("employers", employerList);
+            model.addAttribute("employers", projectService.getAllEmployerViews());
             model.addAttribute("errorMessage", "Please correct the errors in order to proceed!");
             return "projects/create-projects";
         }
@@ -134,17 +164,18 @@ public class ProjectController {
 
     /**
      * Handles the GET request for the "/assign" path, which shows the form to assign a project to an employee.
-     * Retrieve lists of employees and employers from the project service and adds them to the model.
+     * The assignments are shown as one matrix per employer, a page of employers at a time; the matrices are
+     * read with a fixed number of queries, so rendering the view never touches a managed entity.
+     * @param page The page of employers to show, starting from 0.
      * @param model The Model instance for populating view attributes.
      * @return The name of the view to show the assign project form.
      */
     @RequestMapping(path = "/assign", method = RequestMethod.GET)
-    public String assignProjectForm(Model model) {
-        List<Employee> employeeList = projectService.findAllEmployees();
-        List<Employer> employerList = projectService.getAllEmployers();
+    public String assignProjectForm(@RequestParam(value = "page", defaultValue = "0") int page, Model model) {
+        Page<AssignmentMatrixDTO> matrices = projectService.getAssignmentMatrices(
+                PageRequest.of(Math.max(page, 0), ASSIGNMENT_EMPLOYERS_PER_PAGE));
 
-        model.addAttribute("employeeList", employeeList);
-        model.addAttribute("employerList", employerList);
+        model.addAttribute("matrices", matrices);
         return "projects/assign-projects";
     }
 
@@ -216,6 +247,60 @@ public class ProjectController {
     }
 
 
+    /**
+     * Handles the POST request for the "/bulkAssign" path, which assigns many employees to a project at once.
+     * All employees are assigned in one transaction, or none of them if one does not belong to the employer
+     * of the project. Employees that are already assigned are skipped.
+     * If successful, adds the result to the flash attributes and redirects to the assign projects page.
+     * Otherwise, logs the error, adds the error message to the model, and returns the error page.
+     * @param projectId The ID of the project.
+     * @param employeeIds The IDs of the employees to assign.
+     * @param redirectAttributes The RedirectAttributes instance for storing flash attributes.
+     * @param model The Model instance for populating view attributes.
+     * @return The name of the view to redirect based on the outcome of the operation.
+     */
+    @RequestMapping(path = "/bulkAssign", method = RequestMethod.POST)
+    public String assignEmployeesToProject(@RequestParam("projectId") Long projectId,
+                                           @RequestParam("employeeIds") List<Long> employeeIds,
+                                           RedirectAttributes redirectAttributes, Model model) {
+        try {
+            BulkAssignmentResultDTO result = projectService.assignEmployeesToProject(projectId, employeeIds);
+            redirectAttributes.addFlashAttribute("bulkAssigned", result);
+            return "redirect:/projects/assign";
+        } catch (EntityNotFoundException | InvalidEmployeeAssigmentException e) {
+            model.addAttribute("error", e.getMessage());
+            LoggerUtil.getCurrentLogger().warning(e.getMessage());
+            return "error";
+        }
+    }
+
+    /**
+     * Handles the POST request for the "/bulkUnassign" path, which releases many employees from a project at once.
+     * Employees that are not assigned to the project are ignored.
+     * If successful, adds the result to the flash attributes and redirects to the assign projects page.
+     * Otherwise, logs the error, adds the error message to the model, and returns the error page.
+     * @param projectId The ID of the project.
+     * @param employeeIds The IDs of the employees to release.
+     * @param redirectAttributes The RedirectAttributes instance for storing flash attributes.
+     * @param model The Model instance for populating view attributes.
+     * @return The name of the view to redirect based on the outcome of the operation.
+     */
+    @RequestMapping(path = "/bulkUnassign", method = RequestMethod.POST)
+    public String releaseEmployeesFromProject(@RequestParam("projectId") Long projectId,
+                                              @RequestParam("employeeIds") List<Long> employeeIds,
+                                              RedirectAttributes redirectAttributes, Model model) {
+        try {
+            BulkAssignmentResultDTO result = projectService.unassignEmployeesFromProject(projectId, employeeIds);
+            redirectAttributes.addFlashAttribute("bulkUnassigned", result);
+            return "redirect:/projects/assign";
+        } catch (EntityNotFoundException e) {
+            model.addAttribute("error", e.getMessage());
+            LoggerUtil.getCurrentLogger().warning(e.getMessage());
+            return "error";
+        }
+    }
+
+
     /**
      * Handles the GET request for the "/showFormForUpdate" path, which shows the form to update a project.
      * Retrieves the project based on the provided projectId and maps it to a ProjectDTO.
@@ -230,7 +315,7 @@ public class ProjectController {
             Project project = projectService.findById(id);
 
             ProjectDTO projectDTO = new ProjectDTO(project.getId(), project.getName(),project.getDescription(),
-                    project.getStartDate(),project.getEndDate(), project.getStatus(), project.getEmployer(), project.getAllEmployees());
+                    DateUtil.format(project.getStartDate()), DateUtil.format(project.getEndDate()), project.getStatus(), project.getEmployer(), project.getAllEmployees());
 
             model.addAttribute("project", projectDTO);
 
@@ -319,9 +404,10 @@ public class ProjectController {
      * @param employee The Employee entity to be mapped.
      * @return The EmployeeDTO instance created
      */
-    private EmployeeDTO mapToEmployeeDTO(Employee employee) {
+    EmployeeDTO mapToEmployeeDTO(Employee employee) {
         return new EmployeeDTO(employee.getId(),employee.getFirstname(),employee.getLastname(),
-                employee.getJobTitle(),employee.getSalary(),employee.getEmployer(),employee.getAllProjects());
+                employee.getJobTitle(),MoneyUtil.toAmount(employee.getSalary()),employee.getEmployer(),
+                employee.getAllProjects());
     }
 
     /**
@@ -329,10 +415,10 @@ public class ProjectController {
      * @param project The Project entity to be mapped.
      * @return The ProjectDTO created
      */
-    private ProjectDTO mapToProjectDTO(Project project) {
+    ProjectDTO mapToProjectDTO(Project project) {
 
         return new ProjectDTO(project.getId(), project.getName(), project.getDescription(),
-                project.getStartDate(),project.getEndDate(), project.getStatus(),
+                DateUtil.format(project.getStartDate()), DateUtil.format(project.getEndDate()), project.getStatus(),
                 project.getEmployer(),project.getAllEmployees());
     }
 }
@@ -0,0 +1,83 @@
+package gr.aueb.cf.springapp.controller;
+
+import gr.aueb.cf.springapp.dto.PayrollSummaryDTO;
+import gr.aueb.cf.springapp.service.IPayrollService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+
+/**
+ * The ReportController class handles the payroll reports: total, average and median salary
+ * per employer, per job title and per project staffing, as an HTML page or as JSON.
+ * The class is annotated with @RequestMapping("/reports") to map web requests onto specific handler methods.
+ */
+@Controller
+@RequestMapping("/reports")
+public class ReportController {
+
+    private final IPayrollService payrollService;
+
+    @Autowired
+    public ReportController(IPayrollService payrollService) {
+        this.payrollService = payrollService;
+    }
+
+    /**
+     * This method is mapped to the "/payroll" endpoint and is a GET request.
+     * It adds the payroll per employer, job title and project to the model.
+     *
+     * @param model the Model object that carries data to the view.
+     * @return a String representing the name of the view.
+     */
+    @RequestMapping(path = "/payroll", method = RequestMethod.GET)
+    public String showPayroll(Model model) {
+        model.addAttribute("employerPayrolls", payrollService.getPayrollByEmployer(true));
+        model.addAttribute("jobTitlePayrolls", payrollService.getPayrollByJobTitle());
+        model.addAttribute("projectPayrolls", payrollService.getPayrollByProject());
+        return "reports/payroll";
+    }
+
+    /**
+     * This method is mapped to the "/payroll/employers" endpoint and is a GET request.
+     * It returns the payroll of every employer, read from the running totals.
+     *
+     * @param withMedian whether to compute the median salaries too, which reads the employees.
+     * @return the payroll of every employer.
+     */
+    @GetMapping(path = "/payroll/employers", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public List<PayrollSummaryDTO> getEmployerPayroll(
+            @RequestParam(value = "median", defaultValue = "false") boolean withMedian) {
+        return payrollService.getPayrollByEmployer(withMedian);
+    }
+
+    /**
+     * This method is mapped to the "/payroll/jobTitles" endpoint and is a GET request.
+     *
+     * @return the payroll of every job title.
+     */
+    @GetMapping(path = "/payroll/jobTitles", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public List<PayrollSummaryDTO> getJobTitlePayroll() {
+        return payrollService.getPayrollByJobTitle();
+    }
+
+    /**
+     * This method is mapped to the "/payroll/projects" endpoint and is a GET request.
+     *
+     * @return the payroll of the employees staffed on every project.
+     */
+    @GetMapping(path = "/payroll/projects", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public List<PayrollSummaryDTO> getProjectPayroll() {
+        return payrollService.getPayrollByProject();
+    }
+}
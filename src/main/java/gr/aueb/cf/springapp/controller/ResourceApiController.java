@@ -0,0 +1,193 @@
+package gr.aueb.cf.springapp.controller;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import gr.aueb.cf.springapp.dto.ResourcePageDTO;
+import gr.aueb.cf.springapp.dto.ResourceVersionDTO;
+import gr.aueb.cf.springapp.service.IResourceService;
+import gr.aueb.cf.springapp.service.exceptions.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The ResourceApiController class serves employees, employers, projects and their assignments as JSON,
+ * for integrations that sync them instead of reading the HTML pages.
+ * Collections are keyset paginated: "after" is the cursor returned as "next" by the previous page and "size"
+ * the number of items. "fields" keeps only the given fields of every item, e.g. fields=id,name.
+ * Every response carries an ETag and a Last-Modified header made from the version of the resource; a request
+ * with a matching If-None-Match (or If-Modified-Since) header is answered with 304 after reading the version
+ * alone. Deleted rows only change the ETag of a collection, so clients should prefer If-None-Match.
+ * The version and the resource are read in one read-only transaction, so the ETag describes the body it is sent with.
+ * The class is annotated with @RequestMapping("/api/v1") to map web requests onto specific handler methods.
+ */
+@RestController
+@RequestMapping(path = "/api/v1", produces = MediaType.APPLICATION_JSON_VALUE)
+public class ResourceApiController {
+
+    private static final String DEFAULT_PAGE_SIZE = "50";
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final IResourceService resourceService;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    public ResourceApiController(IResourceService resourceService, PlatformTransactionManager transactionManager) {
+        this.resourceService = resourceService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @GetMapping("/employees")
+    public ResponseEntity<MappingJacksonValue> getEmployees(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", defaultValue = DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(value = "fields", required = false) String fields,
+            WebRequest request) {
+        return respond(request, resourceService::getEmployeesVersion, fields,
+                () -> resourceService.getEmployees(after, pageSize(size)));
+    }
+
+    @GetMapping("/employees/{id}")
+    public ResponseEntity<MappingJacksonValue> getEmployee(
+            @PathVariable("id") Long id,
+            @RequestParam(value = "fields", required = false) String fields,
+            WebRequest request) {
+        return respond(request, () -> resourceService.getEmployeeVersion(id), fields,
+                () -> resourceService.getEmployee(id));
+    }
+
+    @GetMapping("/employers")
+    public ResponseEntity<MappingJacksonValue> getEmployers(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", defaultValue = DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(value = "fields", required = false) String fields,
+            WebRequest request) {
+        return respond(request, resourceService::getEmployersVersion, fields,
+                () -> resourceService.getEmployers(after, pageSize(size)));
+    }
+
+    @GetMapping("/employers/{id}")
+    public ResponseEntity<MappingJacksonValue> getEmployer(
+            @PathVariable("id") Long id,
+            @RequestParam(value = "fields", required = false) String fields,
+            WebRequest request) {
+        return respond(request, () -> resourceService.getEmployerVersion(id), fields,
+                () -> resourceService.getEmployer(id));
+    }
+
+    @GetMapping("/projects")
+    public ResponseEntity<MappingJacksonValue> getProjects(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", defaultValue = DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(value = "fields", required = false) String fields,
+            WebRequest request) {
+        return respond(request, resourceService::getProjectsVersion, fields,
+                () -> resourceService.getProjects(after, pageSize(size)));
+    }
+
+    @GetMapping("/projects/{id}")
+    public ResponseEntity<MappingJacksonValue> getProject(
+            @PathVariable("id") Long id,
+            @RequestParam(value = "fields", required = false) String fields,
+            WebRequest request) {
+        return respond(request, () -> resourceService.getProjectVersion(id), fields,
+                () -> resourceService.getProject(id));
+    }
+
+    /**
+     * The rows of the EMPLOYEES_PROJECTS assignment table, as pairs of employee and project ids.
+     */
+    @GetMapping("/assignments")
+    public ResponseEntity<MappingJacksonValue> getAssignments(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", defaultValue = DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(value = "fields", required = false) String fields,
+            WebRequest request) {
+        return respond(request, resourceService::getAssignmentsVersion, fields,
+                () -> resourceService.getAssignments(after, pageSize(size)));
+    }
+
+    /**
+     * Answers 304 if the client has the current version of the resource, else reads the resource.
+     * Both are read in the same transaction, so under MySQL's default repeatable-read isolation they come from one
+     * snapshot, and a change committed in between cannot pair the body of one version with the ETag of another.
+     *
+     * @param request the request, with its conditional headers.
+     * @param version reads the current version of the resource.
+     * @param fields the fields to keep, comma separated, or null for all.
+     * @param body reads the resource, only if the client does not have its current version.
+     * @return the response; 404 if there is no such resource, 400 if the cursor is not valid.
+     */
+    private ResponseEntity<MappingJacksonValue> respond(WebRequest request, ResourceReader<ResourceVersionDTO> version,
+                                                        String fields, ResourceReader<?> body) {
+        return readOnlyTransaction.execute(status -> respondInTransaction(request, version, fields, body));
+    }
+
+    private ResponseEntity<MappingJacksonValue> respondInTransaction(WebRequest request,
+                                                                     ResourceReader<ResourceVersionDTO> version,
+                                                                     String fields, ResourceReader<?> body) {
+        try {
+            ResourceVersionDTO current = version.read();
+            if (request.checkNotModified(current.getETag(), current.getLastModifiedMillis())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+            MappingJacksonValue value = new MappingJacksonValue(body.read());
+            value.setFilters(new SimpleFilterProvider()
+                    .addFilter(ResourcePageDTO.FIELDS_FILTER, fieldsFilter(fields)));
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .eTag(current.getETag())
+                    .cacheControl(CacheControl.noCache().cachePrivate());
+            if (current.getLastModifiedMillis() >= 0) {
+                response.lastModified(current.getLastModifiedMillis());
+            }
+            return response.body(value);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private static SimpleBeanPropertyFilter fieldsFilter(String fields) {
+        if (fields == null || fields.trim().isEmpty()) {
+            return SimpleBeanPropertyFilter.serializeAll();
+        }
+        Set<String> names = new HashSet<>();
+        for (String name : fields.split(",")) {
+            if (!name.trim().isEmpty()) {
+                names.add(name.trim());
+            }
+        }
+        return SimpleBeanPropertyFilter.filterOutAllExcept(names);
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Reads a resource or its version.
+     *
+     * @param <T> the type of what is read.
+     */
+    @FunctionalInterface
+    private interface ResourceReader<T> {
+
+        T read() throws EntityNotFoundException;
+    }
+}
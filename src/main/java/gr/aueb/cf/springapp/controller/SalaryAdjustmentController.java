@@ -0,0 +1,124 @@
+package gr.aueb.cf.springapp.controller;
+
+import gr.aueb.cf.springapp.dto.SalaryAdjustmentDTO;
+import gr.aueb.cf.springapp.dto.SalaryAdjustmentReadDTO;
+import gr.aueb.cf.springapp.service.IEmployeeService;
+import gr.aueb.cf.springapp.service.IProjectService;
+import gr.aueb.cf.springapp.service.ISalaryAdjustmentService;
+import gr.aueb.cf.springapp.service.exceptions.EntityNotFoundException;
+import gr.aueb.cf.springapp.service.util.LoggerUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+/**
+ * The SalaryAdjustmentController class handles the bulk salary adjustments: starting a percentage or absolute
+ * change of the salaries of an employer, a job title and/or a project, following its progress and resuming it.
+ * The class is annotated with @RequestMapping("/employees/adjustments") to map web requests onto specific
+ * handler methods.
+ */
+@Controller
+@RequestMapping("/employees/adjustments")
+public class SalaryAdjustmentController {
+
+    private final ISalaryAdjustmentService salaryAdjustmentService;
+    private final IEmployeeService employeeService;
+    private final IProjectService projectService;
+
+    @Autowired
+    public SalaryAdjustmentController(ISalaryAdjustmentService salaryAdjustmentService,
+                                      IEmployeeService employeeService, IProjectService projectService) {
+        this.salaryAdjustmentService = salaryAdjustmentService;
+        this.employeeService = employeeService;
+        this.projectService = projectService;
+    }
+
+    /**
+     * This method is mapped to the "" endpoint and is a GET request.
+     * It adds the form of a new adjustment, the employers and projects to choose from, and all adjustments
+     * with their progress to the model.
+     *
+     * @param model the Model object that carries data to the view.
+     * @return a String representing the name of the view.
+     */
+    @RequestMapping(path = "", method = RequestMethod.GET)
+    public String listAdjustments(Model model) {
+        if (!model.containsAttribute("adjustmentForm")) {
+            model.addAttribute("adjustmentForm", new SalaryAdjustmentDTO());
+        }
+        model.addAttribute("employers", employeeService.getAllEmployerViews());
+        model.addAttribute("projects", projectService.findAllProjectViewsWithoutEmployees());
+        model.addAttribute("adjustments", salaryAdjustmentService.getAllAdjustments());
+        return "employees/salary-adjustments";
+    }
+
+    /**
+     * This method is mapped to the "" endpoint and is a POST request.
+     * It starts a new adjustment in the background and redirects to the list of adjustments.
+     *
+     * @param adjustmentDTO the change and the filters of the adjustment.
+     * @param redirectAttributes the RedirectAttributes object used for passing attributes in a redirect scenario.
+     * @return a String representing the redirect path.
+     */
+    @RequestMapping(path = "", method = RequestMethod.POST)
+    public String startAdjustment(@ModelAttribute("adjustmentForm") SalaryAdjustmentDTO adjustmentDTO,
+                                  RedirectAttributes redirectAttributes) {
+        try {
+            redirectAttributes.addFlashAttribute("startedAdjustment",
+                    salaryAdjustmentService.startAdjustment(adjustmentDTO));
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            LoggerUtil.getCurrentLogger().warning(e.getMessage());
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+            redirectAttributes.addFlashAttribute("adjustmentForm", adjustmentDTO);
+        }
+        return "redirect:/employees/adjustments";
+    }
+
+    /**
+     * This method is mapped to the "/resume" endpoint and is a POST request.
+     * It resumes an adjustment from its last committed chunk.
+     *
+     * @param adjustmentId the id of the adjustment.
+     * @param redirectAttributes the RedirectAttributes object used for passing attributes in a redirect scenario.
+     * @return a String representing the redirect path.
+     */
+    @RequestMapping(path = "/resume", method = RequestMethod.POST)
+    public String resumeAdjustment(@RequestParam("adjustmentId") Long adjustmentId,
+                                   RedirectAttributes redirectAttributes) {
+        try {
+            redirectAttributes.addFlashAttribute("startedAdjustment",
+                    salaryAdjustmentService.resumeAdjustment(adjustmentId));
+        } catch (EntityNotFoundException e) {
+            LoggerUtil.getCurrentLogger().warning(e.getMessage());
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+        return "redirect:/employees/adjustments";
+    }
+
+    /**
+     * This method is mapped to the "/{id}" endpoint and is a GET request.
+     * It returns the progress of an adjustment, e.g. to poll it while it runs.
+     *
+     * @param id the id of the adjustment.
+     * @return the adjustment with its progress, or 404 if there is no such adjustment.
+     */
+    @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<SalaryAdjustmentReadDTO> getAdjustment(@PathVariable("id") Long id) {
+        try {
+            return ResponseEntity.ok(salaryAdjustmentService.getAdjustment(id));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package gr.aueb.cf.springapp.dao;
+
+import gr.aueb.cf.springapp.dto.ChangeReadDTO;
+import gr.aueb.cf.springapp.entity.ChangeLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long>, ChangeRecordingRepository {
+
+    /**
+     * The changes recorded after the given sequence number, in sequence order, read from the primary key.
+     * The number of changes is taken from the pageable, its offset is always zero.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.ChangeReadDTO(c.seq, c.resourceType, c.resourceId, c.changeType, " +
+            "c.changedAt) FROM ChangeLogEntry c WHERE c.seq > :since ORDER BY c.seq")
+    List<ChangeReadDTO> findChangesAfter(@Param("since") long since, Pageable pageable);
+}
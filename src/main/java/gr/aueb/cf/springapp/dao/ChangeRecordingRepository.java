@@ -0,0 +1,29 @@
+package gr.aueb.cf.springapp.dao;
+
+import gr.aueb.cf.springapp.enums.ChangeType;
+import gr.aueb.cf.springapp.enums.ResourceType;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Records changes in the change log (CHANGE_LOG), in the transaction that makes them.
+ * It should be called after the changes themselves: it takes the lock of the change log sequence, which is then
+ * held until the transaction commits.
+ */
+public interface ChangeRecordingRepository {
+
+    /**
+     * Records the same change of the given resources, with consecutive sequence numbers.
+     * The pending changes of the persistence context are flushed first. Nothing is done if there are no resources.
+     * @throws IllegalStateException if the change log sequence has not been created.
+     */
+    void recordChanges(ResourceType resourceType, ChangeType changeType, Collection<Long> resourceIds);
+
+    /**
+     * Records a change of one resource.
+     */
+    default void recordChange(ResourceType resourceType, ChangeType changeType, Long resourceId) {
+        recordChanges(resourceType, changeType, Collections.singleton(resourceId));
+    }
+}
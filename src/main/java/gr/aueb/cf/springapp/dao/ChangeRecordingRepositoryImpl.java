@@ -0,0 +1,65 @@
+package gr.aueb.cf.springapp.dao;
+
+import gr.aueb.cf.springapp.entity.ChangeLogSequence;
+import gr.aueb.cf.springapp.enums.ChangeType;
+import gr.aueb.cf.springapp.enums.ResourceType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * JDBC implementation of {@link ChangeRecordingRepository}, picked up by Spring Data as a fragment of
+ * {@link ChangeLogRepository}. It runs in the JPA transaction of the caller.
+ * The sequence numbers are taken by one UPDATE of the CHANGE_LOG_SEQUENCE row, whose lock serializes the
+ * transactions that record changes from that point until they commit; the pending changes are flushed before,
+ * so that the lock is taken last and held for the commit only. The entries are inserted with a JDBC batch.
+ */
+public class ChangeRecordingRepositoryImpl implements ChangeRecordingRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public ChangeRecordingRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void recordChanges(ResourceType resourceType, ChangeType changeType, Collection<Long> resourceIds) {
+        if (resourceIds.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+
+        MapSqlParameterSource sequence = new MapSqlParameterSource("id", ChangeLogSequence.ID)
+                .addValue("count", resourceIds.size());
+        if (jdbcTemplate.update("UPDATE CHANGE_LOG_SEQUENCE SET NEXT_SEQ = NEXT_SEQ + :count WHERE ID = :id",
+                sequence) == 0) {
+            throw new IllegalStateException("The change log sequence does not exist");
+        }
+        Long next = jdbcTemplate.queryForObject("SELECT NEXT_SEQ FROM CHANGE_LOG_SEQUENCE WHERE ID = :id",
+                sequence, Long.class);
+
+        long seq = next - resourceIds.size();
+        Timestamp now = Timestamp.from(Instant.now());
+        MapSqlParameterSource[] rows = new MapSqlParameterSource[resourceIds.size()];
+        int i = 0;
+        for (Long resourceId : resourceIds) {
+            rows[i++] = new MapSqlParameterSource("seq", seq++)
+                    .addValue("resourceType", resourceType.name())
+                    .addValue("resourceId", resourceId)
+                    .addValue("changeType", changeType.name())
+                    .addValue("changedAt", now);
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO CHANGE_LOG (SEQ, RESOURCE_TYPE, RESOURCE_ID, CHANGE_TYPE, CHANGED_AT) " +
+                "VALUES (:seq, :resourceType, :resourceId, :changeType, :changedAt)", rows);
+    }
+}
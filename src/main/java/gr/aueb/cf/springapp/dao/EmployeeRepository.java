@@ -1,13 +1,25 @@
 package gr.aueb.cf.springapp.dao;
 
+import gr.aueb.cf.springapp.dto.AssignmentReadDTO;
+import gr.aueb.cf.springapp.dto.AssignmentResourceDTO;
+import gr.aueb.cf.springapp.dto.EmployeeReadDTO;
+import gr.aueb.cf.springapp.dto.EmployeeResourceDTO;
+import gr.aueb.cf.springapp.dto.LinkReadDTO;
+import gr.aueb.cf.springapp.dto.ResourceVersionDTO;
 import gr.aueb.cf.springapp.entity.Employee;
 import gr.aueb.cf.springapp.entity.Project;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
@@ -18,5 +30,173 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     @Query("SELECT p FROM Project p JOIN p.employees e WHERE e.id = :employeeId")
     List<Project> findProjectsByEmployeeId(@Param("employeeId") Long employeeId);
 
+    /**
+     * The given employees with their employer, e.g. to refresh their search documents.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.EmployeeReadDTO(e.id, e.firstname, e.lastname, e.jobTitle, " +
+            "e.salary, er.id, er.name) FROM Employee e LEFT JOIN e.employer er ON er.deleting = false " +
+            "WHERE e.id IN :employeeIds")
+    List<EmployeeReadDTO> findViewsByIdIn(@Param("employeeIds") Collection<Long> employeeIds);
+
+    /**
+     * First page of the keyset (seek) pagination over (LASTNAME, ID), with optional filters.
+     * The page size is taken from the pageable, its offset is always zero.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.EmployeeReadDTO(e.id, e.firstname, e.lastname, e.jobTitle, " +
+            "e.salary, er.id, er.name) FROM Employee e LEFT JOIN e.employer er ON er.deleting = false " +
+            "WHERE (:jobTitle IS NULL OR e.jobTitle = :jobTitle) " +
+            "AND (:employerId IS NULL OR er.id = :employerId) " +
+            "AND (:minSalary IS NULL OR e.salary >= :minSalary) " +
+            "AND (:maxSalary IS NULL OR e.salary <= :maxSalary) " +
+            "ORDER BY e.lastname, e.id")
+    List<EmployeeReadDTO> findFirstPage(@Param("jobTitle") String jobTitle, @Param("employerId") Long employerId,
+                                        @Param("minSalary") Long minSalary, @Param("maxSalary") Long maxSalary,
+                                        Pageable pageable);
+
+    /**
+     * Next page of the keyset (seek) pagination, starting right after the row (lastname, id).
+     * The page size is taken from the pageable, its offset is always zero.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.EmployeeReadDTO(e.id, e.firstname, e.lastname, e.jobTitle, " +
+            "e.salary, er.id, er.name) FROM Employee e LEFT JOIN e.employer er ON er.deleting = false " +
+            "WHERE (e.lastname > :lastname OR (e.lastname = :lastname AND e.id > :id)) " +
+            "AND (:jobTitle IS NULL OR e.jobTitle = :jobTitle) " +
+            "AND (:employerId IS NULL OR er.id = :employerId) " +
+            "AND (:minSalary IS NULL OR e.salary >= :minSalary) " +
+            "AND (:maxSalary IS NULL OR e.salary <= :maxSalary) " +
+            "ORDER BY e.lastname, e.id")
+    List<EmployeeReadDTO> findPageAfter(@Param("lastname") String lastname, @Param("id") Long id,
+                                        @Param("jobTitle") String jobTitle, @Param("employerId") Long employerId,
+                                        @Param("minSalary") Long minSalary, @Param("maxSalary") Long maxSalary,
+                                        Pageable pageable);
+
+    /**
+     * All employees with their employer, read through a forward-only cursor for the export.
+     * The rows are fetched 1000 at a time, which every driver accepts; the MySQL driver only honours the fetch size
+     * with useCursorFetch=true in the datasource URL, and buffers the whole result otherwise.
+     * The stream must be consumed and closed inside a transaction.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.EmployeeReadDTO(e.id, e.firstname, e.lastname, e.jobTitle, " +
+            "e.salary, er.id, er.name) FROM Employee e LEFT JOIN e.employer er ON er.deleting = false " +
+            "ORDER BY e.id")
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    Stream<EmployeeReadDTO> streamAllViews();
+
+    /**
+     * All rows of the EMPLOYEES_PROJECTS assignment table, read through a forward-only cursor for the export.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.AssignmentReadDTO(e.id, e.firstname, e.lastname, p.id, p.name) " +
+            "FROM Employee e JOIN e.projects p ORDER BY e.id, p.id")
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    Stream<AssignmentReadDTO> streamAllAssignments();
+
+    /**
+     * Ids of the given employees that work for the given employer.
+     */
+    @Query("SELECT e.id FROM Employee e WHERE e.employer.id = :employerId AND e.id IN :employeeIds")
+    List<Long> findIdsByEmployerIdAndIdIn(@Param("employerId") Long employerId,
+                                          @Param("employeeIds") Collection<Long> employeeIds);
+
+    /**
+     * Employees of the given employers, ordered by name.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.EmployeeReadDTO(e.id, e.firstname, e.lastname, e.jobTitle, " +
+            "e.salary, er.id, er.name) FROM Employee e JOIN e.employer er WHERE er.id IN :employerIds " +
+            "ORDER BY e.lastname, e.firstname, e.id")
+    List<EmployeeReadDTO> findViewsByEmployerIdIn(@Param("employerIds") Collection<Long> employerIds);
+
+    /**
+     * Projects of the given employees, read from the join table without loading any entity.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.LinkReadDTO(e.id, p.id, p.name) " +
+            "FROM Employee e JOIN e.projects p WHERE e.id IN :employeeIds ORDER BY p.name")
+    List<LinkReadDTO> findProjectLinks(@Param("employeeIds") Collection<Long> employeeIds);
+
+    /**
+     * Payroll of every job title, as rows of (job title, employee count, total salary in minor units).
+     * The DECIMAL salaries are summed exactly by the database.
+     */
+    @Query(value = "SELECT e.JOBTITLE, COUNT(*), COALESCE(SUM(e.SALARY), 0) * 100 FROM EMPLOYEES e " +
+            "GROUP BY e.JOBTITLE ORDER BY e.JOBTITLE", nativeQuery = true)
+    List<Object[]> findPayrollByJobTitle();
+
+    /**
+     * Median salary of every employer, as rows of (employer id, median).
+     * The salaries of each employer are ranked with window functions and the middle one (or the average
+     * of the two middle ones) is kept, so the median is computed in the database in one pass.
+     */
+    @Query(value = "SELECT m.EMPLOYER_ID, AVG(m.SALARY) FROM (" +
+            "SELECT e.EMPLOYER_ID, e.SALARY, " +
+            "ROW_NUMBER() OVER (PARTITION BY e.EMPLOYER_ID ORDER BY e.SALARY) AS RN, " +
+            "COUNT(*) OVER (PARTITION BY e.EMPLOYER_ID) AS CNT " +
+            "FROM EMPLOYEES e WHERE e.EMPLOYER_ID IS NOT NULL AND e.SALARY IS NOT NULL) m " +
+            "WHERE m.RN IN (FLOOR((m.CNT + 1) / 2), FLOOR((m.CNT + 2) / 2)) GROUP BY m.EMPLOYER_ID",
+            nativeQuery = true)
+    List<Object[]> findMedianSalaryByEmployer();
+
+    /**
+     * Median salary of every job title, as rows of (job title, median).
+     */
+    @Query(value = "SELECT m.JOBTITLE, AVG(m.SALARY) FROM (" +
+            "SELECT e.JOBTITLE, e.SALARY, " +
+            "ROW_NUMBER() OVER (PARTITION BY e.JOBTITLE ORDER BY e.SALARY) AS RN, " +
+            "COUNT(*) OVER (PARTITION BY e.JOBTITLE) AS CNT " +
+            "FROM EMPLOYEES e WHERE e.SALARY IS NOT NULL) m " +
+            "WHERE m.RN IN (FLOOR((m.CNT + 1) / 2), FLOOR((m.CNT + 2) / 2)) GROUP BY m.JOBTITLE",
+            nativeQuery = true)
+    List<Object[]> findMedianSalaryByJobTitle();
+
+    /**
+     * The next page of employees of the REST API in id order, right after the given id (null for the first page).
+     * The page size is taken from the pageable, its offset is always zero.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.EmployeeResourceDTO(e.id, e.firstname, e.lastname, e.jobTitle, " +
+            "e.salary, er.id, e.version, e.lastModified) " +
+            "FROM Employee e LEFT JOIN e.employer er ON er.deleting = false " +
+            "WHERE (:afterId IS NULL OR e.id > :afterId) ORDER BY e.id")
+    List<EmployeeResourceDTO> findResourcesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new gr.aueb.cf.springapp.dto.EmployeeResourceDTO(e.id, e.firstname, e.lastname, e.jobTitle, " +
+            "e.salary, er.id, e.version, e.lastModified) " +
+            "FROM Employee e LEFT JOIN e.employer er ON er.deleting = false " +
+            "WHERE e.id = :id")
+    EmployeeResourceDTO findResourceById(@Param("id") Long id);
+
+    /**
+     * Version of one employee, or null if there is no such employee.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.ResourceVersionDTO(e.version, e.lastModified) " +
+            "FROM Employee e WHERE e.id = :id")
+    ResourceVersionDTO findVersionById(@Param("id") Long id);
+
+    /**
+     * Version of the employee collection: the number of employees and the last change of any of them.
+     * A new or changed employee moves the time, a deleted one the count.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.ResourceVersionDTO(COUNT(e), MAX(e.lastModified)) FROM Employee e")
+    ResourceVersionDTO findCollectionVersion();
+
+    /**
+     * The next page of rows of the EMPLOYEES_PROJECTS assignment table in (employee id, project id) order,
+     * right after the given pair (nulls for the first page).
+     * The page size is taken from the pageable, its offset is always zero.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.AssignmentResourceDTO(e.id, p.id) FROM Employee e JOIN e.projects p " +
+            "WHERE (:afterEmployeeId IS NULL OR e.id > :afterEmployeeId " +
+            "OR (e.id = :afterEmployeeId AND p.id > :afterProjectId)) ORDER BY e.id, p.id")
+    List<AssignmentResourceDTO> findAssignmentResourcesAfter(@Param("afterEmployeeId") Long afterEmployeeId,
+                                                             @Param("afterProjectId") Long afterProjectId,
+                                                             Pageable pageable);
+
+    /**
+     * Version of the assignment table: the number of rows and the last change of any employee.
+     * Every statement that assigns or unassigns projects bumps the employees it touches, see
+     * {@link ProjectAssignmentRepositoryImpl}.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.ResourceVersionDTO(COUNT(p), MAX(e.lastModified)) " +
+            "FROM Employee e LEFT JOIN e.projects p")
+    ResourceVersionDTO findAssignmentsVersion();
 
 }
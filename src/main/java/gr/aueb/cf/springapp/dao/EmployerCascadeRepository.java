@@ -0,0 +1,45 @@
+package gr.aueb.cf.springapp.dao;
+
+import java.util.List;
+
+/**
+ * Set-based removal of what belongs to an employer that is being deleted, one bounded chunk at a time,
+ * without loading any employee or project entity. Every chunk takes the rows that still belong to the
+ * employer, so a chunk never depends on the previous one.
+ */
+public interface EmployerCascadeRepository {
+
+    long countEmployees(Long employerId);
+
+    long countProjects(Long employerId);
+
+    List<Long> findEmployeeIds(Long employerId);
+
+    /**
+     * Reads and locks the next chunk of employees of the employer, in ascending id order, into the given arrays;
+     * the chunk size is the length of the arrays.
+     * @param ids receives the ids of the employees.
+     * @param salaries receives the salaries of the employees in minor units, zero if they have none.
+     * @return the number of employees read, zero when the employer has none left.
+     */
+    int lockEmployeeChunk(Long employerId, long[] ids, long[] salaries);
+
+    /**
+     * Removes the first count employees of the array from the projects of the employer and from the employer,
+     * with one statement each.
+     * @return the number of assignments removed.
+     */
+    int detachEmployees(Long employerId, long[] ids, int count);
+
+    /**
+     * Reads and locks the next chunk of projects of the employer, in ascending id order, into the given array.
+     * @return the number of projects read, zero when the employer has none left.
+     */
+    int lockProjectChunk(Long employerId, long[] ids);
+
+    /**
+     * Deletes the first count projects of the array and their remaining assignments, with one statement each.
+     * @return the number of assignments removed.
+     */
+    int deleteProjects(long[] ids, int count);
+}
@@ -0,0 +1,122 @@
+package gr.aueb.cf.springapp.dao;
+
+import gr.aueb.cf.springapp.service.util.MoneyUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC and JPQL implementation of {@link EmployerCascadeRepository}, picked up by Spring Data as a fragment of
+ * {@link EmployerDeletionRepository}. It runs in the JPA transaction of the caller, one transaction per chunk.
+ * The EMPLOYEES_PROJECTS join table is cleared with JDBC; employees and projects are changed with JPQL
+ * bulk statements, so that Hibernate invalidates the cached projects and the cached queries over both tables.
+ * The version and the time of the last change of the employees that are changed are bumped.
+ */
+public class EmployerCascadeRepositoryImpl implements EmployerCascadeRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public EmployerCascadeRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public long countEmployees(Long employerId) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM EMPLOYEES WHERE EMPLOYER_ID = :employerId",
+                new MapSqlParameterSource("employerId", employerId), Long.class);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public long countProjects(Long employerId) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PROJECTS WHERE EMPLOYER_ID = :employerId",
+                new MapSqlParameterSource("employerId", employerId), Long.class);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public List<Long> findEmployeeIds(Long employerId) {
+        return jdbcTemplate.queryForList("SELECT ID FROM EMPLOYEES WHERE EMPLOYER_ID = :employerId ORDER BY ID",
+                new MapSqlParameterSource("employerId", employerId), Long.class);
+    }
+
+    @Override
+    public int lockEmployeeChunk(Long employerId, long[] ids, long[] salaries) {
+        int[] count = {0};
+        jdbcTemplate.query("SELECT ID, SALARY FROM EMPLOYEES WHERE EMPLOYER_ID = :employerId " +
+                        "ORDER BY ID LIMIT :limit FOR UPDATE",
+                new MapSqlParameterSource("employerId", employerId).addValue("limit", ids.length),
+                resultSet -> {
+                    BigDecimal salary = resultSet.getBigDecimal(2);
+                    ids[count[0]] = resultSet.getLong(1);
+                    salaries[count[0]] = salary == null ? 0 : MoneyUtil.toMinorUnits(salary);
+                    count[0]++;
+                });
+        return count[0];
+    }
+
+    @Override
+    public int detachEmployees(Long employerId, long[] ids, int count) {
+        if (count == 0) {
+            return 0;
+        }
+        List<Long> employeeIds = toList(ids, count);
+        int assignments = jdbcTemplate.update("DELETE FROM EMPLOYEES_PROJECTS WHERE EMPLOYEE_ID IN (:employeeIds) " +
+                        "AND PROJECT_ID IN (SELECT p.ID FROM PROJECTS p WHERE p.EMPLOYER_ID = :employerId)",
+                new MapSqlParameterSource("employeeIds", employeeIds).addValue("employerId", employerId));
+        entityManager.createQuery("UPDATE Employee e SET e.employer = NULL, e.version = e.version + 1, " +
+                        "e.lastModified = :now WHERE e.id IN :employeeIds")
+                .setParameter("employeeIds", employeeIds)
+                .setParameter("now", Instant.now())
+                .executeUpdate();
+        return assignments;
+    }
+
+    @Override
+    public int lockProjectChunk(Long employerId, long[] ids) {
+        int[] count = {0};
+        jdbcTemplate.query("SELECT ID FROM PROJECTS WHERE EMPLOYER_ID = :employerId ORDER BY ID LIMIT :limit FOR UPDATE",
+                new MapSqlParameterSource("employerId", employerId).addValue("limit", ids.length),
+                resultSet -> {
+                    ids[count[0]++] = resultSet.getLong(1);
+                });
+        return count[0];
+    }
+
+    @Override
+    public int deleteProjects(long[] ids, int count) {
+        if (count == 0) {
+            return 0;
+        }
+        List<Long> projectIds = toList(ids, count);
+        jdbcTemplate.update("UPDATE EMPLOYEES SET VERSION = VERSION + 1, LAST_MODIFIED = :now WHERE ID IN " +
+                        "(SELECT ep.EMPLOYEE_ID FROM EMPLOYEES_PROJECTS ep WHERE ep.PROJECT_ID IN (:projectIds))",
+                new MapSqlParameterSource("projectIds", projectIds).addValue("now", Timestamp.from(Instant.now())));
+        int assignments = jdbcTemplate.update("DELETE FROM EMPLOYEES_PROJECTS WHERE PROJECT_ID IN (:projectIds)",
+                new MapSqlParameterSource("projectIds", projectIds));
+        entityManager.createQuery("DELETE FROM Project p WHERE p.id IN :projectIds")
+                .setParameter("projectIds", projectIds)
+                .executeUpdate();
+        return assignments;
+    }
+
+    private static List<Long> toList(long[] ids, int count) {
+        List<Long> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(ids[i]);
+        }
+        return list;
+    }
+}
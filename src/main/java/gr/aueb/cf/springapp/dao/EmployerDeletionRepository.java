@@ -0,0 +1,43 @@
+package gr.aueb.cf.springapp.dao;
+
+import gr.aueb.cf.springapp.dto.EmployerDeletionReadDTO;
+import gr.aueb.cf.springapp.entity.EmployerDeletion;
+import gr.aueb.cf.springapp.enums.DeletionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmployerDeletionRepository extends JpaRepository<EmployerDeletion, Long>, EmployerCascadeRepository {
+
+    /**
+     * Employer deletions with the given statuses and their progress, newest first.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.EmployerDeletionReadDTO(d.id, d.employerId, d.employerName, " +
+            "d.status, d.cancelRequested, d.employeesTotal, d.employeesDetached, d.projectsTotal, " +
+            "d.projectsDeleted, d.assignmentsRemoved, d.createdAt, d.finishedAt, d.errorMessage) " +
+            "FROM EmployerDeletion d WHERE d.status IN :statuses ORDER BY d.id DESC")
+    List<EmployerDeletionReadDTO> findViewsByStatusIn(@Param("statuses") Collection<DeletionStatus> statuses);
+
+    @Query("SELECT new gr.aueb.cf.springapp.dto.EmployerDeletionReadDTO(d.id, d.employerId, d.employerName, " +
+            "d.status, d.cancelRequested, d.employeesTotal, d.employeesDetached, d.projectsTotal, " +
+            "d.projectsDeleted, d.assignmentsRemoved, d.createdAt, d.finishedAt, d.errorMessage) " +
+            "FROM EmployerDeletion d WHERE d.id = :id")
+    EmployerDeletionReadDTO findViewById(@Param("id") Long id);
+
+    @Query("SELECT d.id FROM EmployerDeletion d WHERE d.status IN :statuses ORDER BY d.id")
+    List<Long> findIdsByStatusIn(@Param("statuses") Collection<DeletionStatus> statuses);
+
+    /**
+     * Requests the cancellation of a deletion with one UPDATE of its flag alone, which the chunk transactions
+     * never write, so a chunk that is running cannot overwrite it.
+     */
+    @Modifying
+    @Query("UPDATE EmployerDeletion d SET d.cancelRequested = true WHERE d.id = :id")
+    int requestCancel(@Param("id") Long id);
+}
@@ -0,0 +1,28 @@
+package gr.aueb.cf.springapp.dao;
+
+import gr.aueb.cf.springapp.dto.PayrollSummaryDTO;
+import gr.aueb.cf.springapp.entity.EmployerPayroll;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface EmployerPayrollRepository extends JpaRepository<EmployerPayroll, Long>, PayrollAdjustmentRepository {
+
+    /**
+     * Payroll of every employer, read from the running totals (one row per employer).
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.PayrollSummaryDTO(er.id, er.name, " +
+            "COALESCE(p.employeeCount, 0L), COALESCE(p.totalSalary, 0L)) " +
+            "FROM Employer er LEFT JOIN EmployerPayroll p ON p.employerId = er.id " +
+            "WHERE er.deleting = false ORDER BY er.name, er.id")
+    List<PayrollSummaryDTO> findAllSummaries();
+
+    @Modifying
+    @Query("DELETE FROM EmployerPayroll p WHERE p.employerId = :employerId")
+    int deleteByEmployerId(@Param("employerId") Long employerId);
+}
@@ -1,16 +1,96 @@
 package gr.aueb.cf.springapp.dao;
 
+import gr.aueb.cf.springapp.dto.EmployerReadDTO;
+import gr.aueb.cf.springapp.dto.EmployerResourceDTO;
+import gr.aueb.cf.springapp.dto.ResourceVersionDTO;
 import gr.aueb.cf.springapp.entity.Employer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface EmployerRepository extends JpaRepository<Employer, Long> {
 
-    Employer findEmployerById(Long Id);
+    /**
+     * The employer with the given id, unless it is being deleted; the reads below leave such employers out too.
+     */
+    @Query("SELECT er FROM Employer er WHERE er.id = :id AND er.deleting = false")
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    Employer findEmployerById(@Param("id") Long id);
 
+    @Query("SELECT er FROM Employer er WHERE er.deleting = false")
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Employer> findAll();
 
+    @Query("SELECT new gr.aueb.cf.springapp.dto.EmployerReadDTO(er.id, er.name, er.address) " +
+            "FROM Employer er WHERE er.deleting = false ORDER BY er.id")
+    List<EmployerReadDTO> findAllViews();
+
+    /**
+     * All employers, read through a forward-only cursor for the export.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.EmployerReadDTO(er.id, er.name, er.address) " +
+            "FROM Employer er WHERE er.deleting = false ORDER BY er.id")
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    Stream<EmployerReadDTO> streamAllViews();
+
+    /**
+     * The next chunk of employers in id order, right after the given id (null for the first chunk),
+     * for the list view rendered in chunks. The chunk size is taken from the pageable, its offset is always zero.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.EmployerReadDTO(er.id, er.name, er.address) " +
+            "FROM Employer er WHERE er.deleting = false AND (:afterId IS NULL OR er.id > :afterId) ORDER BY er.id")
+    List<EmployerReadDTO> findViewsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * A page of employers in id order, e.g. for the assignment matrices.
+     */
+    @Query(value = "SELECT new gr.aueb.cf.springapp.dto.EmployerReadDTO(er.id, er.name, er.address) " +
+            "FROM Employer er WHERE er.deleting = false ORDER BY er.id",
+            countQuery = "SELECT COUNT(er) FROM Employer er WHERE er.deleting = false")
+    Page<EmployerReadDTO> findViewsPage(Pageable pageable);
+
+    /**
+     * Those of the given ids that belong to an employer, leaving out employers being deleted.
+     */
+    @Query("SELECT er.id FROM Employer er WHERE er.id IN (:ids) AND er.deleting = false")
+    List<Long> findExistingIdsIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * The next page of employers of the REST API in id order, right after the given id (null for the first page).
+     * The page size is taken from the pageable, its offset is always zero.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.EmployerResourceDTO(er.id, er.name, er.address, er.version, " +
+            "er.lastModified) FROM Employer er WHERE er.deleting = false AND (:afterId IS NULL OR er.id > :afterId) " +
+            "ORDER BY er.id")
+    List<EmployerResourceDTO> findResourcesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new gr.aueb.cf.springapp.dto.EmployerResourceDTO(er.id, er.name, er.address, er.version, " +
+            "er.lastModified) FROM Employer er WHERE er.id = :id AND er.deleting = false")
+    EmployerResourceDTO findResourceById(@Param("id") Long id);
+
+    /**
+     * Version of one employer, or null if there is no such employer.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.ResourceVersionDTO(er.version, er.lastModified) " +
+            "FROM Employer er WHERE er.id = :id AND er.deleting = false")
+    ResourceVersionDTO findVersionById(@Param("id") Long id);
+
+    /**
+     * Version of the employer collection: the number of employers and the last change of any of them.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.ResourceVersionDTO(COUNT(er), MAX(er.lastModified)) " +
+            "FROM Employer er WHERE er.deleting = false")
+    ResourceVersionDTO findCollectionVersion();
+
 }
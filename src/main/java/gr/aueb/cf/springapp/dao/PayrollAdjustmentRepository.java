@@ -0,0 +1,17 @@
+package gr.aueb.cf.springapp.dao;
+
+/**
+ * Incremental maintenance of the running payroll totals of the employers (EMPLOYER_PAYROLLS),
+ * called in the transaction that changes an employee's salary or employer.
+ */
+public interface PayrollAdjustmentRepository {
+
+    /**
+     * Adds the given number of employees and amount of salary, in minor units (cents), to an employer's totals;
+     * both may be negative.
+     * If the employer has no totals yet, they are computed from its employees instead, so the change must already
+     * be applied to the employees (e.g. an employee deleted or moved to another employer) when this is called.
+     * Nothing is done if the employer is null.
+     */
+    void adjustPayroll(Long employerId, long employees, long salary);
+}
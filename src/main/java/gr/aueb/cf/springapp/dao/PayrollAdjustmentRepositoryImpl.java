@@ -0,0 +1,60 @@
+package gr.aueb.cf.springapp.dao;
+
+import gr.aueb.cf.springapp.entity.EmployerPayroll;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+/**
+ * JPA implementation of {@link PayrollAdjustmentRepository}, picked up by Spring Data as a fragment of
+ * {@link EmployerPayrollRepository}. It runs in the transaction of the caller; the pending changes to the
+ * employees are flushed before a totals row is computed from scratch, so the row sees them.
+ * The update is JPQL, so the second-level cache regions of the other entities are left untouched; the totals
+ * computed from scratch are summed by a native query, since the salaries are converted from a DECIMAL column.
+ * A totals row is only created while holding a lock on the employer's row, so concurrent first adjustments of
+ * the same employer create it once: the others wait for the lock and then update the created row.
+ */
+public class PayrollAdjustmentRepositoryImpl implements PayrollAdjustmentRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void adjustPayroll(Long employerId, long employees, long salary) {
+        if (employerId == null || (employees == 0 && salary == 0)) {
+            return;
+        }
+        if (updatePayroll(employerId, employees, salary)) {
+            return;
+        }
+
+        entityManager.flush();
+        entityManager.createNativeQuery("SELECT ID FROM EMPLOYERS WHERE ID = :employerId FOR UPDATE")
+                .setParameter("employerId", employerId)
+                .getResultList();
+        if (updatePayroll(employerId, employees, salary)) {
+            return;
+        }
+        Object[] totals = (Object[]) entityManager.createNativeQuery("SELECT COUNT(*), " +
+                        "COALESCE(SUM(SALARY), 0) * 100 FROM EMPLOYEES WHERE EMPLOYER_ID = :employerId")
+                .setParameter("employerId", employerId)
+                .getSingleResult();
+        entityManager.persist(new EmployerPayroll(employerId, ((Number) totals[0]).longValue(),
+                ((Number) totals[1]).longValue()));
+        entityManager.flush();
+    }
+
+    /**
+     * Adds to the totals row of an employer, if it has one.
+     * @return true if the employer has a totals row, false otherwise.
+     */
+    private boolean updatePayroll(Long employerId, long employees, long salary) {
+        return entityManager.createQuery("UPDATE EmployerPayroll p " +
+                        "SET p.employeeCount = p.employeeCount + :employees, p.totalSalary = p.totalSalary + :salary " +
+                        "WHERE p.employerId = :employerId")
+                .setParameter("employees", employees)
+                .setParameter("salary", salary)
+                .setParameter("employerId", employerId)
+                .executeUpdate() > 0;
+    }
+}
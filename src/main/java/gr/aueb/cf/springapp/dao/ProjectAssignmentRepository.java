@@ -0,0 +1,45 @@
+package gr.aueb.cf.springapp.dao;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Set-based access to the project assignment join table, for assigning and releasing many employees at once
+ * without loading the employees, the projects or their collections.
+ */
+public interface ProjectAssignmentRepository {
+
+    /**
+     * Assigns the given employees to a project, skipping the ones that are already assigned.
+     * The join rows are inserted with JDBC batches.
+     * @return the ids of the employees that were newly assigned.
+     */
+    Set<Long> insertAssignments(Long projectId, Collection<Long> employeeIds);
+
+    /**
+     * Releases the given employees from a project with one DELETE; the join rows are locked and read first.
+     * Employees that are not assigned to the project are skipped.
+     * @return the ids of the employees that were released.
+     */
+    Set<Long> deleteAssignments(Long projectId, Collection<Long> employeeIds);
+
+    /**
+     * Releases all employees from a project with one DELETE, e.g. before the project is deleted.
+     * @return the number of employees that were released.
+     */
+    int deleteAllAssignments(Long projectId);
+
+    /**
+     * Reads the join rows of the projects of the given employers with one query and hands every
+     * (employee id, project id) pair to the handler, without creating an object per row.
+     */
+    void forEachAssignmentOfEmployers(Collection<Long> employerIds, AssignmentHandler handler);
+
+    /**
+     * Receives one row of the join table.
+     */
+    @FunctionalInterface
+    interface AssignmentHandler {
+        void handle(long employeeId, long projectId);
+    }
+}
@@ -0,0 +1,105 @@
+package gr.aueb.cf.springapp.dao;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JDBC implementation of {@link ProjectAssignmentRepository}, picked up by Spring Data as a fragment of
+ * {@link ProjectRepository}. It runs in the JPA transaction of the caller and works on the
+ * EMPLOYEES_PROJECTS join table, which is owned by Employee.projects. As Hibernate would for a change of that
+ * collection, the version and the time of the last change of the employees whose projects change are bumped.
+ */
+public class ProjectAssignmentRepositoryImpl implements ProjectAssignmentRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ProjectAssignmentRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Set<Long> insertAssignments(Long projectId, Collection<Long> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource("projectId", projectId)
+                .addValue("employeeIds", employeeIds);
+        Set<Long> existing = new HashSet<>(jdbcTemplate.queryForList("SELECT EMPLOYEE_ID FROM EMPLOYEES_PROJECTS " +
+                "WHERE PROJECT_ID = :projectId AND EMPLOYEE_ID IN (:employeeIds)", parameters, Long.class));
+
+        Set<Long> assigned = new LinkedHashSet<>();
+        List<MapSqlParameterSource> rows = new ArrayList<>();
+        for (Long employeeId : employeeIds) {
+            if (!existing.contains(employeeId) && assigned.add(employeeId)) {
+                rows.add(new MapSqlParameterSource("projectId", projectId).addValue("employeeId", employeeId));
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO EMPLOYEES_PROJECTS (EMPLOYEE_ID, PROJECT_ID) " +
+                    "VALUES (:employeeId, :projectId)", rows.toArray(new MapSqlParameterSource[0]));
+            touchEmployees("ID IN (:employeeIds)", new MapSqlParameterSource("employeeIds", assigned));
+        }
+        return assigned;
+    }
+
+    @Override
+    public Set<Long> deleteAssignments(Long projectId, Collection<Long> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource("projectId", projectId)
+                .addValue("employeeIds", employeeIds);
+        Set<Long> released = new LinkedHashSet<>(jdbcTemplate.queryForList("SELECT EMPLOYEE_ID " +
+                "FROM EMPLOYEES_PROJECTS WHERE PROJECT_ID = :projectId AND EMPLOYEE_ID IN (:employeeIds) " +
+                "ORDER BY EMPLOYEE_ID FOR UPDATE", parameters, Long.class));
+        if (released.isEmpty()) {
+            return released;
+        }
+        parameters.addValue("employeeIds", released);
+        touchEmployees("ID IN (:employeeIds)", parameters);
+        jdbcTemplate.update("DELETE FROM EMPLOYEES_PROJECTS " +
+                "WHERE PROJECT_ID = :projectId AND EMPLOYEE_ID IN (:employeeIds)", parameters);
+        return released;
+    }
+
+    @Override
+    public int deleteAllAssignments(Long projectId) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("projectId", projectId);
+        touchEmployees("ID IN (SELECT ep.EMPLOYEE_ID FROM EMPLOYEES_PROJECTS ep WHERE ep.PROJECT_ID = :projectId)",
+                parameters);
+        return jdbcTemplate.update("DELETE FROM EMPLOYEES_PROJECTS WHERE PROJECT_ID = :projectId", parameters);
+    }
+
+    /**
+     * Bumps the version and the time of the last change of the employees matching the condition.
+     */
+    private void touchEmployees(String condition, MapSqlParameterSource parameters) {
+        jdbcTemplate.update("UPDATE EMPLOYEES SET VERSION = VERSION + 1, LAST_MODIFIED = :now WHERE " + condition,
+                parameters.addValue("now", Timestamp.from(Instant.now())));
+    }
+
+    @Override
+    public void forEachAssignmentOfEmployers(Collection<Long> employerIds, AssignmentHandler handler) {
+        if (employerIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.query("SELECT ep.EMPLOYEE_ID, ep.PROJECT_ID FROM EMPLOYEES_PROJECTS ep " +
+                        "JOIN PROJECTS p ON p.ID = ep.PROJECT_ID WHERE p.EMPLOYER_ID IN (:employerIds)",
+                new MapSqlParameterSource("employerIds", employerIds),
+                resultSet -> {
+                    handler.handle(resultSet.getLong(1), resultSet.getLong(2));
+                });
+    }
+}
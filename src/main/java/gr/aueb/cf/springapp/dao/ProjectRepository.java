@@ -1,18 +1,215 @@
 package gr.aueb.cf.springapp.dao;
 
+import gr.aueb.cf.springapp.dto.LinkReadDTO;
+import gr.aueb.cf.springapp.dto.ProjectReadDTO;
+import gr.aueb.cf.springapp.dto.ProjectResourceDTO;
+import gr.aueb.cf.springapp.dto.ResourceVersionDTO;
 import gr.aueb.cf.springapp.entity.Employee;
 import gr.aueb.cf.springapp.entity.Project;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, Long> {
+public interface ProjectRepository extends JpaRepository<Project, Long>, ProjectAssignmentRepository {
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Project findProjectById(Long id);
+
+    @Query("SELECT new gr.aueb.cf.springapp.dto.ProjectReadDTO(p.id, p.name, p.description, p.startDate, " +
+            "p.endDate, p.status, er.id, er.name) FROM Project p JOIN p.employer er " +
+            "WHERE er.deleting = false ORDER BY p.id")
+    List<ProjectReadDTO> findAllViews();
+
+    /**
+     * All projects with their employer, read through a forward-only cursor for the export.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.ProjectReadDTO(p.id, p.name, p.description, p.startDate, " +
+            "p.endDate, p.status, er.id, er.name) FROM Project p JOIN p.employer er " +
+            "WHERE er.deleting = false ORDER BY p.id")
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    Stream<ProjectReadDTO> streamAllViews();
+
+    /**
+     * Employees of every project, read from the join table without loading any entity.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.LinkReadDTO(p.id, e.id, CONCAT(e.firstname, ' ', e.lastname)) " +
+            "FROM Project p JOIN p.employees e ORDER BY e.lastname, e.firstname")
+    List<LinkReadDTO> findAllEmployeeLinks();
+
+    /**
+     * Employees of the given projects, read from the join table without loading any entity.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.LinkReadDTO(p.id, e.id, CONCAT(e.firstname, ' ', e.lastname)) " +
+            "FROM Project p JOIN p.employees e WHERE p.id IN :projectIds ORDER BY e.lastname, e.firstname")
+    List<LinkReadDTO> findEmployeeLinksByProjectIdIn(@Param("projectIds") Collection<Long> projectIds);
+
+    /**
+     * Whether the project exists and its employer is not being deleted.
+     */
+    @Query("SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END FROM Project p JOIN p.employer er " +
+            "WHERE p.id = :id AND er.deleting = false")
+    boolean existsVisibleById(@Param("id") Long id);
+
+    /**
+     * A page of the employees of one project, in name order, read from the join table without loading any entity.
+     */
+    @Query(value = "SELECT new gr.aueb.cf.springapp.dto.LinkReadDTO(p.id, e.id, " +
+            "CONCAT(e.firstname, ' ', e.lastname)) FROM Project p JOIN p.employees e WHERE p.id = :projectId " +
+            "ORDER BY e.lastname, e.firstname, e.id",
+            countQuery = "SELECT COUNT(e) FROM Project p JOIN p.employees e WHERE p.id = :projectId")
+    Page<LinkReadDTO> findEmployeeLinksPage(@Param("projectId") Long projectId, Pageable pageable);
+
+    /**
+     * Number of employees of each of the given projects, as rows of (project id, headcount), counted on the join
+     * table alone; projects without employees are left out.
+     */
+    @Query(value = "SELECT ep.PROJECT_ID, COUNT(*) FROM EMPLOYEES_PROJECTS ep WHERE ep.PROJECT_ID IN (:projectIds) " +
+            "GROUP BY ep.PROJECT_ID", nativeQuery = true)
+    List<Object[]> countEmployeesByProjectIdIn(@Param("projectIds") Collection<Long> projectIds);
+
+    /**
+     * Ids of the employees assigned to a project, read from the join table.
+     */
+    @Query("SELECT e.id FROM Project p JOIN p.employees e WHERE p.id = :projectId")
+    List<Long> findEmployeeIdsByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Projects of the given employers, as references owned by the employer, ordered by name.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.LinkReadDTO(er.id, p.id, p.name) " +
+            "FROM Project p JOIN p.employer er WHERE er.id IN :employerIds ORDER BY p.name, p.id")
+    List<LinkReadDTO> findLinksByEmployerIdIn(@Param("employerIds") Collection<Long> employerIds);
+
+    /**
+     * Projects running on the given date, i.e. started on or before it and not ended before it.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.ProjectReadDTO(p.id, p.name, p.description, p.startDate, " +
+            "p.endDate, p.status, er.id, er.name) FROM Project p JOIN p.employer er " +
+            "WHERE er.deleting = false AND p.startDate <= :date AND p.endDate >= :date ORDER BY p.id")
+    List<ProjectReadDTO> findViewsActiveOn(@Param("date") LocalDate date);
+
+    /**
+     * Projects whose end date falls within the given range, soonest ending first.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.ProjectReadDTO(p.id, p.name, p.description, p.startDate, " +
+            "p.endDate, p.status, er.id, er.name) FROM Project p JOIN p.employer er " +
+            "WHERE er.deleting = false AND p.endDate BETWEEN :from AND :to ORDER BY p.endDate, p.id")
+    List<ProjectReadDTO> findViewsEndingBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Projects whose period shares at least one day with the given range.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.ProjectReadDTO(p.id, p.name, p.description, p.startDate, " +
+            "p.endDate, p.status, er.id, er.name) FROM Project p JOIN p.employer er " +
+            "WHERE er.deleting = false AND p.startDate <= :to AND p.endDate >= :from ORDER BY p.startDate, p.id")
+    List<ProjectReadDTO> findViewsOverlapping(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * The next chunk of projects in id order, right after the given id (null for the first chunk),
+     * for the list view rendered in chunks. The chunk size is taken from the pageable, its offset is always zero.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.ProjectReadDTO(p.id, p.name, p.description, p.startDate, " +
+            "p.endDate, p.status, er.id, er.name) FROM Project p JOIN p.employer er " +
+            "WHERE er.deleting = false AND (:afterId IS NULL OR p.id > :afterId) ORDER BY p.id")
+    List<ProjectReadDTO> findViewsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * The next chunk of {@link #findViewsActiveOn}, right after the given id (null for the first chunk).
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.ProjectReadDTO(p.id, p.name, p.description, p.startDate, " +
+            "p.endDate, p.status, er.id, er.name) FROM Project p JOIN p.employer er " +
+            "WHERE er.deleting = false AND p.startDate <= :date AND p.endDate >= :date " +
+            "AND (:afterId IS NULL OR p.id > :afterId) ORDER BY p.id")
+    List<ProjectReadDTO> findViewsActiveOnAfter(@Param("date") LocalDate date, @Param("afterId") Long afterId,
+                                                Pageable pageable);
+
+    /**
+     * The next chunk of {@link #findViewsEndingBetween}, right after the row (afterEndDate, afterId);
+     * both are null for the first chunk.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.ProjectReadDTO(p.id, p.name, p.description, p.startDate, " +
+            "p.endDate, p.status, er.id, er.name) FROM Project p JOIN p.employer er " +
+            "WHERE er.deleting = false AND p.endDate BETWEEN :from AND :to " +
+            "AND (:afterEndDate IS NULL OR p.endDate > :afterEndDate " +
+            "OR (p.endDate = :afterEndDate AND p.id > :afterId)) ORDER BY p.endDate, p.id")
+    List<ProjectReadDTO> findViewsEndingBetweenAfter(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                     @Param("afterEndDate") LocalDate afterEndDate,
+                                                     @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * The next chunk of {@link #findViewsOverlapping}, right after the row (afterStartDate, afterId);
+     * both are null for the first chunk.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.ProjectReadDTO(p.id, p.name, p.description, p.startDate, " +
+            "p.endDate, p.status, er.id, er.name) FROM Project p JOIN p.employer er " +
+            "WHERE er.deleting = false AND p.startDate <= :to AND p.endDate >= :from " +
+            "AND (:afterStartDate IS NULL OR p.startDate > :afterStartDate " +
+            "OR (p.startDate = :afterStartDate AND p.id > :afterId)) ORDER BY p.startDate, p.id")
+    List<ProjectReadDTO> findViewsOverlappingAfter(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                   @Param("afterStartDate") LocalDate afterStartDate,
+                                                   @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Payroll of the employees staffed on every project, as rows of (project id, project name, employee count,
+     * total salary in minor units); projects without employees are left out.
+     */
+    @Query(value = "SELECT p.ID, p.NAME, COUNT(*), COALESCE(SUM(e.SALARY), 0) * 100 FROM PROJECTS p " +
+            "JOIN EMPLOYEES_PROJECTS ep ON ep.PROJECT_ID = p.ID JOIN EMPLOYEES e ON e.ID = ep.EMPLOYEE_ID " +
+            "GROUP BY p.ID, p.NAME ORDER BY p.NAME, p.ID", nativeQuery = true)
+    List<Object[]> findPayrollByProject();
+
+    /**
+     * Median salary of the employees staffed on every project, as rows of (project id, median).
+     * See EmployeeRepository.findMedianSalaryByEmployer for how the median is computed.
+     */
+    @Query(value = "SELECT m.PROJECT_ID, AVG(m.SALARY) FROM (" +
+            "SELECT ep.PROJECT_ID, e.SALARY, " +
+            "ROW_NUMBER() OVER (PARTITION BY ep.PROJECT_ID ORDER BY e.SALARY) AS RN, " +
+            "COUNT(*) OVER (PARTITION BY ep.PROJECT_ID) AS CNT " +
+            "FROM EMPLOYEES_PROJECTS ep JOIN EMPLOYEES e ON e.ID = ep.EMPLOYEE_ID WHERE e.SALARY IS NOT NULL) m " +
+            "WHERE m.RN IN (FLOOR((m.CNT + 1) / 2), FLOOR((m.CNT + 2) / 2)) GROUP BY m.PROJECT_ID",
+            nativeQuery = true)
+    List<Object[]> findMedianSalaryByProject();
+
+    /**
+     * The next page of projects of the REST API in id order, right after the given id (null for the first page).
+     * The page size is taken from the pageable, its offset is always zero.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.ProjectResourceDTO(p.id, p.name, p.description, p.startDate, " +
+            "p.endDate, p.status, er.id, p.version, p.lastModified) FROM Project p JOIN p.employer er " +
+            "WHERE er.deleting = false AND (:afterId IS NULL OR p.id > :afterId) ORDER BY p.id")
+    List<ProjectResourceDTO> findResourcesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new gr.aueb.cf.springapp.dto.ProjectResourceDTO(p.id, p.name, p.description, p.startDate, " +
+            "p.endDate, p.status, er.id, p.version, p.lastModified) FROM Project p JOIN p.employer er " +
+            "WHERE p.id = :id AND er.deleting = false")
+    ProjectResourceDTO findResourceById(@Param("id") Long id);
+
+    /**
+     * Version of one project, or null if there is no such project.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.ResourceVersionDTO(p.version, p.lastModified) " +
+            "FROM Project p JOIN p.employer er WHERE p.id = :id AND er.deleting = false")
+    ResourceVersionDTO findVersionById(@Param("id") Long id);
+
+    /**
+     * Version of the project collection: the number of projects and the last change of any of them.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.ResourceVersionDTO(COUNT(p), MAX(p.lastModified)) " +
+            "FROM Project p JOIN p.employer er WHERE er.deleting = false")
+    ResourceVersionDTO findCollectionVersion();
 }
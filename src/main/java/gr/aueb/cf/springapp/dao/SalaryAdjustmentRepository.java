@@ -0,0 +1,32 @@
+package gr.aueb.cf.springapp.dao;
+
+import gr.aueb.cf.springapp.dto.SalaryAdjustmentReadDTO;
+import gr.aueb.cf.springapp.entity.SalaryAdjustment;
+import gr.aueb.cf.springapp.enums.AdjustmentStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SalaryAdjustmentRepository extends JpaRepository<SalaryAdjustment, Long>, SalaryChunkRepository {
+
+    /**
+     * All bulk salary adjustments with their progress, newest first.
+     */
+    @Query("SELECT new gr.aueb.cf.springapp.dto.SalaryAdjustmentReadDTO(a.id, a.employerId, a.jobTitle, " +
+            "a.projectId, a.percentage, a.amount, a.status, a.employeesTotal, a.employeesAdjusted, a.totalChange, " +
+            "a.createdAt, a.finishedAt, a.errorMessage) FROM SalaryAdjustment a ORDER BY a.id DESC")
+    List<SalaryAdjustmentReadDTO> findAllViews();
+
+    @Query("SELECT new gr.aueb.cf.springapp.dto.SalaryAdjustmentReadDTO(a.id, a.employerId, a.jobTitle, " +
+            "a.projectId, a.percentage, a.amount, a.status, a.employeesTotal, a.employeesAdjusted, a.totalChange, " +
+            "a.createdAt, a.finishedAt, a.errorMessage) FROM SalaryAdjustment a WHERE a.id = :id")
+    SalaryAdjustmentReadDTO findViewById(@Param("id") Long id);
+
+    @Query("SELECT a.id FROM SalaryAdjustment a WHERE a.status IN :statuses ORDER BY a.id")
+    List<Long> findIdsByStatusIn(@Param("statuses") Collection<AdjustmentStatus> statuses);
+}
@@ -0,0 +1,44 @@
+package gr.aueb.cf.springapp.dao;
+
+import gr.aueb.cf.springapp.entity.SalaryAdjustment;
+
+import java.util.Map;
+
+/**
+ * Set-based access to the salaries of the employees matched by a bulk salary adjustment, one chunk of
+ * consecutive employee ids at a time, without loading any employee entity.
+ */
+public interface SalaryChunkRepository {
+
+    /**
+     * Counts the employees with a salary matched by the filters of the adjustment.
+     */
+    long countEmployees(SalaryAdjustment adjustment);
+
+    /**
+     * Reads and locks the next chunk of matched employees with a salary, in ascending id order,
+     * into the given arrays; the chunk size is the length of the arrays.
+     * @param afterId the checkpoint: only employees with a greater id are read.
+     * @param ids receives the ids of the employees.
+     * @param salaries receives the salaries of the employees in minor units.
+     * @return the number of employees read, zero when the adjustment is done.
+     */
+    int lockChunk(SalaryAdjustment adjustment, long afterId, long[] ids, long[] salaries);
+
+    /**
+     * Writes the audit rows of a chunk with JDBC batches.
+     */
+    void insertAudits(Long adjustmentId, long[] ids, long[] oldSalaries, long[] newSalaries, int count);
+
+    /**
+     * Copies the new salaries audited for the employees with ids in (fromId, toId] to EMPLOYEES with one UPDATE.
+     * @return the number of employees updated.
+     */
+    int applyAudits(Long adjustmentId, long fromId, long toId);
+
+    /**
+     * Sums the audited salary changes of the employees with ids in (fromId, toId] per employer.
+     * @return the change of the total salary in minor units by employer id.
+     */
+    Map<Long, Long> findPayrollChanges(Long adjustmentId, long fromId, long toId);
+}
@@ -0,0 +1,113 @@
+package gr.aueb.cf.springapp.dao;
+
+import gr.aueb.cf.springapp.entity.SalaryAdjustment;
+import gr.aueb.cf.springapp.service.util.MoneyUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link SalaryChunkRepository}, picked up by Spring Data as a fragment of
+ * {@link SalaryAdjustmentRepository}. It runs in the JPA transaction of the caller, one transaction per chunk,
+ * so only the rows of the current chunk are locked, and only for as long as the chunk takes.
+ * Nothing goes through Hibernate, so no second-level cache region is invalidated; the version and the time
+ * of the last change of the employees whose salary is updated are bumped like Hibernate would.
+ */
+public class SalaryChunkRepositoryImpl implements SalaryChunkRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public SalaryChunkRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public long countEmployees(SalaryAdjustment adjustment) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM EMPLOYEES e WHERE e.SALARY IS NOT NULL"
+                + filters(adjustment, parameters), parameters, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public int lockChunk(SalaryAdjustment adjustment, long afterId, long[] ids, long[] salaries) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("afterId", afterId)
+                .addValue("limit", ids.length);
+        int[] count = {0};
+        jdbcTemplate.query("SELECT e.ID, e.SALARY FROM EMPLOYEES e WHERE e.ID > :afterId AND e.SALARY IS NOT NULL"
+                        + filters(adjustment, parameters) + " ORDER BY e.ID LIMIT :limit FOR UPDATE", parameters,
+                resultSet -> {
+                    ids[count[0]] = resultSet.getLong(1);
+                    salaries[count[0]] = MoneyUtil.toMinorUnits(resultSet.getBigDecimal(2));
+                    count[0]++;
+                });
+        return count[0];
+    }
+
+    @Override
+    public void insertAudits(Long adjustmentId, long[] ids, long[] oldSalaries, long[] newSalaries, int count) {
+        MapSqlParameterSource[] rows = new MapSqlParameterSource[count];
+        for (int i = 0; i < count; i++) {
+            rows[i] = new MapSqlParameterSource("adjustmentId", adjustmentId)
+                    .addValue("employeeId", ids[i])
+                    .addValue("oldSalary", MoneyUtil.toAmount(oldSalaries[i]))
+                    .addValue("newSalary", MoneyUtil.toAmount(newSalaries[i]));
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO SALARY_ADJUSTMENT_AUDITS (ADJUSTMENT_ID, EMPLOYEE_ID, OLD_SALARY, " +
+                "NEW_SALARY) VALUES (:adjustmentId, :employeeId, :oldSalary, :newSalary)", rows);
+    }
+
+    @Override
+    public int applyAudits(Long adjustmentId, long fromId, long toId) {
+        return jdbcTemplate.update("UPDATE EMPLOYEES e SET SALARY = (SELECT a.NEW_SALARY " +
+                        "FROM SALARY_ADJUSTMENT_AUDITS a WHERE a.ADJUSTMENT_ID = :adjustmentId AND a.EMPLOYEE_ID = e.ID), " +
+                        "VERSION = VERSION + 1, LAST_MODIFIED = :now " +
+                        "WHERE e.ID > :fromId AND e.ID <= :toId AND EXISTS (SELECT 1 FROM SALARY_ADJUSTMENT_AUDITS a " +
+                        "WHERE a.ADJUSTMENT_ID = :adjustmentId AND a.EMPLOYEE_ID = e.ID)",
+                new MapSqlParameterSource("adjustmentId", adjustmentId).addValue("fromId", fromId)
+                        .addValue("toId", toId).addValue("now", Timestamp.from(Instant.now())));
+    }
+
+    @Override
+    public Map<Long, Long> findPayrollChanges(Long adjustmentId, long fromId, long toId) {
+        Map<Long, Long> changes = new HashMap<>();
+        jdbcTemplate.query("SELECT e.EMPLOYER_ID, SUM(a.NEW_SALARY - a.OLD_SALARY) " +
+                        "FROM SALARY_ADJUSTMENT_AUDITS a JOIN EMPLOYEES e ON e.ID = a.EMPLOYEE_ID " +
+                        "WHERE a.ADJUSTMENT_ID = :adjustmentId AND a.EMPLOYEE_ID > :fromId AND a.EMPLOYEE_ID <= :toId " +
+                        "AND e.EMPLOYER_ID IS NOT NULL GROUP BY e.EMPLOYER_ID",
+                new MapSqlParameterSource("adjustmentId", adjustmentId).addValue("fromId", fromId)
+                        .addValue("toId", toId),
+                resultSet -> {
+                    changes.put(resultSet.getLong(1), MoneyUtil.toMinorUnits(resultSet.getBigDecimal(2)));
+                });
+        return changes;
+    }
+
+    /**
+     * Builds the WHERE conditions of the employer, job title and project filters of an adjustment
+     * and adds their parameters.
+     */
+    private String filters(SalaryAdjustment adjustment, MapSqlParameterSource parameters) {
+        StringBuilder conditions = new StringBuilder();
+        if (adjustment.getEmployerId() != null) {
+            conditions.append(" AND e.EMPLOYER_ID = :employerId");
+            parameters.addValue("employerId", adjustment.getEmployerId());
+        }
+        if (adjustment.getJobTitle() != null) {
+            conditions.append(" AND e.JOBTITLE = :jobTitle");
+            parameters.addValue("jobTitle", adjustment.getJobTitle());
+        }
+        if (adjustment.getProjectId() != null) {
+            conditions.append(" AND e.ID IN (SELECT ep.EMPLOYEE_ID FROM EMPLOYEES_PROJECTS ep " +
+                    "WHERE ep.PROJECT_ID = :projectId)");
+            parameters.addValue("projectId", adjustment.getProjectId());
+        }
+        return conditions.toString();
+    }
+}
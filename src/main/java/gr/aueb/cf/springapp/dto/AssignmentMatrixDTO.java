@@ -0,0 +1,143 @@
+package gr.aueb.cf.springapp.dto;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read model of the assignments of one employer: its projects are the columns, its employees the rows,
+ * and every row keeps the columns of the projects the employee is assigned to in a BitSet.
+ * It is filled from flat rows (employees, projects and the pairs of the join table), so the view only reads
+ * plain ids, names and booleans, and rendering it never loads an entity.
+ */
+public class AssignmentMatrixDTO {
+
+    private final Long employerId;
+
+    private final String employerName;
+
+    private final List<LinkReadDTO> projects = new ArrayList<>();
+
+    private final Map<Long, Integer> columnsByProjectId = new HashMap<>();
+
+    private final List<Row> rows = new ArrayList<>();
+
+    private final Map<Long, Row> rowsByEmployeeId = new HashMap<>();
+
+    public AssignmentMatrixDTO(Long employerId, String employerName) {
+        this.employerId = employerId;
+        this.employerName = employerName;
+    }
+
+    /**
+     * Adds a project as the next column.
+     */
+    public void addProject(LinkReadDTO project) {
+        columnsByProjectId.put(project.getId(), projects.size());
+        projects.add(project);
+    }
+
+    /**
+     * Adds an employee as the next row, with no project assigned yet.
+     */
+    public void addEmployee(Long employeeId, String firstname, String lastname) {
+        Row row = new Row(employeeId, firstname, lastname);
+        rows.add(row);
+        rowsByEmployeeId.put(employeeId, row);
+    }
+
+    /**
+     * Marks a pair of the join table; pairs of employees or projects not in the matrix are ignored.
+     * @return true if the pair was marked.
+     */
+    public boolean markAssigned(long employeeId, long projectId) {
+        Row row = rowsByEmployeeId.get(employeeId);
+        Integer column = columnsByProjectId.get(projectId);
+        if (row == null || column == null) {
+            return false;
+        }
+        row.assigned.set(column);
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "AssignmentMatrixDTO{" +
+                "employerId=" + employerId +
+                ", projects=" + projects.size() +
+                ", employees=" + rows.size() +
+                '}';
+    }
+
+    public Long getEmployerId() {
+        return employerId;
+    }
+
+    public String getEmployerName() {
+        return employerName;
+    }
+
+    public List<LinkReadDTO> getProjects() {
+        return Collections.unmodifiableList(projects);
+    }
+
+    public List<Row> getRows() {
+        return Collections.unmodifiableList(rows);
+    }
+
+    /**
+     * One employee of the employer and the columns of the projects assigned to him.
+     */
+    public class Row {
+
+        private final Long id;
+
+        private final String firstname;
+
+        private final String lastname;
+
+        private final BitSet assigned = new BitSet();
+
+        private Row(Long id, String firstname, String lastname) {
+            this.id = id;
+            this.firstname = firstname;
+            this.lastname = lastname;
+        }
+
+        public boolean isAssigned(int column) {
+            return assigned.get(column);
+        }
+
+        public List<LinkReadDTO> getAssignedProjects() {
+            List<LinkReadDTO> assignedProjects = new ArrayList<>(assigned.cardinality());
+            for (int column = assigned.nextSetBit(0); column >= 0; column = assigned.nextSetBit(column + 1)) {
+                assignedProjects.add(projects.get(column));
+            }
+            return assignedProjects;
+        }
+
+        public List<LinkReadDTO> getUnassignedProjects() {
+            List<LinkReadDTO> unassignedProjects = new ArrayList<>(projects.size() - assigned.cardinality());
+            for (int column = assigned.nextClearBit(0); column < projects.size();
+                 column = assigned.nextClearBit(column + 1)) {
+                unassignedProjects.add(projects.get(column));
+            }
+            return unassignedProjects;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getFirstname() {
+            return firstname;
+        }
+
+        public String getLastname() {
+            return lastname;
+        }
+    }
+}
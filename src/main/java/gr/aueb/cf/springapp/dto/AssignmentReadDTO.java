@@ -0,0 +1,54 @@
+package gr.aueb.cf.springapp.dto;
+
+/**
+ * Read-only row of the EMPLOYEES_PROJECTS assignment table, with the names of the employee and the project.
+ * It is loaded directly by a JPQL constructor expression from the join table.
+ */
+public class AssignmentReadDTO {
+
+    private final Long employeeId;
+
+    private final String firstname;
+
+    private final String lastname;
+
+    private final Long projectId;
+
+    private final String projectName;
+
+    public AssignmentReadDTO(Long employeeId, String firstname, String lastname, Long projectId, String projectName) {
+        this.employeeId = employeeId;
+        this.firstname = firstname;
+        this.lastname = lastname;
+        this.projectId = projectId;
+        this.projectName = projectName;
+    }
+
+    @Override
+    public String toString() {
+        return "AssignmentReadDTO{" +
+                "employeeId=" + employeeId +
+                ", projectId=" + projectId +
+                '}';
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public String getFirstname() {
+        return firstname;
+    }
+
+    public String getLastname() {
+        return lastname;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+}
@@ -0,0 +1,36 @@
+package gr.aueb.cf.springapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+/**
+ * Row of the EMPLOYEES_PROJECTS assignment table as served by the REST API.
+ * It is loaded directly by a JPQL constructor expression from the join table.
+ */
+@JsonFilter(ResourcePageDTO.FIELDS_FILTER)
+public class AssignmentResourceDTO {
+
+    private final Long employeeId;
+
+    private final Long projectId;
+
+    public AssignmentResourceDTO(Long employeeId, Long projectId) {
+        this.employeeId = employeeId;
+        this.projectId = projectId;
+    }
+
+    @Override
+    public String toString() {
+        return "AssignmentResourceDTO{" +
+                "employeeId=" + employeeId +
+                ", projectId=" + projectId +
+                '}';
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+}
@@ -0,0 +1,56 @@
+package gr.aueb.cf.springapp.dto;
+
+/**
+ * Outcome of assigning or releasing many employees of a project at once.
+ */
+public class BulkAssignmentResultDTO {
+
+    private final Long projectId;
+
+    private final String projectName;
+
+    private final int requested;
+
+    private final int changed;
+
+    public BulkAssignmentResultDTO(Long projectId, String projectName, int requested, int changed) {
+        this.projectId = projectId;
+        this.projectName = projectName;
+        this.requested = requested;
+        this.changed = changed;
+    }
+
+    /**
+     * Returns the number of requested employees that were already in the requested state,
+     * i.e. already assigned or not assigned at all.
+     * @return the number of unchanged employees.
+     */
+    public int getUnchanged() {
+        return requested - changed;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkAssignmentResultDTO{" +
+                "projectId=" + projectId +
+                ", requested=" + requested +
+                ", changed=" + changed +
+                '}';
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public int getChanged() {
+        return changed;
+    }
+}
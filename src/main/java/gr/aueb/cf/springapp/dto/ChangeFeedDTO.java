@@ -0,0 +1,45 @@
+package gr.aueb.cf.springapp.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One read of the change feed: the changes after the cursor of the request, the cursor to read from next time
+ * (the sequence number of the last change, or the same cursor if there was none) and whether more changes
+ * are already waiting.
+ */
+public class ChangeFeedDTO {
+
+    private final List<ChangeReadDTO> changes;
+
+    private final long next;
+
+    private final boolean more;
+
+    public ChangeFeedDTO(List<ChangeReadDTO> changes, long next, boolean more) {
+        this.changes = changes;
+        this.next = next;
+        this.more = more;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeFeedDTO{" +
+                "changes=" + changes.size() +
+                ", next=" + next +
+                ", more=" + more +
+                '}';
+    }
+
+    public List<ChangeReadDTO> getChanges() {
+        return Collections.unmodifiableList(changes);
+    }
+
+    public long getNext() {
+        return next;
+    }
+
+    public boolean isMore() {
+        return more;
+    }
+}
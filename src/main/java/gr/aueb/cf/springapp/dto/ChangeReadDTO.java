@@ -0,0 +1,61 @@
+package gr.aueb.cf.springapp.dto;
+
+import gr.aueb.cf.springapp.enums.ChangeType;
+import gr.aueb.cf.springapp.enums.ResourceType;
+
+import java.time.Instant;
+
+/**
+ * One entry of the change feed. It is loaded directly by a JPQL constructor expression.
+ */
+public class ChangeReadDTO {
+
+    private final long seq;
+
+    private final ResourceType resourceType;
+
+    private final Long resourceId;
+
+    private final ChangeType changeType;
+
+    private final Instant changedAt;
+
+    public ChangeReadDTO(Long seq, ResourceType resourceType, Long resourceId, ChangeType changeType,
+                         Instant changedAt) {
+        this.seq = seq;
+        this.resourceType = resourceType;
+        this.resourceId = resourceId;
+        this.changeType = changeType;
+        this.changedAt = changedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeReadDTO{" +
+                "seq=" + seq +
+                ", resourceType=" + resourceType +
+                ", resourceId=" + resourceId +
+                ", changeType=" + changeType +
+                '}';
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public ResourceType getResourceType() {
+        return resourceType;
+    }
+
+    public Long getResourceId() {
+        return resourceId;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+}
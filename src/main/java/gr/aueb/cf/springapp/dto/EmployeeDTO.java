@@ -4,10 +4,12 @@ import gr.aueb.cf.springapp.entity.Employer;
 import gr.aueb.cf.springapp.entity.Project;
 import org.springframework.validation.annotation.Validated;
 
-import javax.validation.constraints.Min;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Digits;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
-import java.util.List;
+import java.math.BigDecimal;
+import java.util.Set;
 
 
 public class EmployeeDTO {
@@ -26,16 +28,17 @@ public class EmployeeDTO {
     @Size(min = 5, message = "Job Title cannot be less than five characters")
     private String jobTitle;
     @NotNull(message = "Field is required")
-    @Min(value = 0, message = "Field must be a positive number")
-    private Double salary;
+    @DecimalMin(value = "0", message = "Field must be a positive number")
+    @Digits(integer = 13, fraction = 2, message = "Field must be an amount with at most two decimals")
+    private BigDecimal salary;
     private Employer employer;
 
-    private List<Project> projects;
+    private Set<Project> projects;
 
     public EmployeeDTO() {
     }
 
-    public EmployeeDTO(Long id, String firstname, String lastname, String jobTitle, Double salary, Employer employer, List<Project> projects) {
+    public EmployeeDTO(Long id, String firstname, String lastname, String jobTitle, BigDecimal salary, Employer employer, Set<Project> projects) {
         this.id = id;
         this.firstname = firstname;
         this.lastname = lastname;
@@ -84,11 +87,11 @@ public class EmployeeDTO {
         this.jobTitle = jobTitle;
     }
 
-    public Double getSalary() {
+    public BigDecimal getSalary() {
         return salary;
     }
 
-    public void setSalary(Double salary) {
+    public void setSalary(BigDecimal salary) {
         this.salary = salary;
     }
 
@@ -100,11 +103,11 @@ public class EmployeeDTO {
         this.employer = employer;
     }
 
-    public List<Project> getProjects() {
+    public Set<Project> getProjects() {
         return projects;
     }
 
-    public void setProjects(List<Project> projects) {
+    public void setProjects(Set<Project> projects) {
         this.projects = projects;
     }
 }
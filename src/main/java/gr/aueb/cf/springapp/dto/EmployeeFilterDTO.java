@@ -0,0 +1,122 @@
+package gr.aueb.cf.springapp.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Carries the paging cursor and the optional filters of the employees list page.
+ * The cursor has the form "lastname,id" and points to the last row of the previous page.
+ * With "all" set, every matching employee after the cursor is shown, read in chunks of the maximum page size.
+ */
+public class EmployeeFilterDTO {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private String after;
+
+    private Integer size;
+
+    private String jobTitle;
+
+    private Long employerId;
+
+    private BigDecimal minSalary;
+
+    private BigDecimal maxSalary;
+
+    private boolean all;
+
+    public EmployeeFilterDTO() {
+    }
+
+    public EmployeeFilterDTO(String after, Integer size, String jobTitle, Long employerId,
+                             BigDecimal minSalary, BigDecimal maxSalary) {
+        this.after = after;
+        this.size = size;
+        this.jobTitle = jobTitle;
+        this.employerId = employerId;
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+    }
+
+    /**
+     * Returns the requested page size, falling back to the default size
+     * and never exceeding the maximum page size.
+     * @return the page size to use.
+     */
+    public int getPageSize() {
+        if (size == null || size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeFilterDTO{" +
+                "after='" + after + '\'' +
+                ", size=" + size +
+                ", jobTitle='" + jobTitle + '\'' +
+                ", employerId=" + employerId +
+                ", minSalary=" + minSalary +
+                ", maxSalary=" + maxSalary +
+                ", all=" + all +
+                '}';
+    }
+
+    public String getAfter() {
+        return after;
+    }
+
+    public void setAfter(String after) {
+        this.after = after;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    public void setJobTitle(String jobTitle) {
+        this.jobTitle = jobTitle;
+    }
+
+    public Long getEmployerId() {
+        return employerId;
+    }
+
+    public void setEmployerId(Long employerId) {
+        this.employerId = employerId;
+    }
+
+    public BigDecimal getMinSalary() {
+        return minSalary;
+    }
+
+    public void setMinSalary(BigDecimal minSalary) {
+        this.minSalary = minSalary;
+    }
+
+    public BigDecimal getMaxSalary() {
+        return maxSalary;
+    }
+
+    public void setMaxSalary(BigDecimal maxSalary) {
+        this.maxSalary = maxSalary;
+    }
+
+    public boolean isAll() {
+        return all;
+    }
+
+    public void setAll(boolean all) {
+        this.all = all;
+    }
+}
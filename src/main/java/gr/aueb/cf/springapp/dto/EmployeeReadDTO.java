@@ -0,0 +1,91 @@
+package gr.aueb.cf.springapp.dto;
+
+import gr.aueb.cf.springapp.service.util.MoneyUtil;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Flat, read-only row of the employee list views.
+ * It is loaded directly by a JPQL constructor expression, so no managed entity
+ * (and no lazy association) ever reaches the template layer.
+ * The salary is loaded in minor units (cents), like the entity holds it, and exposed as an amount.
+ */
+public class EmployeeReadDTO {
+
+    private final Long id;
+
+    private final String firstname;
+
+    private final String lastname;
+
+    private final String jobTitle;
+
+    private final Long salary;
+
+    private final Long employerId;
+
+    private final String employerName;
+
+    private final List<LinkReadDTO> projects = new ArrayList<>();
+
+    public EmployeeReadDTO(Long id, String firstname, String lastname, String jobTitle, Long salary,
+                           Long employerId, String employerName) {
+        this.id = id;
+        this.firstname = firstname;
+        this.lastname = lastname;
+        this.jobTitle = jobTitle;
+        this.salary = salary;
+        this.employerId = employerId;
+        this.employerName = employerName;
+    }
+
+    /**
+     * Adds a project to the employee's row.
+     * @param project The project to be added.
+     */
+    public void addProject(LinkReadDTO project) {
+        this.projects.add(project);
+    }
+
+    @Override
+    public String toString() {
+        return "Employee with  " +
+                ", firstname: '" + firstname + '\'' +
+                ", lastname: '" + lastname + '\'';
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFirstname() {
+        return firstname;
+    }
+
+    public String getLastname() {
+        return lastname;
+    }
+
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    public BigDecimal getSalary() {
+        return MoneyUtil.toAmount(salary);
+    }
+
+    public Long getEmployerId() {
+        return employerId;
+    }
+
+    public String getEmployerName() {
+        return employerName;
+    }
+
+    public List<LinkReadDTO> getProjects() {
+        return Collections.unmodifiableList(projects);
+    }
+}
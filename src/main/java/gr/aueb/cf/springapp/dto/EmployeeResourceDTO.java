@@ -0,0 +1,100 @@
+package gr.aueb.cf.springapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import gr.aueb.cf.springapp.service.util.MoneyUtil;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Employee as served by the REST API, with the ids of his employer and of his projects.
+ * It is loaded directly by a JPQL constructor expression; the project ids are added from the join table.
+ */
+@JsonFilter(ResourcePageDTO.FIELDS_FILTER)
+public class EmployeeResourceDTO {
+
+    private final Long id;
+
+    private final String firstname;
+
+    private final String lastname;
+
+    private final String jobTitle;
+
+    private final BigDecimal salary;
+
+    private final Long employerId;
+
+    private final List<Long> projectIds = new ArrayList<>();
+
+    private final long version;
+
+    private final Instant lastModified;
+
+    public EmployeeResourceDTO(Long id, String firstname, String lastname, String jobTitle, Long salary,
+                               Long employerId, Long version, Instant lastModified) {
+        this.id = id;
+        this.firstname = firstname;
+        this.lastname = lastname;
+        this.jobTitle = jobTitle;
+        this.salary = MoneyUtil.toAmount(salary);
+        this.employerId = employerId;
+        this.version = version == null ? 0 : version;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Adds a project of the employee.
+     * @param projectId The id of the project.
+     */
+    public void addProjectId(Long projectId) {
+        projectIds.add(projectId);
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeResourceDTO{" +
+                "id=" + id +
+                ", version=" + version +
+                '}';
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFirstname() {
+        return firstname;
+    }
+
+    public String getLastname() {
+        return lastname;
+    }
+
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    public BigDecimal getSalary() {
+        return salary;
+    }
+
+    public Long getEmployerId() {
+        return employerId;
+    }
+
+    public List<Long> getProjectIds() {
+        return Collections.unmodifiableList(projectIds);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,142 @@
+package gr.aueb.cf.springapp.dto;
+
+import gr.aueb.cf.springapp.enums.DeletionStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat, read-only row of an employer deletion and its progress.
+ * It is loaded directly by a JPQL constructor expression.
+ */
+public class EmployerDeletionReadDTO {
+
+    private final Long id;
+
+    private final Long employerId;
+
+    private final String employerName;
+
+    private final DeletionStatus status;
+
+    private final boolean cancelRequested;
+
+    private final long employeesTotal;
+
+    private final long employeesDetached;
+
+    private final long projectsTotal;
+
+    private final long projectsDeleted;
+
+    private final long assignmentsRemoved;
+
+    private final LocalDateTime createdAt;
+
+    private final LocalDateTime finishedAt;
+
+    private final String errorMessage;
+
+    public EmployerDeletionReadDTO(Long id, Long employerId, String employerName, DeletionStatus status,
+                                   Boolean cancelRequested, Long employeesTotal, Long employeesDetached,
+                                   Long projectsTotal, Long projectsDeleted, Long assignmentsRemoved,
+                                   LocalDateTime createdAt, LocalDateTime finishedAt, String errorMessage) {
+        this.id = id;
+        this.employerId = employerId;
+        this.employerName = employerName;
+        this.status = status;
+        this.cancelRequested = Boolean.TRUE.equals(cancelRequested);
+        this.employeesTotal = employeesTotal == null ? 0 : employeesTotal;
+        this.employeesDetached = employeesDetached == null ? 0 : employeesDetached;
+        this.projectsTotal = projectsTotal == null ? 0 : projectsTotal;
+        this.projectsDeleted = projectsDeleted == null ? 0 : projectsDeleted;
+        this.assignmentsRemoved = assignmentsRemoved == null ? 0 : assignmentsRemoved;
+        this.createdAt = createdAt;
+        this.finishedAt = finishedAt;
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * @return the detached employees and deleted projects as a percentage of those the employer had
+     * when the deletion started.
+     */
+    public int getProgress() {
+        if (status == DeletionStatus.COMPLETED) {
+            return 100;
+        }
+        long total = employeesTotal + projectsTotal;
+        if (total == 0) {
+            return 0;
+        }
+        return (int) Math.min(100, (employeesDetached + projectsDeleted) * 100 / total);
+    }
+
+    /**
+     * @return true while the deletion can still be cancelled.
+     */
+    public boolean isCancellable() {
+        return !cancelRequested && (status == DeletionStatus.PENDING || status == DeletionStatus.RUNNING);
+    }
+
+    @Override
+    public String toString() {
+        return "EmployerDeletionReadDTO{" +
+                "id=" + id +
+                ", employerId=" + employerId +
+                ", status=" + status +
+                ", employeesDetached=" + employeesDetached +
+                ", projectsDeleted=" + projectsDeleted +
+                '}';
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getEmployerId() {
+        return employerId;
+    }
+
+    public String getEmployerName() {
+        return employerName;
+    }
+
+    public DeletionStatus getStatus() {
+        return status;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public long getEmployeesTotal() {
+        return employeesTotal;
+    }
+
+    public long getEmployeesDetached() {
+        return employeesDetached;
+    }
+
+    public long getProjectsTotal() {
+        return projectsTotal;
+    }
+
+    public long getProjectsDeleted() {
+        return projectsDeleted;
+    }
+
+    public long getAssignmentsRemoved() {
+        return assignmentsRemoved;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+}
@@ -0,0 +1,60 @@
+package gr.aueb.cf.springapp.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Flat, read-only row of the employer list views.
+ * It is loaded directly by a JPQL constructor expression, so no managed entity
+ * (and no lazy association) ever reaches the template layer.
+ */
+public class EmployerReadDTO {
+
+    private final Long id;
+
+    private final String name;
+
+    private final String address;
+
+    private final List<EmployeeReadDTO> employees = new ArrayList<>();
+
+    public EmployerReadDTO(Long id, String name, String address) {
+        this.id = id;
+        this.name = name;
+        this.address = address;
+    }
+
+    /**
+     * Adds an employee to the employer's row.
+     * @param employee The employee to be added.
+     */
+    public void addEmployee(EmployeeReadDTO employee) {
+        this.employees.add(employee);
+    }
+
+    @Override
+    public String toString() {
+        return "EmployerReadDTO{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", address='" + address + '\'' +
+                '}';
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public List<EmployeeReadDTO> getEmployees() {
+        return Collections.unmodifiableList(employees);
+    }
+}
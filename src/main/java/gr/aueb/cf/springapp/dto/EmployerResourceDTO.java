@@ -0,0 +1,58 @@
+package gr.aueb.cf.springapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+import java.time.Instant;
+
+/**
+ * Employer as served by the REST API. It is loaded directly by a JPQL constructor expression.
+ */
+@JsonFilter(ResourcePageDTO.FIELDS_FILTER)
+public class EmployerResourceDTO {
+
+    private final Long id;
+
+    private final String name;
+
+    private final String address;
+
+    private final long version;
+
+    private final Instant lastModified;
+
+    public EmployerResourceDTO(Long id, String name, String address, Long version, Instant lastModified) {
+        this.id = id;
+        this.name = name;
+        this.address = address;
+        this.version = version == null ? 0 : version;
+        this.lastModified = lastModified;
+    }
+
+    @Override
+    public String toString() {
+        return "EmployerResourceDTO{" +
+                "id=" + id +
+                ", version=" + version +
+                '}';
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,82 @@
+package gr.aueb.cf.springapp.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Summary of a bulk import: how many rows were read, imported and rejected,
+ * and the errors of the rejected rows. Only the first MAX_ERRORS errors are kept,
+ * so that the report stays small whatever the size of the file.
+ */
+public class ImportResultDTO {
+
+    public static final int MAX_ERRORS = 200;
+
+    private long rowsRead;
+
+    private long imported;
+
+    private long rejected;
+
+    private final List<ImportRowErrorDTO> errors = new ArrayList<>();
+
+    public ImportResultDTO() {
+    }
+
+    /**
+     * Records a row that was read from the file.
+     */
+    public void rowRead() {
+        rowsRead++;
+    }
+
+    /**
+     * Records rows that were written to the database.
+     * @param count the number of rows written.
+     */
+    public void imported(long count) {
+        imported += count;
+    }
+
+    /**
+     * Records a rejected row and keeps its error if there is still room in the report.
+     * @param row the number of the row in the file.
+     * @param message the reason of the rejection.
+     */
+    public void rejected(long row, String message) {
+        rejected++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new ImportRowErrorDTO(row, message));
+        }
+    }
+
+    public boolean isErrorsTruncated() {
+        return rejected > errors.size();
+    }
+
+    @Override
+    public String toString() {
+        return "ImportResultDTO{" +
+                "rowsRead=" + rowsRead +
+                ", imported=" + imported +
+                ", rejected=" + rejected +
+                '}';
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public List<ImportRowErrorDTO> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+}
@@ -0,0 +1,29 @@
+package gr.aueb.cf.springapp.dto;
+
+/**
+ * Describes why one row of an import file was rejected.
+ */
+public class ImportRowErrorDTO {
+
+    private final long row;
+
+    private final String message;
+
+    public ImportRowErrorDTO(long row, String message) {
+        this.row = row;
+        this.message = message;
+    }
+
+    @Override
+    public String toString() {
+        return "Row " + row + ": " + message;
+    }
+
+    public long getRow() {
+        return row;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,42 @@
+package gr.aueb.cf.springapp.dto;
+
+/**
+ * Read-only reference from a row of a list view to an associated entity,
+ * e.g. one project of an employee or one employee of a project.
+ * It is loaded directly by a JPQL constructor expression from the join table.
+ */
+public class LinkReadDTO {
+
+    private final Long ownerId;
+
+    private final Long id;
+
+    private final String name;
+
+    public LinkReadDTO(Long ownerId, Long id, String name) {
+        this.ownerId = ownerId;
+        this.id = id;
+        this.name = name;
+    }
+
+    @Override
+    public String toString() {
+        return "LinkReadDTO{" +
+                "ownerId=" + ownerId +
+                ", id=" + id +
+                ", name='" + name + '\'' +
+                '}';
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
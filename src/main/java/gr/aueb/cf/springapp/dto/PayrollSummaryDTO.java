@@ -0,0 +1,82 @@
+package gr.aueb.cf.springapp.dto;
+
+import gr.aueb.cf.springapp.service.util.MoneyUtil;
+import gr.aueb.cf.springapp.service.util.PayrollCalculator;
+
+import java.math.BigDecimal;
+
+/**
+ * Flat, read-only row of the payroll reports: the payroll of the employees of one employer,
+ * job title or project. The employer rows are loaded directly by a JPQL constructor expression;
+ * the median is computed by a separate query and set afterwards.
+ * The amounts are kept in minor units (cents) and exposed as amounts with two decimal places.
+ */
+public class PayrollSummaryDTO {
+
+    private final Long id;
+
+    private final String name;
+
+    private final long employeeCount;
+
+    private final long totalSalary;
+
+    private final Long averageSalary;
+
+    private Long medianSalary;
+
+    /**
+     * Row with the count and total computed by the database; the average is derived from them.
+     */
+    public PayrollSummaryDTO(Long id, String name, Long employeeCount, Long totalSalary) {
+        this.id = id;
+        this.name = name;
+        this.employeeCount = employeeCount == null ? 0 : employeeCount;
+        this.totalSalary = totalSalary == null ? 0 : totalSalary;
+        this.averageSalary = this.employeeCount == 0 ? null
+                : PayrollCalculator.divideHalfEven(this.totalSalary, this.employeeCount);
+    }
+
+    @Override
+    public String toString() {
+        return "PayrollSummaryDTO{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", employeeCount=" + employeeCount +
+                ", totalSalary=" + getTotalSalary() +
+                ", averageSalary=" + getAverageSalary() +
+                ", medianSalary=" + getMedianSalary() +
+                '}';
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public BigDecimal getTotalSalary() {
+        return MoneyUtil.toAmount(totalSalary);
+    }
+
+    public BigDecimal getAverageSalary() {
+        return MoneyUtil.toAmount(averageSalary);
+    }
+
+    public BigDecimal getMedianSalary() {
+        return MoneyUtil.toAmount(medianSalary);
+    }
+
+    /**
+     * @param medianSalary the median salary in minor units (cents), may be null.
+     */
+    public void setMedianSalary(Long medianSalary) {
+        this.medianSalary = medianSalary;
+    }
+}
@@ -5,7 +5,7 @@ import gr.aueb.cf.springapp.entity.Employer;
 import gr.aueb.cf.springapp.enums.Status;
 
 import javax.validation.constraints.NotNull;
-import java.util.List;
+import java.util.Set;
 
 public class ProjectDTO {
     private Long id;
@@ -26,13 +26,13 @@ public class ProjectDTO {
     @NotNull
     private Employer employer;
 
-    private List<Employee> employeeList;
+    private Set<Employee> employeeList;
 
     public ProjectDTO() {
     }
 
     public ProjectDTO(Long id, String name, String description, String startDate,
-                      String endDate, Status status, Employer employer, List<Employee> employeeList) {
+                      String endDate, Status status, Employer employer, Set<Employee> employeeList) {
         this.id = id;
         this.name = name;
         this.description = description;
@@ -112,11 +112,11 @@ public class ProjectDTO {
         this.employer = employer;
     }
 
-    public List<Employee> getEmployeeList() {
+    public Set<Employee> getEmployeeList() {
         return employeeList;
     }
 
-    public void setEmployeeList(List<Employee> employeeList) {
+    public void setEmployeeList(Set<Employee> employeeList) {
         this.employeeList = employeeList;
     }
 }
@@ -0,0 +1,69 @@
+package gr.aueb.cf.springapp.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Carries the optional date filters of the projects list page.
+ * Only one filter is applied, in this order: active on a date, ending within a number of days,
+ * overlapping a date range.
+ */
+public class ProjectFilterDTO {
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate activeOn;
+
+    private Integer endingWithinDays;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate overlapFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate overlapTo;
+
+    public ProjectFilterDTO() {
+    }
+
+    @Override
+    public String toString() {
+        return "ProjectFilterDTO{" +
+                "activeOn=" + activeOn +
+                ", endingWithinDays=" + endingWithinDays +
+                ", overlapFrom=" + overlapFrom +
+                ", overlapTo=" + overlapTo +
+                '}';
+    }
+
+    public LocalDate getActiveOn() {
+        return activeOn;
+    }
+
+    public void setActiveOn(LocalDate activeOn) {
+        this.activeOn = activeOn;
+    }
+
+    public Integer getEndingWithinDays() {
+        return endingWithinDays;
+    }
+
+    public void setEndingWithinDays(Integer endingWithinDays) {
+        this.endingWithinDays = endingWithinDays;
+    }
+
+    public LocalDate getOverlapFrom() {
+        return overlapFrom;
+    }
+
+    public void setOverlapFrom(LocalDate overlapFrom) {
+        this.overlapFrom = overlapFrom;
+    }
+
+    public LocalDate getOverlapTo() {
+        return overlapTo;
+    }
+
+    public void setOverlapTo(LocalDate overlapTo) {
+        this.overlapTo = overlapTo;
+    }
+}
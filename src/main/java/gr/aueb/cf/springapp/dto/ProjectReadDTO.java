@@ -0,0 +1,118 @@
+package gr.aueb.cf.springapp.dto;
+
+import gr.aueb.cf.springapp.enums.Status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Flat, read-only row of the project list view.
+ * It is loaded directly by a JPQL constructor expression, so no managed entity
+ * (and no lazy association) ever reaches the template layer.
+ */
+public class ProjectReadDTO {
+
+    private final Long id;
+
+    private final String name;
+
+    private final String description;
+
+    private final LocalDate startDate;
+
+    private final LocalDate endDate;
+
+    private final Status status;
+
+    private final Long employerId;
+
+    private final String employerName;
+
+    private final List<LinkReadDTO> employees = new ArrayList<>();
+
+    private long employeeCount;
+
+    public ProjectReadDTO(Long id, String name, String description, LocalDate startDate, LocalDate endDate,
+                          Status status, Long employerId, String employerName) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.status = status;
+        this.employerId = employerId;
+        this.employerName = employerName;
+    }
+
+    /**
+     * Adds an employee to the project's row.
+     * @param employee The employee to be added.
+     */
+    public void addEmployee(LinkReadDTO employee) {
+        this.employees.add(employee);
+    }
+
+    /**
+     * Sets the number of employees assigned to the project, for the list view that shows
+     * only the headcount and loads the employees on demand.
+     * @param employeeCount The number of employees assigned.
+     */
+    public void setEmployeeCount(long employeeCount) {
+        this.employeeCount = employeeCount;
+    }
+
+    @Override
+    public String toString() {
+        return "ProjectReadDTO{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", description='" + description + '\'' +
+                ", startDate=" + startDate +
+                ", endDate=" + endDate +
+                ", status='" + status + '\'' +
+                ", employer=" + employerName +
+                '}';
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getEmployerId() {
+        return employerId;
+    }
+
+    public String getEmployerName() {
+        return employerName;
+    }
+
+    public List<LinkReadDTO> getEmployees() {
+        return Collections.unmodifiableList(employees);
+    }
+
+    public long getEmployeeCount() {
+        return employeeCount;
+    }
+}
@@ -0,0 +1,90 @@
+package gr.aueb.cf.springapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import gr.aueb.cf.springapp.enums.Status;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Project as served by the REST API, with the id of its employer; its employees are served as assignments.
+ * It is loaded directly by a JPQL constructor expression.
+ */
+@JsonFilter(ResourcePageDTO.FIELDS_FILTER)
+public class ProjectResourceDTO {
+
+    private final Long id;
+
+    private final String name;
+
+    private final String description;
+
+    private final LocalDate startDate;
+
+    private final LocalDate endDate;
+
+    private final Status status;
+
+    private final Long employerId;
+
+    private final long version;
+
+    private final Instant lastModified;
+
+    public ProjectResourceDTO(Long id, String name, String description, LocalDate startDate, LocalDate endDate,
+                              Status status, Long employerId, Long version, Instant lastModified) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.status = status;
+        this.employerId = employerId;
+        this.version = version == null ? 0 : version;
+        this.lastModified = lastModified;
+    }
+
+    @Override
+    public String toString() {
+        return "ProjectResourceDTO{" +
+                "id=" + id +
+                ", version=" + version +
+                '}';
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getEmployerId() {
+        return employerId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,43 @@
+package gr.aueb.cf.springapp.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a REST API collection, keyset paginated: the cursor of the next page points to the last item
+ * of this page, and is null on the last page.
+ *
+ * @param <T> the type of the items.
+ */
+public class ResourcePageDTO<T> {
+
+    /**
+     * Name of the Jackson filter of the items, which keeps only the fields requested with the "fields" parameter.
+     */
+    public static final String FIELDS_FILTER = "fields";
+
+    private final List<T> items;
+
+    private final String next;
+
+    public ResourcePageDTO(List<T> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    @Override
+    public String toString() {
+        return "ResourcePageDTO{" +
+                "items=" + items.size() +
+                ", next='" + next + '\'' +
+                '}';
+    }
+
+    public List<T> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    public String getNext() {
+        return next;
+    }
+}
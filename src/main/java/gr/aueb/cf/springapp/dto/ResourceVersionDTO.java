@@ -0,0 +1,51 @@
+package gr.aueb.cf.springapp.dto;
+
+import java.time.Instant;
+
+/**
+ * Version of a REST API resource, read without reading the resource itself: the version of one entity, or the
+ * number of rows of a collection, with the time of the last change. It makes the ETag and Last-Modified headers,
+ * so that a conditional GET of an unchanged resource is answered after this lookup alone.
+ * It is loaded directly by a JPQL constructor expression.
+ */
+public class ResourceVersionDTO {
+
+    private final long version;
+
+    private final Instant lastModified;
+
+    public ResourceVersionDTO(Long version, Instant lastModified) {
+        this.version = version == null ? 0 : version;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * @return the strong ETag of the resource, quoted.
+     */
+    public String getETag() {
+        return "\"" + version + "-" + (lastModified == null ? 0 : lastModified.toEpochMilli()) + "\"";
+    }
+
+    /**
+     * @return the time of the last change in milliseconds, or -1 if unknown (e.g. an empty collection).
+     */
+    public long getLastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.toEpochMilli();
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceVersionDTO{" +
+                "version=" + version +
+                ", lastModified=" + lastModified +
+                '}';
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+}
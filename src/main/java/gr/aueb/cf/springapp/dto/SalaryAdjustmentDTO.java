@@ -0,0 +1,83 @@
+package gr.aueb.cf.springapp.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Carries the form of a new bulk salary adjustment: either a percentage (e.g. 3.5 for a 3.5% raise)
+ * or an absolute amount, both possibly negative, and the optional employer, job title and project filters.
+ */
+public class SalaryAdjustmentDTO {
+
+    private Long employerId;
+
+    private String jobTitle;
+
+    private Long projectId;
+
+    private BigDecimal percentage;
+
+    private BigDecimal amount;
+
+    public SalaryAdjustmentDTO() {
+    }
+
+    public SalaryAdjustmentDTO(Long employerId, String jobTitle, Long projectId, BigDecimal percentage,
+                               BigDecimal amount) {
+        this.employerId = employerId;
+        this.jobTitle = jobTitle;
+        this.projectId = projectId;
+        this.percentage = percentage;
+        this.amount = amount;
+    }
+
+    @Override
+    public String toString() {
+        return "SalaryAdjustmentDTO{" +
+                "employerId=" + employerId +
+                ", jobTitle='" + jobTitle + '\'' +
+                ", projectId=" + projectId +
+                ", percentage=" + percentage +
+                ", amount=" + amount +
+                '}';
+    }
+
+    public Long getEmployerId() {
+        return employerId;
+    }
+
+    public void setEmployerId(Long employerId) {
+        this.employerId = employerId;
+    }
+
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    public void setJobTitle(String jobTitle) {
+        this.jobTitle = jobTitle;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public BigDecimal getPercentage() {
+        return percentage;
+    }
+
+    public void setPercentage(BigDecimal percentage) {
+        this.percentage = percentage;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+}
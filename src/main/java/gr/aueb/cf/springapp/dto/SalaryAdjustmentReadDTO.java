@@ -0,0 +1,135 @@
+package gr.aueb.cf.springapp.dto;
+
+import gr.aueb.cf.springapp.enums.AdjustmentStatus;
+import gr.aueb.cf.springapp.service.util.MoneyUtil;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat, read-only row of a bulk salary adjustment and its progress.
+ * It is loaded directly by a JPQL constructor expression; percentages arrive in basis points
+ * and amounts in minor units, and are exposed as a percentage and as amounts.
+ */
+public class SalaryAdjustmentReadDTO {
+
+    private final Long id;
+
+    private final Long employerId;
+
+    private final String jobTitle;
+
+    private final Long projectId;
+
+    private final Long percentage;
+
+    private final Long amount;
+
+    private final AdjustmentStatus status;
+
+    private final long employeesTotal;
+
+    private final long employeesAdjusted;
+
+    private final Long totalChange;
+
+    private final LocalDateTime createdAt;
+
+    private final LocalDateTime finishedAt;
+
+    private final String errorMessage;
+
+    public SalaryAdjustmentReadDTO(Long id, Long employerId, String jobTitle, Long projectId, Long percentage,
+                                   Long amount, AdjustmentStatus status, Long employeesTotal,
+                                   Long employeesAdjusted, Long totalChange, LocalDateTime createdAt,
+                                   LocalDateTime finishedAt, String errorMessage) {
+        this.id = id;
+        this.employerId = employerId;
+        this.jobTitle = jobTitle;
+        this.projectId = projectId;
+        this.percentage = percentage;
+        this.amount = amount;
+        this.status = status;
+        this.employeesTotal = employeesTotal == null ? 0 : employeesTotal;
+        this.employeesAdjusted = employeesAdjusted == null ? 0 : employeesAdjusted;
+        this.totalChange = totalChange;
+        this.createdAt = createdAt;
+        this.finishedAt = finishedAt;
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * @return the adjusted employees as a percentage of the employees matched when the adjustment started.
+     */
+    public int getProgress() {
+        if (status == AdjustmentStatus.COMPLETED) {
+            return 100;
+        }
+        if (employeesTotal == 0) {
+            return 0;
+        }
+        return (int) Math.min(100, employeesAdjusted * 100 / employeesTotal);
+    }
+
+    @Override
+    public String toString() {
+        return "SalaryAdjustmentReadDTO{" +
+                "id=" + id +
+                ", status=" + status +
+                ", employeesAdjusted=" + employeesAdjusted +
+                ", employeesTotal=" + employeesTotal +
+                '}';
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getEmployerId() {
+        return employerId;
+    }
+
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public BigDecimal getPercentage() {
+        return percentage == null ? null : BigDecimal.valueOf(percentage, 2);
+    }
+
+    public BigDecimal getAmount() {
+        return MoneyUtil.toAmount(amount);
+    }
+
+    public AdjustmentStatus getStatus() {
+        return status;
+    }
+
+    public long getEmployeesTotal() {
+        return employeesTotal;
+    }
+
+    public long getEmployeesAdjusted() {
+        return employeesAdjusted;
+    }
+
+    public BigDecimal getTotalChange() {
+        return MoneyUtil.toAmount(totalChange);
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+}
@@ -0,0 +1,75 @@
+package gr.aueb.cf.springapp.entity;
+
+import gr.aueb.cf.springapp.enums.ChangeType;
+import gr.aueb.cf.springapp.enums.ResourceType;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.Instant;
+
+/**
+ * One change of an employee, employer or project, recorded in the transaction of the change itself (an outbox),
+ * so that downstream systems can sync the changes since their last read instead of the whole dataset.
+ * The sequence numbers are handed out by {@link ChangeLogSequence} in commit order, so a consumer that has read
+ * up to a sequence number never misses a change committed later with a lower one.
+ * The rows are written with JDBC, see the ChangeLogRepository; the entity only lets Hibernate create the table.
+ */
+@Entity
+@Table(name = "CHANGE_LOG")
+public class ChangeLogEntry {
+
+    @Id
+    @Column(name = "SEQ")
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "RESOURCE_TYPE", nullable = false, length = 16)
+    private ResourceType resourceType;
+
+    @Column(name = "RESOURCE_ID", nullable = false)
+    private Long resourceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "CHANGE_TYPE", nullable = false, length = 16)
+    private ChangeType changeType;
+
+    @Column(name = "CHANGED_AT", nullable = false)
+    private Instant changedAt;
+
+    public ChangeLogEntry() {
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeLogEntry{" +
+                "seq=" + seq +
+                ", resourceType=" + resourceType +
+                ", resourceId=" + resourceId +
+                ", changeType=" + changeType +
+                '}';
+    }
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public ResourceType getResourceType() {
+        return resourceType;
+    }
+
+    public Long getResourceId() {
+        return resourceId;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+}
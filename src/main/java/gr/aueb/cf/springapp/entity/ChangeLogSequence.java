@@ -0,0 +1,43 @@
+package gr.aueb.cf.springapp.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * The single row holding the next sequence number of the change log.
+ * A transaction takes its numbers by updating the row as its last statement, and keeps it locked until it
+ * commits, so the numbers are committed in increasing order; the row is created by db/migration/change-log.sql.
+ */
+@Entity
+@Table(name = "CHANGE_LOG_SEQUENCE")
+public class ChangeLogSequence {
+
+    public static final int ID = 1;
+
+    @Id
+    @Column(name = "ID")
+    private Integer id;
+
+    @Column(name = "NEXT_SEQ", nullable = false)
+    private long nextSeq;
+
+    public ChangeLogSequence() {
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeLogSequence{" +
+                "nextSeq=" + nextSeq +
+                '}';
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public long getNextSeq() {
+        return nextSeq;
+    }
+}
@@ -1,17 +1,39 @@
 package gr.aueb.cf.springapp.entity;
 
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import javax.persistence.*;
-import java.util.ArrayList;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.List;
-import java.util.Objects;
-
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Employees are identified by their database id only: equals and hashCode never touch the employer or the
+ * projects, so membership checks in the project sets are O(1) and never load a lazy association.
+ * An employee should be persisted (have an id) before it is added to a set.
+ * The salary is kept in minor units (cents) over a DECIMAL column, see {@link MoneyConverter}.
+ * The version and the time of the last change are kept up to date by Hibernate, and by the bulk statements
+ * that change employees or their projects without it; they make the ETags of the REST API.
+ */
 @Entity
-@Table(name="EMPLOYEES")
+@Table(name="EMPLOYEES", indexes = {
+		@Index(name = "IDX_EMPLOYEES_LASTNAME_ID", columnList = "LASTNAME, ID"),
+		@Index(name = "IDX_EMPLOYEES_JOBTITLE", columnList = "JOBTITLE"),
+		@Index(name = "IDX_EMPLOYEES_LAST_MODIFIED", columnList = "LAST_MODIFIED")})
 public class Employee {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+	@GenericGenerator(name = "employees_seq", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+			parameters = {
+					@Parameter(name = "sequence_name", value = "EMPLOYEES_SEQ"),
+					@Parameter(name = "increment_size", value = "50"),
+					@Parameter(name = "optimizer", value = "pooled-lo")})
 	@Column(name = "ID")
 	private Long id;
 
@@ -24,8 +46,9 @@ public class Employee {
 	@Column(name = "JOBTITLE")
 	private String jobTitle;
 
-	@Column(name = "SALARY")
-	private Double salary;
+	@Convert(converter = MoneyConverter.class)
+	@Column(name = "SALARY", precision = 15, scale = 2)
+	private Long salary;
 
 	@ManyToOne(cascade = CascadeType.PERSIST)
 	@JoinColumn(name = "EMPLOYER_ID", referencedColumnName = "ID")
@@ -34,54 +57,53 @@ public class Employee {
 	@ManyToMany(fetch = FetchType.LAZY)
 	@JoinTable(name = "EMPLOYEES_PROJECTS", joinColumns = @JoinColumn(name = "EMPLOYEE_ID", referencedColumnName = "ID"),
 			inverseJoinColumns = @JoinColumn(name = "PROJECT_ID", referencedColumnName = "ID"),
-			uniqueConstraints = @UniqueConstraint(columnNames = {"EMPLOYEE_ID", "PROJECT_ID"}))
-	private List<Project> projects = new ArrayList<>();
+			uniqueConstraints = @UniqueConstraint(columnNames = {"EMPLOYEE_ID", "PROJECT_ID"}),
+			indexes = @Index(name = "IDX_EMPLOYEES_PROJECTS_PROJECT_ID", columnList = "PROJECT_ID, EMPLOYEE_ID"))
+	private Set<Project> projects = new HashSet<>();
+
+	@Version
+	@Column(name = "VERSION")
+	private Long version;
+
+	@UpdateTimestamp
+	@Column(name = "LAST_MODIFIED")
+	private Instant lastModified;
 
 	public Employee(Long id, String firstname, String lastname, String jobTitle,
-					Double salary, Employer employer,
-					List<Project> projects) {
+					Long salary, Employer employer,
+					Collection<Project> projects) {
 		this.id = id;
 		this.firstname = firstname;
 		this.lastname = lastname;
 		this.jobTitle = jobTitle;
 		this.salary = salary;
 		this.employer = employer;
-		this.projects = projects;
+		this.projects = projects == null ? new HashSet<>() : new HashSet<>(projects);
 	}
 
 	public Employee() {
 	}
 
 	/**
-	 * Adds a project to the employee's list of projects.
-	 * Also ensures that the employee is added to the project's list of employees.
+	 * Adds a project to the employee's set of projects.
+	 * Also ensures that the employee is added to the project's set of employees.
 	 * @param project The project to be added.
 	 */
 	public void addProject(Project project) {
-		this.projects.add(project);
-		for (Employee employee : project.getEmployees()) {
-			if (employee == this) {
-				return;
-			}
+		if (this.projects.add(project)) {
+			project.getEmployees().add(this);
 		}
-		project.addEmployee(this);
 	}
 
 	/**
-	 * Deletes a project from the employee's list of projects.
-	 * Also ensures that the employee is removed from the project's list of employees.
+	 * Deletes a project from the employee's set of projects.
+	 * Also ensures that the employee is removed from the project's set of employees.
 	 * @param project The project to be deleted.
 	 */
 	public void deleteProject(Project project) {
-		boolean found = false;
-		this.projects.remove(project);
-		for (Employee employee : project.getEmployees()) {
-			if (employee == this) {
-				found = true;
-				break;
-			}
+		if (this.projects.remove(project)) {
+			project.getEmployees().remove(this);
 		}
-		if (found) project.deleteEmployee(this);
 	}
 
 	/**
@@ -103,6 +125,25 @@ public class Employee {
 		}
 	}
 
+	/**
+	 * Removes the employee from the other side of its associations before it is deleted, but only where
+	 * Hibernate has already loaded that side: the employee sets of its projects and the employees of its employer.
+	 * Nothing is fetched; the join rows are deleted with the employee, by one statement on EMPLOYEE_ID.
+	 */
+	public void releaseLoadedAssociations() {
+		if (Hibernate.isInitialized(projects)) {
+			for (Project project : projects) {
+				if (Hibernate.isInitialized(project) && Hibernate.isInitialized(project.getEmployees())) {
+					project.getEmployees().remove(this);
+				}
+			}
+		}
+		if (employer != null && Hibernate.isInitialized(employer)
+				&& Hibernate.isInitialized(employer.getEmployees())) {
+			employer.getEmployees().remove(this);
+		}
+	}
+
 
 	public Long getId() {
 		return id;
@@ -112,6 +153,14 @@ public class Employee {
 		this.id = id;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public Instant getLastModified() {
+		return lastModified;
+	}
+
 	public String getFirstname() {
 		return firstname;
 	}
@@ -136,11 +185,14 @@ public class Employee {
 		this.jobTitle = jobTitle;
 	}
 
-	public Double getSalary() {
+	/**
+	 * @return the salary in minor units (cents).
+	 */
+	public Long getSalary() {
 		return salary;
 	}
 
-	public void setSalary(Double salary) {
+	public void setSalary(Long salary) {
 		this.salary = salary;
 	}
 
@@ -152,46 +204,36 @@ public class Employee {
 		this.employer = employer;
 	}
 
-	public List<Project> getAllProjects() {
-		List<Project> projectList = getProjects();
-		if (projectList == null) {
-			return Collections.emptyList();
+	public Set<Project> getAllProjects() {
+		Set<Project> projectSet = getProjects();
+		if (projectSet == null) {
+			return Collections.emptySet();
 		}
-		return Collections.unmodifiableList(getProjects());
+		return Collections.unmodifiableSet(getProjects());
 	}
-	protected List<Project> getProjects() {
+	protected Set<Project> getProjects() {
 		return projects;
 	}
-	protected void setProjects(List<Project> projects) {
+	protected void setProjects(Set<Project> projects) {
 		this.projects = projects;
 	}
 
+	/**
+	 * Two employees are equal if they have the same id; an employee without an id is only equal to itself.
+	 * The id is read through the getter, so that Hibernate proxies compare equal to their target.
+	 */
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
-		if (o == null || getClass() != o.getClass()) return false;
+		if (!(o instanceof Employee)) return false;
 
 		Employee employee = (Employee) o;
-
-		if (!id.equals(employee.id)) return false;
-		if (!firstname.equals(employee.firstname)) return false;
-		if (!lastname.equals(employee.lastname)) return false;
-		if (!jobTitle.equals(employee.jobTitle)) return false;
-		if (!salary.equals(employee.salary)) return false;
-		if (!Objects.equals(employer, employee.employer)) return false;
-		return Objects.equals(projects, employee.projects);
+		return getId() != null && getId().equals(employee.getId());
 	}
 
 	@Override
 	public int hashCode() {
-		int result = id.hashCode();
-		result = 31 * result + firstname.hashCode();
-		result = 31 * result + lastname.hashCode();
-		result = 31 * result + jobTitle.hashCode();
-		result = 31 * result + salary.hashCode();
-		result = 31 * result + (employer != null ? employer.hashCode() : 0);
-		result = 31 * result + (projects != null ? projects.hashCode() : 0);
-		return result;
+		return getId() != null ? getId().hashCode() : System.identityHashCode(this);
 	}
 
 	@Override
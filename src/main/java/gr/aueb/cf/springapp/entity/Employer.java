@@ -1,14 +1,20 @@
 package gr.aueb.cf.springapp.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import javax.persistence.*;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 
 
 @Entity
-@Table(name = "EMPLOYERS")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "EMPLOYERS", indexes = @Index(name = "IDX_EMPLOYERS_LAST_MODIFIED", columnList = "LAST_MODIFIED"))
 public class Employer {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
@@ -21,9 +27,27 @@ public class Employer {
     @Column(name = "ADDRESS")
     private String address;
 
+    /**
+     * Set while the employer is being deleted in the background; such an employer is left out of all reads.
+     */
+    @Column(name = "DELETING", nullable = false)
+    private boolean deleting;
+
+    /**
+     * Kept up to date by Hibernate with the time of the last change; with the version they make the ETags
+     * of the REST API.
+     */
+    @Version
+    @Column(name = "VERSION")
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "LAST_MODIFIED")
+    private Instant lastModified;
+
     @OneToMany( mappedBy = "employer")
     private List<Employee> employees = new ArrayList<>();
-    @OneToMany(mappedBy = "employer",orphanRemoval = true,fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "employer",orphanRemoval = true,fetch = FetchType.LAZY)
     private List<Project> projects = new ArrayList<>();
 
     public Employer() {
@@ -82,6 +106,14 @@ public class Employer {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
     public String getName() {
         return name;
     }
@@ -98,6 +130,14 @@ public class Employer {
         this.address = address;
     }
 
+    public boolean isDeleting() {
+        return deleting;
+    }
+
+    public void setDeleting(boolean deleting) {
+        this.deleting = deleting;
+    }
+
     protected List<Employee> getEmployees() {
         return employees;
     }
@@ -130,28 +170,22 @@ public class Employer {
     }
 
 
+    /**
+     * Two employers are equal if they have the same id; an employer without an id is only equal to itself.
+     * The id is read through the getter, so that Hibernate proxies compare equal to their target.
+     */
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof Employer)) return false;
 
         Employer employer = (Employer) o;
-
-        if (!id.equals(employer.id)) return false;
-        if (!name.equals(employer.name)) return false;
-        if (!address.equals(employer.address)) return false;
-        if (!Objects.equals(employees, employer.employees)) return false;
-        return Objects.equals(projects, employer.projects);
+        return getId() != null && getId().equals(employer.getId());
     }
 
     @Override
     public int hashCode() {
-        int result = id.hashCode();
-        result = 31 * result + name.hashCode();
-        result = 31 * result + address.hashCode();
-        result = 31 * result + (employees != null ? employees.hashCode() : 0);
-        result = 31 * result + (projects != null ? projects.hashCode() : 0);
-        return result;
+        return getId() != null ? getId().hashCode() : System.identityHashCode(this);
     }
 
     @Override
@@ -0,0 +1,199 @@
+package gr.aueb.cf.springapp.entity;
+
+import gr.aueb.cf.springapp.enums.DeletionStatus;
+import org.hibernate.annotations.DynamicUpdate;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * A background deletion of an employer: its employees are detached from it and from its projects,
+ * then its projects are deleted, one chunk per transaction, and finally the employer itself.
+ * Every chunk removes rows that still belong to the employer, so an interrupted deletion needs no checkpoint
+ * and simply resumes with what is left. A cancellation is honoured between two chunks. The cancellation request
+ * is set by a targeted UPDATE ({@code EmployerDeletionRepository.requestCancel}) and is never written back by the
+ * entity, so a chunk that loaded the row before the request and records its progress after it cannot clear it.
+ */
+@Entity
+@DynamicUpdate
+@Table(name = "EMPLOYER_DELETIONS")
+public class EmployerDeletion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "EMPLOYER_ID", nullable = false)
+    private Long employerId;
+
+    @Column(name = "EMPLOYER_NAME")
+    private String employerName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", nullable = false)
+    private DeletionStatus status = DeletionStatus.PENDING;
+
+    @Column(name = "CANCEL_REQUESTED", nullable = false, updatable = false)
+    private boolean cancelRequested;
+
+    @Column(name = "EMPLOYEES_TOTAL", nullable = false)
+    private long employeesTotal;
+
+    @Column(name = "EMPLOYEES_DETACHED", nullable = false)
+    private long employeesDetached;
+
+    @Column(name = "PROJECTS_TOTAL", nullable = false)
+    private long projectsTotal;
+
+    @Column(name = "PROJECTS_DELETED", nullable = false)
+    private long projectsDeleted;
+
+    @Column(name = "ASSIGNMENTS_REMOVED", nullable = false)
+    private long assignmentsRemoved;
+
+    @Column(name = "CREATED_AT", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "FINISHED_AT")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "ERROR_MESSAGE", length = 1000)
+    private String errorMessage;
+
+    public EmployerDeletion() {
+    }
+
+    /**
+     * Records a committed chunk of detached employees.
+     * @param employees the number of employees detached.
+     * @param assignments the number of their project assignments removed.
+     */
+    public void recordEmployees(long employees, long assignments) {
+        this.employeesDetached += employees;
+        this.assignmentsRemoved += assignments;
+    }
+
+    /**
+     * Records a committed chunk of deleted projects.
+     * @param projects the number of projects deleted.
+     * @param assignments the number of their remaining assignments removed.
+     */
+    public void recordProjects(long projects, long assignments) {
+        this.projectsDeleted += projects;
+        this.assignmentsRemoved += assignments;
+    }
+
+    /**
+     * @return true while the deletion may still run, i.e. it is pending, running or failed.
+     */
+    public boolean isUnfinished() {
+        return status != DeletionStatus.COMPLETED && status != DeletionStatus.CANCELLED;
+    }
+
+    @Override
+    public String toString() {
+        return "EmployerDeletion{" +
+                "id=" + id +
+                ", employerId=" + employerId +
+                ", status=" + status +
+                ", employeesDetached=" + employeesDetached +
+                ", projectsDeleted=" + projectsDeleted +
+                '}';
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getEmployerId() {
+        return employerId;
+    }
+
+    public void setEmployerId(Long employerId) {
+        this.employerId = employerId;
+    }
+
+    public String getEmployerName() {
+        return employerName;
+    }
+
+    public void setEmployerName(String employerName) {
+        this.employerName = employerName;
+    }
+
+    public DeletionStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(DeletionStatus status) {
+        this.status = status;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public long getEmployeesTotal() {
+        return employeesTotal;
+    }
+
+    public void setEmployeesTotal(long employeesTotal) {
+        this.employeesTotal = employeesTotal;
+    }
+
+    public long getEmployeesDetached() {
+        return employeesDetached;
+    }
+
+    public long getProjectsTotal() {
+        return projectsTotal;
+    }
+
+    public void setProjectsTotal(long projectsTotal) {
+        this.projectsTotal = projectsTotal;
+    }
+
+    public long getProjectsDeleted() {
+        return projectsDeleted;
+    }
+
+    public long getAssignmentsRemoved() {
+        return assignmentsRemoved;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
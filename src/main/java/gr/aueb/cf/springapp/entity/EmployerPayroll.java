@@ -0,0 +1,72 @@
+package gr.aueb.cf.springapp.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Running payroll totals of one employer: the number of its employees and the sum of their salaries,
+ * in minor units (cents) so that adding up salary changes never accumulates rounding errors.
+ * The row is adjusted in the same transaction as every change to an employee's salary or employer,
+ * so the payroll dashboard reads one row per employer instead of scanning the employees.
+ */
+@Entity
+@Table(name = "EMPLOYER_PAYROLLS")
+public class EmployerPayroll {
+
+    @Id
+    @Column(name = "EMPLOYER_ID")
+    private Long employerId;
+
+    @Column(name = "EMPLOYEE_COUNT", nullable = false)
+    private long employeeCount;
+
+    @Column(name = "TOTAL_SALARY_CENTS", nullable = false)
+    private long totalSalary;
+
+    public EmployerPayroll() {
+    }
+
+    public EmployerPayroll(Long employerId, long employeeCount, long totalSalary) {
+        this.employerId = employerId;
+        this.employeeCount = employeeCount;
+        this.totalSalary = totalSalary;
+    }
+
+    @Override
+    public String toString() {
+        return "EmployerPayroll{" +
+                "employerId=" + employerId +
+                ", employeeCount=" + employeeCount +
+                ", totalSalary=" + totalSalary +
+                '}';
+    }
+
+    public Long getEmployerId() {
+        return employerId;
+    }
+
+    public void setEmployerId(Long employerId) {
+        this.employerId = employerId;
+    }
+
+    public long getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public void setEmployeeCount(long employeeCount) {
+        this.employeeCount = employeeCount;
+    }
+
+    /**
+     * @return the sum of the salaries in minor units (cents).
+     */
+    public long getTotalSalary() {
+        return totalSalary;
+    }
+
+    public void setTotalSalary(long totalSalary) {
+        this.totalSalary = totalSalary;
+    }
+}
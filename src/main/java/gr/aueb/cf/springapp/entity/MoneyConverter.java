@@ -0,0 +1,26 @@
+package gr.aueb.cf.springapp.entity;
+
+import gr.aueb.cf.springapp.service.util.MoneyUtil;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.math.BigDecimal;
+
+/**
+ * Maps an amount held in minor units (cents) by an entity to a DECIMAL(15,2) column, so the database keeps
+ * the exact amount while the application adds and compares plain longs.
+ * JPQL parameters compared with a converted attribute are converted as well, so they are given in minor units.
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Long, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Long minorUnits) {
+        return MoneyUtil.toAmount(minorUnits);
+    }
+
+    @Override
+    public Long convertToEntityAttribute(BigDecimal amount) {
+        return MoneyUtil.toMinorUnits(amount);
+    }
+}
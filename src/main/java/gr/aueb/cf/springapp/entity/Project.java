@@ -2,15 +2,33 @@ package gr.aueb.cf.springapp.entity;
 
 import gr.aueb.cf.springapp.enums.Status;
 
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
-import java.util.ArrayList;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.List;
-import java.util.Objects;
-
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Projects are identified by their database id only: equals and hashCode never touch the employer or the
+ * employees, so membership checks in the employee sets are O(1) and never load a lazy association.
+ * A project should be persisted (have an id) before it is added to a set.
+ * The version and the time of the last change are kept up to date by Hibernate; they make the ETags of the REST API.
+ */
 @Entity
-@Table(name = "PROJECTS")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "PROJECTS", indexes = {
+        @Index(name = "IDX_PROJECTS_START_DATE_END_DATE", columnList = "START_DATE, END_DATE"),
+        @Index(name = "IDX_PROJECTS_END_DATE", columnList = "END_DATE"),
+        @Index(name = "IDX_PROJECTS_LAST_MODIFIED", columnList = "LAST_MODIFIED")})
 public class Project {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
@@ -24,31 +42,36 @@ public class Project {
     private String description;
 
     @Column(name = "START_DATE")
-    private String startDate;
+    private LocalDate startDate;
 
     @Column(name = "END_DATE")
-    private String endDate;
+    private LocalDate endDate;
 
     @Enumerated(EnumType.STRING)
     @Column(name = "STATUS")
     private Status status;
 
-    @ManyToOne(cascade = CascadeType.REMOVE, optional = false)
+    @ManyToOne(optional = false)
     @JoinColumn(name = "employer_id", nullable = false)
     @NotNull
     private Employer employer;
 
-    @ManyToMany(fetch = FetchType.LAZY)
-    @JoinTable(name = "PROJECTS_EMPLOYEES", joinColumns = @JoinColumn(name = "PROJECT_ID", referencedColumnName = "ID"),
-                inverseJoinColumns = @JoinColumn(name = "EMPLOYEE_ID", referencedColumnName = "ID"),
-    uniqueConstraints = @UniqueConstraint(columnNames = {"PROJECT_ID", "EMPLOYEE_ID"}))
-    private List<Employee> employees = new ArrayList<>();
+    @ManyToMany(mappedBy = "projects", fetch = FetchType.LAZY)
+    private Set<Employee> employees = new HashSet<>();
+
+    @Version
+    @Column(name = "VERSION")
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "LAST_MODIFIED")
+    private Instant lastModified;
 
     public Project() {
     }
 
-    public Project(Long id, String name, String description, String startDate,
-                   String endDate, Status status, Employer employer, List<Employee> employees) {
+    public Project(Long id, String name, String description, LocalDate startDate,
+                   LocalDate endDate, Status status, Employer employer, Collection<Employee> employees) {
         this.id = id;
         this.name = name;
         this.description = description;
@@ -56,40 +79,50 @@ public class Project {
         this.endDate = endDate;
         this.status = status;
         this.employer = employer;
-        this.employees = employees;
+        this.employees = employees == null ? new HashSet<>() : new HashSet<>(employees);
     }
 
     /**
-     * Deletes an employee from the project's list of employees.
-     * Also ensures that the project is removed from the employee's list of project.
+     * Deletes an employee from the project's set of employees.
+     * Also ensures that the project is removed from the employee's set of projects.
      * @param employee The employee to be deleted.
      */
     public void  deleteEmployee(Employee employee){
-        boolean found = false;
-        this.employees.remove(employee);
+        if (this.employees.remove(employee)) {
+            employee.getProjects().remove(this);
+        }
+    }
 
-        for (Project project : employee.getProjects()){
-            if (project == this){
-                found = true;
-                break;
+    /**
+     * Removes the project from the other side of its associations before it is deleted, but only where
+     * Hibernate has already loaded that side: the project sets of its employees and the projects of its employer.
+     * Nothing is fetched. The loaded project sets are owned by the employees, so the caller flushes their
+     * changes before it deletes the remaining join rows in bulk.
+     */
+    public void releaseLoadedAssociations() {
+        if (Hibernate.isInitialized(employees)) {
+            for (Employee employee : employees) {
+                if (Hibernate.isInitialized(employee) && Hibernate.isInitialized(employee.getProjects())) {
+                    employee.getProjects().remove(this);
+                }
             }
+            employees.clear();
+        }
+        if (employer != null && Hibernate.isInitialized(employer)
+                && Hibernate.isInitialized(employer.getProjects())) {
+            employer.getProjects().remove(this);
         }
-        if (found) employee.deleteProject(this);
     }
 
     /**
-     * Adds an employee to the project's list of employees.
-     * Also ensures that the project is added to the employee's list of projects.
+     * Adds an employee to the project's set of employees.
+     * Also ensures that the project is added to the employee's set of projects.
      * @param employee The employee to be added.
      */
     public void addEmployee(Employee employee){
-        this.employees.add(employee);
-        for (Project project : employee.getProjects()){
-            if (project == this){
-                return;
-            }
+        if (this.employees.add(employee)) {
+            employee.getProjects().add(this);
         }
-        employee.addProject(this);
     }
 
     public Long getId() {
@@ -100,6 +133,14 @@ public class Project {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
     public String getName() {
         return name;
     }
@@ -116,19 +157,19 @@ public class Project {
         this.description = description;
     }
 
-    public String getStartDate() {
+    public LocalDate getStartDate() {
         return startDate;
     }
 
-    public void setStartDate(String startDate) {
+    public void setStartDate(LocalDate startDate) {
         this.startDate = startDate;
     }
 
-    public String getEndDate() {
+    public LocalDate getEndDate() {
         return endDate;
     }
 
-    public void setEndDate(String endDate) {
+    public void setEndDate(LocalDate endDate) {
         this.endDate = endDate;
     }
 
@@ -148,20 +189,20 @@ public class Project {
         this.employer = employer;
     }
 
-    protected List<Employee> getEmployees() {
+    protected Set<Employee> getEmployees() {
         return employees;
     }
 
-    public List<Employee> getAllEmployees() {
-        List<Employee> employeeList = getEmployees();
-        if (employeeList == null) {
-            return Collections.emptyList();
+    public Set<Employee> getAllEmployees() {
+        Set<Employee> employeeSet = getEmployees();
+        if (employeeSet == null) {
+            return Collections.emptySet();
         }
-        return Collections.unmodifiableList(getEmployees());
+        return Collections.unmodifiableSet(getEmployees());
     }
 
 
-    protected void setEmployees(List<Employee> employees) {
+    protected void setEmployees(Set<Employee> employees) {
         this.employees = employees;
     }
 
@@ -171,39 +212,27 @@ public class Project {
                 "id=" + id +
                 ", name='" + name + '\'' +
                 ", description='" + description + '\'' +
-                ", startDate='" + startDate + '\'' +
-                ", endDate='" + endDate + '\'' +
+                ", startDate=" + startDate +
+                ", endDate=" + endDate +
                 ", status='" + status + '\'' +
                 '}';
     }
 
+    /**
+     * Two projects are equal if they have the same id; a project without an id is only equal to itself.
+     * The id is read through the getter, so that Hibernate proxies compare equal to their target.
+     */
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof Project)) return false;
 
         Project project = (Project) o;
-
-        if (!id.equals(project.id)) return false;
-        if (!name.equals(project.name)) return false;
-        if (!description.equals(project.description)) return false;
-        if (!startDate.equals(project.startDate)) return false;
-        if (!endDate.equals(project.endDate)) return false;
-        if (!status.equals(project.status)) return false;
-        if (!employer.equals(project.employer)) return false;
-        return Objects.equals(employees, project.employees);
+        return getId() != null && getId().equals(project.getId());
     }
 
     @Override
     public int hashCode() {
-        int result = id.hashCode();
-        result = 31 * result + name.hashCode();
-        result = 31 * result + description.hashCode();
-        result = 31 * result + startDate.hashCode();
-        result = 31 * result + endDate.hashCode();
-        result = 31 * result + status.hashCode();
-        result = 31 * result + employer.hashCode();
-        result = 31 * result + (employees != null ? employees.hashCode() : 0);
-        return result;
+        return getId() != null ? getId().hashCode() : System.identityHashCode(this);
     }
 }
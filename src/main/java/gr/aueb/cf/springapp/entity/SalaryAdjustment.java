@@ -0,0 +1,215 @@
+package gr.aueb.cf.springapp.entity;
+
+import gr.aueb.cf.springapp.enums.AdjustmentStatus;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Version;
+import java.time.LocalDateTime;
+
+/**
+ * A bulk salary adjustment: a percentage or an absolute change applied to the employees of an employer,
+ * a job title and/or a project (all employees if none is given).
+ * The employees are adjusted in chunks in ascending id order; LAST_EMPLOYEE_ID is the checkpoint committed
+ * with every chunk, so an interrupted adjustment resumes right after the last adjusted employee.
+ * The row is versioned: a chunk or a status change that read it before another one committed fails instead of
+ * writing back a stale checkpoint, progress or status.
+ * Percentages are kept in basis points and amounts in minor units (cents).
+ */
+@Entity
+@Table(name = "SALARY_ADJUSTMENTS")
+public class SalaryAdjustment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "EMPLOYER_ID")
+    private Long employerId;
+
+    @Column(name = "JOB_TITLE")
+    private String jobTitle;
+
+    @Column(name = "PROJECT_ID")
+    private Long projectId;
+
+    @Column(name = "PERCENTAGE_BASIS_POINTS")
+    private Long percentage;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "AMOUNT", precision = 15, scale = 2)
+    private Long amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", nullable = false)
+    private AdjustmentStatus status = AdjustmentStatus.PENDING;
+
+    @Column(name = "EMPLOYEES_TOTAL", nullable = false)
+    private long employeesTotal;
+
+    @Column(name = "EMPLOYEES_ADJUSTED", nullable = false)
+    private long employeesAdjusted;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "TOTAL_CHANGE", precision = 19, scale = 2, nullable = false)
+    private Long totalChange = 0L;
+
+    @Column(name = "LAST_EMPLOYEE_ID", nullable = false)
+    private long lastEmployeeId;
+
+    @Column(name = "CREATED_AT", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "FINISHED_AT")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "ERROR_MESSAGE", length = 1000)
+    private String errorMessage;
+
+    @Version
+    @Column(name = "VERSION")
+    private Long version;
+
+    public SalaryAdjustment() {
+    }
+
+    /**
+     * Records a committed chunk: moves the checkpoint and adds to the counters.
+     * @param lastEmployeeId the highest id of the chunk.
+     * @param employees the number of employees adjusted.
+     * @param change the change of the total salary in minor units.
+     */
+    public void recordChunk(long lastEmployeeId, long employees, long change) {
+        this.lastEmployeeId = lastEmployeeId;
+        this.employeesAdjusted += employees;
+        this.totalChange = this.totalChange + change;
+    }
+
+    @Override
+    public String toString() {
+        return "SalaryAdjustment{" +
+                "id=" + id +
+                ", status=" + status +
+                ", employeesAdjusted=" + employeesAdjusted +
+                ", lastEmployeeId=" + lastEmployeeId +
+                '}';
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getEmployerId() {
+        return employerId;
+    }
+
+    public void setEmployerId(Long employerId) {
+        this.employerId = employerId;
+    }
+
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    public void setJobTitle(String jobTitle) {
+        this.jobTitle = jobTitle;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    /**
+     * @return the percentage in basis points, or null for an absolute change.
+     */
+    public Long getPercentage() {
+        return percentage;
+    }
+
+    public void setPercentage(Long percentage) {
+        this.percentage = percentage;
+    }
+
+    /**
+     * @return the absolute change in minor units, or null for a percentage.
+     */
+    public Long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Long amount) {
+        this.amount = amount;
+    }
+
+    public AdjustmentStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(AdjustmentStatus status) {
+        this.status = status;
+    }
+
+    public long getEmployeesTotal() {
+        return employeesTotal;
+    }
+
+    public void setEmployeesTotal(long employeesTotal) {
+        this.employeesTotal = employeesTotal;
+    }
+
+    public long getEmployeesAdjusted() {
+        return employeesAdjusted;
+    }
+
+    public Long getTotalChange() {
+        return totalChange;
+    }
+
+    public long getLastEmployeeId() {
+        return lastEmployeeId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,93 @@
+package gr.aueb.cf.springapp.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * The old and new salary of one employee changed by a bulk salary adjustment.
+ * The rows are written with JDBC batches, one chunk at a time, and the new salaries are then copied to
+ * EMPLOYEES with one set-based UPDATE; the key keeps a chunk from being audited twice.
+ */
+@Entity
+@IdClass(SalaryAdjustmentAudit.Key.class)
+@Table(name = "SALARY_ADJUSTMENT_AUDITS",
+        indexes = @Index(name = "IDX_SALARY_ADJUSTMENT_AUDITS_EMPLOYEE_ID", columnList = "EMPLOYEE_ID"))
+public class SalaryAdjustmentAudit {
+
+    @Id
+    @Column(name = "ADJUSTMENT_ID")
+    private Long adjustmentId;
+
+    @Id
+    @Column(name = "EMPLOYEE_ID")
+    private Long employeeId;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "OLD_SALARY", precision = 15, scale = 2)
+    private Long oldSalary;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "NEW_SALARY", precision = 15, scale = 2)
+    private Long newSalary;
+
+    public SalaryAdjustmentAudit() {
+    }
+
+    public Long getAdjustmentId() {
+        return adjustmentId;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    /**
+     * @return the salary before the adjustment, in minor units.
+     */
+    public Long getOldSalary() {
+        return oldSalary;
+    }
+
+    /**
+     * @return the salary after the adjustment, in minor units.
+     */
+    public Long getNewSalary() {
+        return newSalary;
+    }
+
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long adjustmentId;
+        private Long employeeId;
+
+        public Key() {
+        }
+
+        public Key(Long adjustmentId, Long employeeId) {
+            this.adjustmentId = adjustmentId;
+            this.employeeId = employeeId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return Objects.equals(adjustmentId, key.adjustmentId) && Objects.equals(employeeId, key.employeeId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(adjustmentId, employeeId);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package gr.aueb.cf.springapp.enums;
+
+/**
+ * State of a bulk salary adjustment. PENDING and RUNNING adjustments are resumed from their checkpoint
+ * on startup; a FAILED adjustment is resumed on request.
+ */
+public enum AdjustmentStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,12 @@
+package gr.aueb.cf.springapp.enums;
+
+/**
+ * Kind of change recorded in the change log. A consumer reads the current state of a CREATED or UPDATED
+ * resource from the REST API and drops a DELETED one; an UPDATED resource it does not know yet (e.g. an
+ * employer visible again after a cancelled deletion) is simply added.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,14 @@
+package gr.aueb.cf.springapp.enums;
+
+/**
+ * State of an employer deletion. PENDING and RUNNING deletions are resumed on startup; a CANCELLED deletion
+ * leaves the employer visible again, with whatever was not removed yet, and a FAILED one keeps it hidden
+ * until it is resumed.
+ */
+public enum DeletionStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+}
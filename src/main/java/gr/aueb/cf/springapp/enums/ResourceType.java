@@ -0,0 +1,11 @@
+package gr.aueb.cf.springapp.enums;
+
+/**
+ * Resource of the REST API whose changes are recorded in the change log. A change to the projects of an
+ * employee is recorded as a change of the employee, who carries the ids of his projects.
+ */
+public enum ResourceType {
+    EMPLOYEE,
+    EMPLOYER,
+    PROJECT
+}
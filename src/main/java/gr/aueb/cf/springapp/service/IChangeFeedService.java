@@ -0,0 +1,8 @@
+package gr.aueb.cf.springapp.service;
+
+import gr.aueb.cf.springapp.dto.ChangeFeedDTO;
+
+public interface IChangeFeedService {
+
+    ChangeFeedDTO getChanges(long since, int limit);
+}
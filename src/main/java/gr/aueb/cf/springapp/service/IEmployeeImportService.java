@@ -0,0 +1,13 @@
+package gr.aueb.cf.springapp.service;
+
+import gr.aueb.cf.springapp.dto.ImportResultDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface IEmployeeImportService {
+
+    ImportResultDTO importCsv(InputStream inputStream) throws IOException;
+
+    ImportResultDTO importJson(InputStream inputStream) throws IOException;
+}
@@ -0,0 +1,13 @@
+package gr.aueb.cf.springapp.service;
+
+import gr.aueb.cf.springapp.dto.EmployeeReadDTO;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface IEmployeeSearchService {
+
+    List<EmployeeReadDTO> search(String text, int limit) throws IOException;
+
+    int rebuildIndex() throws IOException;
+}
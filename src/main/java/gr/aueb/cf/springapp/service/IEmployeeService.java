@@ -1,13 +1,17 @@
 package gr.aueb.cf.springapp.service;
 
 import gr.aueb.cf.springapp.dto.EmployeeDTO;
+import gr.aueb.cf.springapp.dto.EmployeeFilterDTO;
+import gr.aueb.cf.springapp.dto.EmployeeReadDTO;
 import gr.aueb.cf.springapp.dto.EmployerDTO;
+import gr.aueb.cf.springapp.dto.EmployerReadDTO;
 import gr.aueb.cf.springapp.entity.Employee;
 import gr.aueb.cf.springapp.entity.Employer;
 import gr.aueb.cf.springapp.entity.Project;
 import gr.aueb.cf.springapp.service.exceptions.EntityAlreadyExistsException;
 import gr.aueb.cf.springapp.service.exceptions.EntityNotFoundException;
 import gr.aueb.cf.springapp.service.exceptions.InvalidHiringException;
+import gr.aueb.cf.springapp.service.util.ChunkedRows;
 
 import java.util.List;
 
@@ -15,9 +19,15 @@ public interface IEmployeeService {
 
 	List<Employee> findAllEmployees();
 
+	List<EmployeeReadDTO> findEmployeesPage(EmployeeFilterDTO filter, int limit);
+
+	ChunkedRows<EmployeeReadDTO> findEmployeesInChunks(EmployeeFilterDTO filter, int chunkSize);
+
 	Employee findById(Long theId) throws EntityNotFoundException;
 	List<Employer> getAllEmployers() ;
+	List<EmployerReadDTO> getAllEmployerViews();
 	Employee insertEmployee(EmployeeDTO employeeDTO) throws EntityAlreadyExistsException;
+	void insertEmployees(List<EmployeeDTO> employeeDTOS);
 	List<Project> getProjectsByEmployeeId(Long employeeId) throws EntityNotFoundException;
 	Employer getEmployerById(Long id) throws EntityNotFoundException;
 	Employee updateEmployee(EmployeeDTO employeeDTO) throws EntityNotFoundException;
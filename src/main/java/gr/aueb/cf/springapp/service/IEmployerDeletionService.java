@@ -0,0 +1,19 @@
+package gr.aueb.cf.springapp.service;
+
+import gr.aueb.cf.springapp.dto.EmployerDeletionReadDTO;
+import gr.aueb.cf.springapp.service.exceptions.EntityNotFoundException;
+
+import java.util.List;
+
+public interface IEmployerDeletionService {
+
+    EmployerDeletionReadDTO startDeletion(Long employerId) throws EntityNotFoundException;
+
+    EmployerDeletionReadDTO cancelDeletion(Long id) throws EntityNotFoundException;
+
+    EmployerDeletionReadDTO resumeDeletion(Long id) throws EntityNotFoundException;
+
+    EmployerDeletionReadDTO getDeletion(Long id) throws EntityNotFoundException;
+
+    List<EmployerDeletionReadDTO> getUnfinishedDeletions();
+}
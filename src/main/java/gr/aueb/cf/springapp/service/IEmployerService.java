@@ -1,10 +1,12 @@
 package gr.aueb.cf.springapp.service;
 
 import gr.aueb.cf.springapp.dto.EmployerDTO;
+import gr.aueb.cf.springapp.dto.EmployerReadDTO;
 import gr.aueb.cf.springapp.entity.Employee;
 import gr.aueb.cf.springapp.entity.Employer;
 import gr.aueb.cf.springapp.service.exceptions.EntityAlreadyExistsException;
 import gr.aueb.cf.springapp.service.exceptions.EntityNotFoundException;
+import gr.aueb.cf.springapp.service.util.ChunkedRows;
 
 import java.util.List;
 
@@ -12,6 +14,8 @@ public interface IEmployerService {
 
      List<Employer> findAllEmployers();
 
+     ChunkedRows<EmployerReadDTO> findEmployerViewsInChunks(int chunkSize);
+
      Employer findById(Long id)throws EntityNotFoundException;
      Employer insertEmployer(EmployerDTO employerDTO) throws EntityAlreadyExistsException;
 
@@ -19,8 +23,6 @@ public interface IEmployerService {
 
      Employer updateEmployer(EmployerDTO employerDTO) throws EntityNotFoundException;
 
-     void deleteEmployer(Long id) throws EntityNotFoundException;
-
      List<Employee> findAllEmployees();
 
      Employee getEmployeeById(Long id) throws EntityNotFoundException;
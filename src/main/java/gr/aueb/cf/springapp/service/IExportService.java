@@ -0,0 +1,17 @@
+package gr.aueb.cf.springapp.service;
+
+import gr.aueb.cf.springapp.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface IExportService {
+
+    void exportEmployees(ExportFormat format, OutputStream outputStream) throws IOException;
+
+    void exportEmployers(ExportFormat format, OutputStream outputStream) throws IOException;
+
+    void exportProjects(ExportFormat format, OutputStream outputStream) throws IOException;
+
+    void exportAssignments(ExportFormat format, OutputStream outputStream) throws IOException;
+}
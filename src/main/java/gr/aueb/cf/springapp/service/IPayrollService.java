@@ -0,0 +1,14 @@
+package gr.aueb.cf.springapp.service;
+
+import gr.aueb.cf.springapp.dto.PayrollSummaryDTO;
+
+import java.util.List;
+
+public interface IPayrollService {
+
+    List<PayrollSummaryDTO> getPayrollByEmployer(boolean withMedian);
+
+    List<PayrollSummaryDTO> getPayrollByJobTitle();
+
+    List<PayrollSummaryDTO> getPayrollByProject();
+}
@@ -1,6 +1,12 @@
 package gr.aueb.cf.springapp.service;
 
+import gr.aueb.cf.springapp.dto.AssignmentMatrixDTO;
+import gr.aueb.cf.springapp.dto.BulkAssignmentResultDTO;
+import gr.aueb.cf.springapp.dto.EmployerReadDTO;
+import gr.aueb.cf.springapp.dto.LinkReadDTO;
 import gr.aueb.cf.springapp.dto.ProjectDTO;
+import gr.aueb.cf.springapp.dto.ProjectFilterDTO;
+import gr.aueb.cf.springapp.dto.ProjectReadDTO;
 import gr.aueb.cf.springapp.entity.Employee;
 import gr.aueb.cf.springapp.entity.Employer;
 import gr.aueb.cf.springapp.entity.Project;
@@ -8,13 +14,29 @@ import gr.aueb.cf.springapp.service.exceptions.EntityAlreadyExistsException;
 import gr.aueb.cf.springapp.service.exceptions.EntityNotFoundException;
 import gr.aueb.cf.springapp.service.exceptions.InvalidEmployeeAssigmentException;
 import gr.aueb.cf.springapp.service.exceptions.ProjectAlreadyAssignedInEmployee;
+import gr.aueb.cf.springapp.service.util.ChunkedRows;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface IProjectService {
 
     List<Project> findAll();
 
+    List<ProjectReadDTO> findAllProjectViews();
+
+    List<ProjectReadDTO> findAllProjectViewsWithoutEmployees();
+
+    List<ProjectReadDTO> findProjectViews(ProjectFilterDTO filter);
+
+    ChunkedRows<ProjectReadDTO> findProjectViewsInChunks(ProjectFilterDTO filter, int chunkSize);
+
+    Page<LinkReadDTO> findProjectMembers(Long projectId, Pageable pageable) throws EntityNotFoundException;
+
+    Page<AssignmentMatrixDTO> getAssignmentMatrices(Pageable pageable);
+
     Project findById(Long id) throws EntityNotFoundException;
 
     Employee assignProjectToEmployee(Long projectId, Long employeeId)
@@ -22,6 +44,12 @@ public interface IProjectService {
 
     Employee unassignEmployeeFromProject(Long projectId, Long employeeId) throws EntityNotFoundException;
 
+    BulkAssignmentResultDTO assignEmployeesToProject(Long projectId, Collection<Long> employeeIds)
+            throws EntityNotFoundException, InvalidEmployeeAssigmentException;
+
+    BulkAssignmentResultDTO unassignEmployeesFromProject(Long projectId, Collection<Long> employeeIds)
+            throws EntityNotFoundException;
+
     Project insertProject(ProjectDTO projectDTO) throws EntityAlreadyExistsException;
 
     Project updateProject(ProjectDTO projectDTO) throws EntityNotFoundException;
@@ -29,6 +57,7 @@ public interface IProjectService {
     void deleteProject(Long id) throws EntityNotFoundException;
     List<Employee> findAllEmployees();
     List<Employer> getAllEmployers();
+    List<EmployerReadDTO> getAllEmployerViews();
 
 
     boolean isDateFormatted(String date);
@@ -0,0 +1,40 @@
+package gr.aueb.cf.springapp.service;
+
+import gr.aueb.cf.springapp.dto.AssignmentResourceDTO;
+import gr.aueb.cf.springapp.dto.EmployeeResourceDTO;
+import gr.aueb.cf.springapp.dto.EmployerResourceDTO;
+import gr.aueb.cf.springapp.dto.ProjectResourceDTO;
+import gr.aueb.cf.springapp.dto.ResourcePageDTO;
+import gr.aueb.cf.springapp.dto.ResourceVersionDTO;
+import gr.aueb.cf.springapp.service.exceptions.EntityNotFoundException;
+
+public interface IResourceService {
+
+    ResourceVersionDTO getEmployeesVersion();
+
+    ResourcePageDTO<EmployeeResourceDTO> getEmployees(String after, int size);
+
+    ResourceVersionDTO getEmployeeVersion(Long id) throws EntityNotFoundException;
+
+    EmployeeResourceDTO getEmployee(Long id) throws EntityNotFoundException;
+
+    ResourceVersionDTO getEmployersVersion();
+
+    ResourcePageDTO<EmployerResourceDTO> getEmployers(String after, int size);
+
+    ResourceVersionDTO getEmployerVersion(Long id) throws EntityNotFoundException;
+
+    EmployerResourceDTO getEmployer(Long id) throws EntityNotFoundException;
+
+    ResourceVersionDTO getProjectsVersion();
+
+    ResourcePageDTO<ProjectResourceDTO> getProjects(String after, int size);
+
+    ResourceVersionDTO getProjectVersion(Long id) throws EntityNotFoundException;
+
+    ProjectResourceDTO getProject(Long id) throws EntityNotFoundException;
+
+    ResourceVersionDTO getAssignmentsVersion();
+
+    ResourcePageDTO<AssignmentResourceDTO> getAssignments(String after, int size);
+}
@@ -0,0 +1,18 @@
+package gr.aueb.cf.springapp.service;
+
+import gr.aueb.cf.springapp.dto.SalaryAdjustmentDTO;
+import gr.aueb.cf.springapp.dto.SalaryAdjustmentReadDTO;
+import gr.aueb.cf.springapp.service.exceptions.EntityNotFoundException;
+
+import java.util.List;
+
+public interface ISalaryAdjustmentService {
+
+    SalaryAdjustmentReadDTO startAdjustment(SalaryAdjustmentDTO adjustmentDTO);
+
+    SalaryAdjustmentReadDTO resumeAdjustment(Long id) throws EntityNotFoundException;
+
+    SalaryAdjustmentReadDTO getAdjustment(Long id) throws EntityNotFoundException;
+
+    List<SalaryAdjustmentReadDTO> getAllAdjustments();
+}
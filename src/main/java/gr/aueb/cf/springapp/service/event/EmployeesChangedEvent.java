@@ -0,0 +1,66 @@
+package gr.aueb.cf.springapp.service.event;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Published when employees were inserted, updated or deleted, or when the employer they work for changed,
+ * so that read models kept outside the database (the employee search index) can be brought up to date
+ * once the transaction has committed.
+ */
+public class EmployeesChangedEvent {
+
+    private final Set<Long> employeeIds;
+
+    private final Long employerId;
+
+    private EmployeesChangedEvent(Collection<Long> employeeIds, Long employerId) {
+        this.employeeIds = new LinkedHashSet<>(employeeIds);
+        this.employerId = employerId;
+    }
+
+    /**
+     * The given employees were inserted, updated or deleted.
+     * @param employeeIds the ids of the employees.
+     * @return the event.
+     */
+    public static EmployeesChangedEvent ofEmployees(Collection<Long> employeeIds) {
+        return new EmployeesChangedEvent(employeeIds, null);
+    }
+
+    /**
+     * The given employee was inserted, updated or deleted.
+     * @param employeeId the id of the employee.
+     * @return the event.
+     */
+    public static EmployeesChangedEvent ofEmployee(Long employeeId) {
+        return new EmployeesChangedEvent(Collections.singleton(employeeId), null);
+    }
+
+    /**
+     * The given employer was renamed or deleted, which changes all of its employees.
+     * @param employerId the id of the employer.
+     * @return the event.
+     */
+    public static EmployeesChangedEvent ofEmployer(Long employerId) {
+        return new EmployeesChangedEvent(Collections.emptySet(), employerId);
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeesChangedEvent{" +
+                "employeeIds=" + employeeIds +
+                ", employerId=" + employerId +
+                '}';
+    }
+
+    public Set<Long> getEmployeeIds() {
+        return Collections.unmodifiableSet(employeeIds);
+    }
+
+    public Long getEmployerId() {
+        return employerId;
+    }
+}
@@ -1,5 +1,7 @@
 package gr.aueb.cf.springapp.service.exceptions;
 
+import java.util.Collection;
+
 public class InvalidEmployeeAssigmentException extends Exception{
     private static final long serialVersionUID = 1L;
 
@@ -7,4 +9,9 @@ public class InvalidEmployeeAssigmentException extends Exception{
         super("Invalid employee assigment, project with ID " + projectId + " cannot be assigned to employee with "
                 + employeeId + " since they don't belong to the same employer ");
     }
+
+    public InvalidEmployeeAssigmentException(Class<?> entityClass, Long projectId, Collection<Long> employeeIds) {
+        super("Invalid employee assigment, project with ID " + projectId + " cannot be assigned to employees with ids "
+                + employeeIds + " since they don't belong to the same employer ");
+    }
 }
@@ -0,0 +1,49 @@
+package gr.aueb.cf.springapp.service.impl;
+
+import gr.aueb.cf.springapp.dao.ChangeLogRepository;
+import gr.aueb.cf.springapp.dto.ChangeFeedDTO;
+import gr.aueb.cf.springapp.dto.ChangeReadDTO;
+import gr.aueb.cf.springapp.service.IChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Serves the change log to downstream systems, so that they sync the changes since their last read
+ * instead of the whole dataset. The changes are recorded by the services that make them, in the same transaction.
+ */
+@Service
+public class ChangeFeedServiceImpl implements IChangeFeedService {
+
+    private final ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    public ChangeFeedServiceImpl(ChangeLogRepository changeLogRepository) {
+        this.changeLogRepository = changeLogRepository;
+    }
+
+    /**
+     * Reads the changes after a cursor. One more change than the limit is read, to tell whether more are waiting.
+     * @param since the cursor: the sequence number of the last change already read, zero to read from the start.
+     * @param limit the maximum number of changes.
+     * @return the changes and the cursor of the next read.
+     * @throws IllegalArgumentException if the cursor is negative.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ChangeFeedDTO getChanges(long since, int limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("Invalid cursor " + since);
+        }
+        List<ChangeReadDTO> changes = changeLogRepository.findChangesAfter(since, PageRequest.of(0, limit + 1));
+        boolean more = changes.size() > limit;
+        if (more) {
+            changes = changes.subList(0, limit);
+        }
+        long next = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq();
+        return new ChangeFeedDTO(changes, next, more);
+    }
+}
@@ -0,0 +1,299 @@
+package gr.aueb.cf.springapp.service.impl;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.aueb.cf.springapp.dao.EmployerRepository;
+import gr.aueb.cf.springapp.dto.EmployeeDTO;
+import gr.aueb.cf.springapp.dto.ImportResultDTO;
+import gr.aueb.cf.springapp.entity.Employer;
+import gr.aueb.cf.springapp.service.IEmployeeImportService;
+import gr.aueb.cf.springapp.service.IEmployeeService;
+import gr.aueb.cf.springapp.service.util.CsvUtil;
+import gr.aueb.cf.springapp.service.util.LoggerUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.PersistenceException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports employees in bulk from CSV or JSON files.
+ * The files are parsed incrementally, one row at a time, and the valid rows are written in chunks
+ * (one transaction and several JDBC batches per chunk), so memory use does not depend on the size of the file.
+ * Rows are validated with the bean validation constraints of EmployeeDTO, and rejected rows are reported
+ * with their row number.
+ */
+@Service
+public class EmployeeImportServiceImpl implements IEmployeeImportService {
+
+    private static final String FIRSTNAME = "firstname";
+    private static final String LASTNAME = "lastname";
+    private static final String JOB_TITLE = "jobtitle";
+    private static final String SALARY = "salary";
+    private static final String EMPLOYER_ID = "employerid";
+
+    private final IEmployeeService employeeService;
+    private final EmployerRepository employerRepository;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    @Autowired
+    public EmployeeImportServiceImpl(IEmployeeService employeeService, EmployerRepository employerRepository,
+                                     Validator validator, ObjectMapper objectMapper,
+                                     @Value("${app.import.chunk-size:1000}") int chunkSize) {
+        this.employeeService = employeeService;
+        this.employerRepository = employerRepository;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports employees from a CSV file with a header line.
+     * The columns firstname, lastname, jobTitle and salary are required, employerId is optional;
+     * column names are case-insensitive and may appear in any order.
+     *
+     * @param inputStream the CSV content (UTF-8).
+     * @return the summary of the import.
+     * @throws IOException if the stream cannot be read.
+     * @throws IllegalArgumentException if a required column is missing.
+     */
+    @Override
+    public ImportResultDTO importCsv(InputStream inputStream) throws IOException {
+        Chunk chunk = new Chunk();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+
+        String header = reader.readLine();
+        if (header == null) {
+            return chunk.finish();
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = CsvUtil.parseLine(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : new String[] {FIRSTNAME, LASTNAME, JOB_TITLE, SALARY}) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("The CSV file has no '" + required + "' column");
+            }
+        }
+
+        long row = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            row++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                List<String> fields = CsvUtil.parseLine(line);
+                chunk.add(row, field(fields, columns, FIRSTNAME), field(fields, columns, LASTNAME),
+                        field(fields, columns, JOB_TITLE), field(fields, columns, SALARY),
+                        field(fields, columns, EMPLOYER_ID));
+            } catch (IllegalArgumentException e) {
+                chunk.reject(row, e.getMessage());
+            }
+        }
+        return chunk.finish();
+    }
+
+    /**
+     * Imports employees from a JSON array of objects with the fields firstname, lastname, jobTitle, salary
+     * and (optionally) employerId. The array is read with a streaming parser, one object at a time.
+     *
+     * @param inputStream the JSON content.
+     * @return the summary of the import.
+     * @throws IOException if the stream cannot be read or is not valid JSON.
+     * @throws IllegalArgumentException if the content is not a JSON array.
+     */
+    @Override
+    public ImportResultDTO importJson(InputStream inputStream) throws IOException {
+        Chunk chunk = new Chunk();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("The JSON file must contain an array of employees");
+            }
+            long row = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                row++;
+                JsonNode node = parser.readValueAsTree();
+                try {
+                    chunk.add(row, text(node, "firstname"), text(node, "lastname"), text(node, "jobTitle"),
+                            text(node, "salary"), text(node, "employerId"));
+                } catch (IllegalArgumentException e) {
+                    chunk.reject(row, e.getMessage());
+                }
+            }
+        }
+        return chunk.finish();
+    }
+
+    /**
+     * Returns the value of a CSV column, or null if the column is absent or the value is blank.
+     */
+    private String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).trim().isEmpty()) {
+            return null;
+        }
+        return fields.get(index).trim();
+    }
+
+    /**
+     * Returns the value of a JSON field as text, or null if the field is absent or null.
+     */
+    private String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        return value.asText().trim();
+    }
+
+    /**
+     * Collects the valid rows of an import and writes them every chunkSize rows.
+     */
+    private class Chunk {
+
+        private final ImportResultDTO result = new ImportResultDTO();
+        private final List<EmployeeDTO> employees = new ArrayList<>(chunkSize);
+        private final List<Long> rows = new ArrayList<>(chunkSize);
+
+        /**
+         * Converts and validates one row, and queues it for writing.
+         * @throws IllegalArgumentException if the row cannot be converted.
+         */
+        void add(long row, String firstname, String lastname, String jobTitle, String salary, String employerId) {
+            result.rowRead();
+
+            EmployeeDTO employeeDTO = new EmployeeDTO();
+            employeeDTO.setFirstname(firstname);
+            employeeDTO.setLastname(lastname);
+            employeeDTO.setJobTitle(jobTitle);
+            if (salary != null) {
+                try {
+                    employeeDTO.setSalary(new BigDecimal(salary.trim()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Salary '" + salary + "' is not a number");
+                }
+            }
+            if (employerId != null) {
+                Long id;
+                try {
+                    id = Long.valueOf(employerId);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Employer id '" + employerId + "' is not a number");
+                }
+                Employer employer = new Employer();
+                employer.setId(id);
+                employeeDTO.setEmployer(employer);
+            }
+
+            Set<ConstraintViolation<EmployeeDTO>> violations = validator.validate(employeeDTO);
+            if (!violations.isEmpty()) {
+                StringBuilder message = new StringBuilder();
+                for (ConstraintViolation<EmployeeDTO> violation : violations) {
+                    if (message.length() > 0) {
+                        message.append("; ");
+                    }
+                    message.append(violation.getMessage());
+                }
+                result.rejected(row, message.toString());
+                return;
+            }
+
+            employees.add(employeeDTO);
+            rows.add(row);
+            if (employees.size() >= chunkSize) {
+                write();
+            }
+        }
+
+        /**
+         * Rejects a row that could not be converted.
+         */
+        void reject(long row, String message) {
+            result.rejected(row, message);
+        }
+
+        /**
+         * Writes the remaining rows and returns the summary of the import.
+         */
+        ImportResultDTO finish() {
+            write();
+            LoggerUtil.getCurrentLogger().info("Employee import finished: " + result);
+            return result;
+        }
+
+        private void write() {
+            rejectUnknownEmployers();
+            if (employees.isEmpty()) {
+                return;
+            }
+            try {
+                employeeService.insertEmployees(employees);
+                result.imported(employees.size());
+            } catch (DataAccessException | PersistenceException e) {
+                LoggerUtil.getCurrentLogger().warning(e.getMessage());
+                for (Long row : rows) {
+                    result.rejected(row, "Could not be saved: " + e.getMessage());
+                }
+            }
+            employees.clear();
+            rows.clear();
+        }
+
+        /**
+         * Rejects the queued rows whose employer does not exist, checking the employer ids of the chunk
+         * with one query, so that no more than a chunk of ids is ever held in memory.
+         */
+        private void rejectUnknownEmployers() {
+            Set<Long> employerIds = new HashSet<>();
+            for (EmployeeDTO employee : employees) {
+                if (employee.getEmployer() != null) {
+                    employerIds.add(employee.getEmployer().getId());
+                }
+            }
+            if (employerIds.isEmpty()) {
+                return;
+            }
+            Set<Long> existing = new HashSet<>(employerRepository.findExistingIdsIn(employerIds));
+            int kept = 0;
+            for (int i = 0; i < employees.size(); i++) {
+                Employer employer = employees.get(i).getEmployer();
+                if (employer != null && !existing.contains(employer.getId())) {
+                    result.rejected(rows.get(i), "Entity Employer with id " + employer.getId() + " does not exist");
+                } else {
+                    employees.set(kept, employees.get(i));
+                    rows.set(kept, rows.get(i));
+                    kept++;
+                }
+            }
+            employees.subList(kept, employees.size()).clear();
+            rows.subList(kept, rows.size()).clear();
+        }
+    }
+}
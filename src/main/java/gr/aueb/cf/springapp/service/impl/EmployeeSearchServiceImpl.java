@@ -0,0 +1,386 @@
+package gr.aueb.cf.springapp.service.impl;
+
+import gr.aueb.cf.springapp.dao.EmployeeRepository;
+import gr.aueb.cf.springapp.dto.EmployeeReadDTO;
+import gr.aueb.cf.springapp.service.IEmployeeSearchService;
+import gr.aueb.cf.springapp.service.event.EmployeesChangedEvent;
+import gr.aueb.cf.springapp.service.util.LoggerUtil;
+import gr.aueb.cf.springapp.service.util.MoneyUtil;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.CharArraySet;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Full-text search over the employees' first name, last name, job title and employer name,
+ * backed by an embedded Lucene index.
+ * Every document stores the columns of an employee row, so a search is answered from the index alone,
+ * without any query to the database. The index is kept up to date incrementally from
+ * {@link EmployeesChangedEvent}s, after the transaction that changed the employees has committed,
+ * and can be rebuilt from the database at any time.
+ * The index lives in the directory given by app.search.index-path, or in memory if the property is blank.
+ */
+@Service
+public class EmployeeSearchServiceImpl implements IEmployeeSearchService {
+
+    private static final String ID = "id";
+    private static final String FIRSTNAME = "firstname";
+    private static final String LASTNAME = "lastname";
+    private static final String JOB_TITLE = "jobTitle";
+    private static final String SALARY = "salary";
+    private static final String EMPLOYER_ID = "employerId";
+    private static final String EMPLOYER_NAME = "employerName";
+
+    /** Version of the document layout, kept in the commit data; an index of another version is rebuilt. */
+    private static final String LAYOUT_VERSION_KEY = "layoutVersion";
+    private static final String LAYOUT_VERSION = "2";
+
+    private static final String[] SEARCH_FIELDS = {FIRSTNAME, LASTNAME, JOB_TITLE, EMPLOYER_NAME};
+
+    /** Tokens shorter than this are matched exactly or by prefix only, never fuzzily. */
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    /** Changed employees are read back from the database in chunks of this size. */
+    private static final int CHUNK_SIZE = 1000;
+
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Analyzer analyzer;
+    private final Directory directory;
+    private volatile IndexWriter indexWriter;
+    private volatile SearcherManager searcherManager;
+
+    @Autowired
+    public EmployeeSearchServiceImpl(EmployeeRepository employeeRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${app.search.index-path:}") String indexPath) throws IOException {
+        this.employeeRepository = employeeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+        this.analyzer = new StandardAnalyzer(CharArraySet.EMPTY_SET);
+        this.directory = indexPath == null || indexPath.trim().isEmpty() ? new ByteBuffersDirectory()
+                : FSDirectory.open(Paths.get(indexPath.trim()));
+        openWriter();
+    }
+
+    /**
+     * Searches the employees whose first name, last name, job title or employer name match every word of the text.
+     * A word matches a name exactly, as a prefix of it, or (for words of four letters or more) with one or two
+     * typos; exact matches rank first.
+     *
+     * @param text the words to search for.
+     * @param limit the maximum number of employees to return.
+     * @return the best matching employees, best first, without their projects.
+     * @throws IOException if the index cannot be read.
+     */
+    @Override
+    public List<EmployeeReadDTO> search(String text, int limit) throws IOException {
+        List<EmployeeReadDTO> employees = new ArrayList<>();
+        Query query = buildQuery(text);
+        if (query == null || limit <= 0) {
+            return employees;
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            for (ScoreDoc scoreDoc : searcher.search(query, limit).scoreDocs) {
+                employees.add(toEmployee(searcher.doc(scoreDoc.doc)));
+            }
+        } finally {
+            searcherManager.release(searcher);
+        }
+        return employees;
+    }
+
+    /**
+     * Replaces the whole index with the employees currently in the database.
+     * The employees are read through a forward-only cursor, so the rebuild runs with constant memory.
+     * Searches keep seeing the previous index until the rebuild is committed. If the rebuild fails, the
+     * uncommitted changes are rolled back and the writer is reopened on the previous index, so that a later
+     * incremental update cannot commit an empty or partial index.
+     *
+     * @return the number of indexed employees.
+     * @throws IOException if the index cannot be written.
+     */
+    @Override
+    public synchronized int rebuildIndex() throws IOException {
+        int count;
+        try {
+            indexWriter.deleteAll();
+            count = transactionTemplate.execute(status -> {
+                int indexed = 0;
+                try (Stream<EmployeeReadDTO> employees = employeeRepository.streamAllViews()) {
+                    Iterator<EmployeeReadDTO> iterator = employees.iterator();
+                    while (iterator.hasNext()) {
+                        indexWriter.addDocument(toDocument(iterator.next()));
+                        indexed++;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return indexed;
+            });
+            indexWriter.setLiveCommitData(Collections.singletonMap(LAYOUT_VERSION_KEY, LAYOUT_VERSION).entrySet());
+            indexWriter.commit();
+        } catch (UncheckedIOException e) {
+            rollback();
+            throw e.getCause();
+        } catch (IOException | RuntimeException e) {
+            rollback();
+            throw e;
+        }
+        searcherManager.maybeRefreshBlocking();
+        LoggerUtil.getCurrentLogger().info("Employee search index rebuilt with " + count + " employees");
+        return count;
+    }
+
+    /**
+     * Builds the index on startup if it is empty, e.g. on the first run or when the index is kept in memory,
+     * or if it was written with another document layout.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndexIfEmpty() {
+        try {
+            if (indexWriter.getDocStats().numDocs == 0 || !hasCurrentLayout()) {
+                rebuildIndex();
+            }
+        } catch (IOException | RuntimeException e) {
+            LoggerUtil.getCurrentLogger().warning("Employee search index not built: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Brings the documents of the changed employees up to date, once their transaction has committed.
+     * Employees that are no longer in the database are removed from the index. If an employer changed,
+     * all of its indexed employees are refreshed.
+     *
+     * @param event the changed employees or employer.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesChanged(EmployeesChangedEvent event) {
+        try {
+            Set<Long> employeeIds = new LinkedHashSet<>(event.getEmployeeIds());
+            if (event.getEmployerId() != null) {
+                employeeIds.addAll(findIndexedEmployeeIds(event.getEmployerId()));
+            }
+            reindex(employeeIds);
+        } catch (IOException | RuntimeException e) {
+            LoggerUtil.getCurrentLogger().warning("Employee search index not updated for " + event
+                    + ", rebuild the index: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        indexWriter.close();
+        directory.close();
+    }
+
+    /**
+     * Opens the writer on the last commit of the index, or on a new index, and the searchers over it.
+     * @throws IOException if the index cannot be opened.
+     */
+    private void openWriter() throws IOException {
+        indexWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(indexWriter, null);
+    }
+
+    /**
+     * Discards the uncommitted changes of the writer, which closes it, and reopens it on the last commit.
+     * @throws IOException if the index cannot be reopened.
+     */
+    private void rollback() throws IOException {
+        SearcherManager previousSearchers = searcherManager;
+        try {
+            indexWriter.rollback();
+        } finally {
+            openWriter();
+            previousSearchers.close();
+        }
+    }
+
+    /**
+     * Re-reads the given employees from the database and replaces their documents.
+     * @param employeeIds the ids of the employees.
+     * @throws IOException if the index cannot be written.
+     */
+    private synchronized void reindex(Collection<Long> employeeIds) throws IOException {
+        if (employeeIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(employeeIds);
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            List<EmployeeReadDTO> employees = transactionTemplate.execute(
+                    status -> employeeRepository.findViewsByIdIn(chunk));
+
+            Set<Long> found = new HashSet<>();
+            for (EmployeeReadDTO employee : employees) {
+                indexWriter.updateDocument(new Term(ID, String.valueOf(employee.getId())), toDocument(employee));
+                found.add(employee.getId());
+            }
+            for (Long id : chunk) {
+                if (!found.contains(id)) {
+                    indexWriter.deleteDocuments(new Term(ID, String.valueOf(id)));
+                }
+            }
+        }
+        indexWriter.commit();
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    /**
+     * Finds the ids of the employees indexed under the given employer.
+     * @param employerId the id of the employer.
+     * @return the ids of the employees.
+     * @throws IOException if the index cannot be read.
+     */
+    private List<Long> findIndexedEmployeeIds(Long employerId) throws IOException {
+        List<Long> ids = new ArrayList<>();
+        Query query = new TermQuery(new Term(EMPLOYER_ID, String.valueOf(employerId)));
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            int count = searcher.count(query);
+            if (count == 0) {
+                return ids;
+            }
+            for (ScoreDoc scoreDoc : searcher.search(query, count).scoreDocs) {
+                ids.add(Long.valueOf(searcher.doc(scoreDoc.doc).get(ID)));
+            }
+        } finally {
+            searcherManager.release(searcher);
+        }
+        return ids;
+    }
+
+    /**
+     * Builds a query where every word of the text must match one of the search fields,
+     * exactly (highest score), as a prefix, or fuzzily.
+     * @param text the words to search for.
+     * @return the query, or null if the text has no words.
+     * @throws IOException if the text cannot be analyzed.
+     */
+    private Query buildQuery(String text) throws IOException {
+        if (text == null || text.trim().isEmpty()) {
+            return null;
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        boolean hasTokens = false;
+        try (TokenStream tokens = analyzer.tokenStream(LASTNAME, text)) {
+            CharTermAttribute termAttribute = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                query.add(buildTokenQuery(termAttribute.toString()), BooleanClause.Occur.MUST);
+                hasTokens = true;
+            }
+            tokens.end();
+        }
+        return hasTokens ? query.build() : null;
+    }
+
+    private boolean hasCurrentLayout() {
+        Iterable<Map.Entry<String, String>> commitData = indexWriter.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (LAYOUT_VERSION_KEY.equals(entry.getKey())) {
+                    return LAYOUT_VERSION.equals(entry.getValue());
+                }
+            }
+        }
+        return false;
+    }
+
+    private Query buildTokenQuery(String token) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String field : SEARCH_FIELDS) {
+            Term term = new Term(field, token);
+            query.add(new BoostQuery(new TermQuery(term), 4f), BooleanClause.Occur.SHOULD);
+            query.add(new BoostQuery(new PrefixQuery(term), 2f), BooleanClause.Occur.SHOULD);
+            if (token.length() >= MIN_FUZZY_LENGTH) {
+                query.add(new FuzzyQuery(term, token.length() >= 8 ? 2 : 1, 1), BooleanClause.Occur.SHOULD);
+            }
+        }
+        return query.build();
+    }
+
+    private Document toDocument(EmployeeReadDTO employee) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(employee.getId()), Field.Store.YES));
+        addText(document, FIRSTNAME, employee.getFirstname());
+        addText(document, LASTNAME, employee.getLastname());
+        addText(document, JOB_TITLE, employee.getJobTitle());
+        if (employee.getSalary() != null) {
+            document.add(new StoredField(SALARY, MoneyUtil.toMinorUnits(employee.getSalary())));
+        }
+        if (employee.getEmployerId() != null) {
+            document.add(new StringField(EMPLOYER_ID, String.valueOf(employee.getEmployerId()), Field.Store.YES));
+            addText(document, EMPLOYER_NAME, employee.getEmployerName());
+        }
+        return document;
+    }
+
+    private void addText(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new TextField(field, value, Field.Store.YES));
+        }
+    }
+
+    private EmployeeReadDTO toEmployee(Document document) {
+        IndexableField salary = document.getField(SALARY);
+        String employerId = document.get(EMPLOYER_ID);
+        return new EmployeeReadDTO(Long.valueOf(document.get(ID)), document.get(FIRSTNAME), document.get(LASTNAME),
+                document.get(JOB_TITLE), salary == null ? null : salary.numericValue().longValue(),
+                employerId == null ? null : Long.valueOf(employerId), document.get(EMPLOYER_NAME));
+    }
+}
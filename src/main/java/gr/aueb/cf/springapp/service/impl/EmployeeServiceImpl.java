@@ -1,32 +1,62 @@
 package gr.aueb.cf.springapp.service.impl;
 
+import gr.aueb.cf.springapp.dao.ChangeLogRepository;
 import gr.aueb.cf.springapp.dao.EmployeeRepository;
+import gr.aueb.cf.springapp.dao.EmployerPayrollRepository;
 import gr.aueb.cf.springapp.dao.EmployerRepository;
 import gr.aueb.cf.springapp.dto.EmployeeDTO;
+import gr.aueb.cf.springapp.dto.EmployeeFilterDTO;
+import gr.aueb.cf.springapp.dto.EmployeeReadDTO;
 import gr.aueb.cf.springapp.dto.EmployerDTO;
+import gr.aueb.cf.springapp.dto.EmployerReadDTO;
+import gr.aueb.cf.springapp.dto.LinkReadDTO;
 import gr.aueb.cf.springapp.entity.Employee;
 import gr.aueb.cf.springapp.entity.Employer;
 import gr.aueb.cf.springapp.entity.Project;
+import gr.aueb.cf.springapp.enums.ChangeType;
+import gr.aueb.cf.springapp.enums.ResourceType;
 import gr.aueb.cf.springapp.service.IEmployeeService;
+import gr.aueb.cf.springapp.service.event.EmployeesChangedEvent;
 import gr.aueb.cf.springapp.service.exceptions.EntityAlreadyExistsException;
 import gr.aueb.cf.springapp.service.exceptions.EntityNotFoundException;
 import gr.aueb.cf.springapp.service.exceptions.InvalidHiringException;
+import gr.aueb.cf.springapp.service.util.ChunkedRows;
+import gr.aueb.cf.springapp.service.util.MoneyUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 
 @Service
 public class EmployeeServiceImpl implements IEmployeeService {
 	private final EmployeeRepository employeeRepository;
 	private final EmployerRepository employerRepository;
+	private final EntityManager entityManager;
+	private final ApplicationEventPublisher eventPublisher;
+	private final EmployerPayrollRepository employerPayrollRepository;
+	private final ChangeLogRepository changeLogRepository;
+	private final EmployerViewsCache employerViewsCache;
 	@Autowired
-	public EmployeeServiceImpl(EmployeeRepository theEmployeeRepository, EmployerRepository employerRepository) {
+	public EmployeeServiceImpl(EmployeeRepository theEmployeeRepository, EmployerRepository employerRepository,
+							   EntityManager entityManager, ApplicationEventPublisher eventPublisher,
+							   EmployerPayrollRepository employerPayrollRepository,
+							   ChangeLogRepository changeLogRepository, EmployerViewsCache employerViewsCache) {
 		employeeRepository = theEmployeeRepository;
 		this.employerRepository = employerRepository;
+		this.entityManager = entityManager;
+		this.eventPublisher = eventPublisher;
+		this.employerPayrollRepository = employerPayrollRepository;
+		this.changeLogRepository = changeLogRepository;
+		this.employerViewsCache = employerViewsCache;
 	}
 
 	/**
@@ -38,6 +68,86 @@ public class EmployeeServiceImpl implements IEmployeeService {
 		return employeeRepository.findAllByOrderByLastname();
 	}
 
+	/**
+	 * Retrieves one page of employees ordered by lastname and id, using keyset pagination
+	 * so that the cost of a page does not depend on how deep in the list it is.
+	 * Filtering by job title, employer and salary range is done in the database.
+	 * Employees and their projects are read as flat projections in a read-only transaction.
+	 * @param filter The page cursor and the optional filters.
+	 * @param limit The maximum number of employees to return.
+	 * @return The employees of the requested page.
+	 * @throws IllegalArgumentException if the cursor is not of the form "lastname,id".
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<EmployeeReadDTO> findEmployeesPage(EmployeeFilterDTO filter, int limit) {
+		Pageable pageable = PageRequest.of(0, limit);
+		String jobTitle = emptyToNull(filter.getJobTitle());
+		String after = emptyToNull(filter.getAfter());
+		Long minSalary = MoneyUtil.toMinorUnits(filter.getMinSalary());
+		Long maxSalary = MoneyUtil.toMinorUnits(filter.getMaxSalary());
+
+		if (after == null) {
+			return withProjects(employeeRepository.findFirstPage(jobTitle, filter.getEmployerId(),
+					minSalary, maxSalary, pageable));
+		}
+
+		int separator = after.lastIndexOf(',');
+		if (separator < 0) {
+			throw new IllegalArgumentException("Invalid page cursor: " + after);
+		}
+		String lastname = after.substring(0, separator);
+		Long id;
+		try {
+			id = Long.valueOf(after.substring(separator + 1).trim());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid page cursor: " + after);
+		}
+
+		return withProjects(employeeRepository.findPageAfter(lastname, id, jobTitle, filter.getEmployerId(),
+				minSalary, maxSalary, pageable));
+	}
+
+	/**
+	 * Retrieves every employee matching the filters after the page cursor, read one chunk at a time for the list view.
+	 * Every chunk is a keyset page read as in {@link #findEmployeesPage(EmployeeFilterDTO, int)}, starting right after
+	 * the last employee of the previous chunk.
+	 * @param filter The page cursor and the optional filters; the page size is ignored.
+	 * @param chunkSize The number of employees read at a time.
+	 * @return The employees, read as they are iterated.
+	 * @throws IllegalArgumentException if the cursor is not of the form "lastname,id".
+	 */
+	@Override
+	public ChunkedRows<EmployeeReadDTO> findEmployeesInChunks(EmployeeFilterDTO filter, int chunkSize) {
+		EmployeeFilterDTO chunkFilter = new EmployeeFilterDTO(filter.getAfter(), null, filter.getJobTitle(),
+				filter.getEmployerId(), filter.getMinSalary(), filter.getMaxSalary());
+		return new ChunkedRows<>(chunkSize, (after, size) -> {
+			if (after != null) {
+				chunkFilter.setAfter(after.getLastname() + "," + after.getId());
+			}
+			return findEmployeesPage(chunkFilter, size);
+		});
+	}
+
+	/**
+	 * Attaches to each employee of a page its projects, read with a single query on the join table.
+	 * @param employees The employees of the page.
+	 * @return The same employees, with their projects.
+	 */
+	private List<EmployeeReadDTO> withProjects(List<EmployeeReadDTO> employees) {
+		if (employees.isEmpty()) {
+			return employees;
+		}
+		Map<Long, EmployeeReadDTO> employeesById = new HashMap<>();
+		for (EmployeeReadDTO employee : employees) {
+			employeesById.put(employee.getId(), employee);
+		}
+		for (LinkReadDTO project : employeeRepository.findProjectLinks(employeesById.keySet())) {
+			employeesById.get(project.getOwnerId()).addProject(project);
+		}
+		return employees;
+	}
+
 
 	/**
 	 * Retrieves an employee by their ID.
@@ -83,6 +193,8 @@ public class EmployeeServiceImpl implements IEmployeeService {
 
 	/**
 	 * Inserts a new employee.
+	 * The employee is recorded in the change log in the same transaction, and added to the search index
+	 * once the transaction commits.
 	 * @param employeeDTO The DTO object containing employee information.
 	 * @return The inserted employee.
 	 * @throws EntityAlreadyExistsException if the employee already exists (ID is not null).
@@ -94,11 +206,49 @@ public class EmployeeServiceImpl implements IEmployeeService {
 			throw  new EntityAlreadyExistsException(Employee.class, employeeDTO.getId());
 		}
 
-		return 	employeeRepository.save(mapToNewEmployee(employeeDTO));
+		Employee employee = employeeRepository.save(mapToNewEmployee(employeeDTO));
+		changeLogRepository.recordChange(ResourceType.EMPLOYEE, ChangeType.CREATED, employee.getId());
+		eventPublisher.publishEvent(EmployeesChangedEvent.ofEmployee(employee.getId()));
+		return employee;
+	}
+
+	/**
+	 * Inserts a chunk of new employees in one transaction, e.g. during a bulk import.
+	 * The inserts are sent to the database in JDBC batches (hibernate.jdbc.batch_size) and the persistence
+	 * context is cleared afterwards, so memory use does not grow from one chunk to the next.
+	 * An employer is referenced by the id of the DTO's employer, without loading it, and its payroll totals
+	 * are adjusted once for the whole chunk.
+	 * @param employeeDTOS The DTO objects containing the new employees' information.
+	 */
+	@Override
+	@Transactional
+	public void insertEmployees(List<EmployeeDTO> employeeDTOS) {
+		List<Long> employeeIds = new ArrayList<>(employeeDTOS.size());
+		Map<Long, Long> hiredByEmployer = new HashMap<>();
+		Map<Long, Long> salaryByEmployer = new HashMap<>();
+		for (EmployeeDTO employeeDTO : employeeDTOS) {
+			Employee employee = mapToNewEmployee(employeeDTO);
+			if (employeeDTO.getEmployer() != null) {
+				Long employerId = employeeDTO.getEmployer().getId();
+				employee.setEmployer(entityManager.getReference(Employer.class, employerId));
+				hiredByEmployer.merge(employerId, 1L, Long::sum);
+				salaryByEmployer.merge(employerId, salaryOf(employee), Long::sum);
+			}
+			entityManager.persist(employee);
+			employeeIds.add(employee.getId());
+		}
+		entityManager.flush();
+		entityManager.clear();
+		for (Map.Entry<Long, Long> hired : hiredByEmployer.entrySet()) {
+			employerPayrollRepository.adjustPayroll(hired.getKey(), hired.getValue(),
+					salaryByEmployer.get(hired.getKey()));
+		}
+		changeLogRepository.recordChanges(ResourceType.EMPLOYEE, ChangeType.CREATED, employeeIds);
+		eventPublisher.publishEvent(EmployeesChangedEvent.ofEmployees(employeeIds));
 	}
 
 	/**
-	 * Updates an existing employee.
+	 * Updates an existing employee. A change of salary is applied to the payroll totals of the employer.
 	 * @param employeeDTO The DTO object containing updated employee information.
 	 * @return The updated employee.
 	 * @throws EntityNotFoundException if no employee is found with the specified ID.
@@ -113,15 +263,23 @@ public class EmployeeServiceImpl implements IEmployeeService {
 		employee.setFirstname(employeeDTO.getFirstname());
 		employee.setLastname(employeeDTO.getLastname());
 		employee.setJobTitle(employeeDTO.getJobTitle());
-		employee.setSalary(employeeDTO.getSalary());
+		long previousSalary = salaryOf(employee);
+		employee.setSalary(MoneyUtil.toMinorUnits(employeeDTO.getSalary()));
+		if (employee.getEmployer() != null) {
+			employerPayrollRepository.adjustPayroll(employee.getEmployer().getId(), 0,
+					salaryOf(employee) - previousSalary);
+		}
 
-		return employeeRepository.save(employee);
+		Employee updated = employeeRepository.save(employee);
+		changeLogRepository.recordChange(ResourceType.EMPLOYEE, ChangeType.UPDATED, updated.getId());
+		eventPublisher.publishEvent(EmployeesChangedEvent.ofEmployee(updated.getId()));
+		return updated;
 	}
 
 
 	/**
-	 * Deletes an employee by his ID after deleting the relationship between employee and all of his projects
-	 * in their respective lists and after removing employer from employee.
+	 * Deletes an employee by his ID. The employee's join rows are deleted with the employee by one statement,
+	 * without loading his projects; only the associations Hibernate has already loaded are updated in memory.
 	 * @param id The ID of the employee to delete.
 	 * @throws EntityNotFoundException if no employee is found with the specified ID.
 	 */
@@ -131,22 +289,13 @@ public class EmployeeServiceImpl implements IEmployeeService {
 		Employee employee = employeeRepository.findEmployeeById(id);
 		if (employee == null )throw new EntityNotFoundException(Employee.class, id);
 
-		removeEmployeeFromProjects(employee);
-		employee.removeEmployer();
-		employeeRepository.deleteById(id);
-	}
-
-
-	/**
-	 * Removes an employee from all projects he is associated with.
-	 * @param employee The employee to remove from projects.
-	 */
-	private void removeEmployeeFromProjects(Employee employee)  {
-		List<Project> projects = new ArrayList<>(employee.getAllProjects());
-
-		for (Project project : projects) {
-			project.deleteEmployee(employee);
-		}
+		Long employerId = employee.getEmployer() == null ? null : employee.getEmployer().getId();
+		long salary = salaryOf(employee);
+		employee.releaseLoadedAssociations();
+		employeeRepository.delete(employee);
+		employerPayrollRepository.adjustPayroll(employerId, -1, -salary);
+		changeLogRepository.recordChange(ResourceType.EMPLOYEE, ChangeType.DELETED, id);
+		eventPublisher.publishEvent(EmployeesChangedEvent.ofEmployee(id));
 	}
 
 
@@ -173,6 +322,9 @@ public class EmployeeServiceImpl implements IEmployeeService {
 			throw new InvalidHiringException(Employee.class, employeeId);
 		}
 		employee.addEmployer(employer);
+		employerPayrollRepository.adjustPayroll(employerId, 1, salaryOf(employee));
+		changeLogRepository.recordChange(ResourceType.EMPLOYEE, ChangeType.UPDATED, employeeId);
+		eventPublisher.publishEvent(EmployeesChangedEvent.ofEmployee(employeeId));
 
 		return employee;
 	}
@@ -192,9 +344,16 @@ public class EmployeeServiceImpl implements IEmployeeService {
 		Employee employee = employeeRepository.findEmployeeById(employeeId);
 		if (employee == null) throw new EntityNotFoundException(Employee.class, employeeId);
 
+		Long previousEmployerId = employee.getEmployer() == null ? null : employee.getEmployer().getId();
 		Employer employer = mapToNewEmployer(employerDTO, employee);
 
 		employerRepository.save(employer);
+		employerPayrollRepository.adjustPayroll(previousEmployerId, -1, -salaryOf(employee));
+		employerPayrollRepository.adjustPayroll(employer.getId(), 1, salaryOf(employee));
+		employerViewsCache.evictAfterCommit();
+		changeLogRepository.recordChange(ResourceType.EMPLOYER, ChangeType.CREATED, employer.getId());
+		changeLogRepository.recordChange(ResourceType.EMPLOYEE, ChangeType.UPDATED, employeeId);
+		eventPublisher.publishEvent(EmployeesChangedEvent.ofEmployee(employeeId));
 		return employee;
 	}
 
@@ -207,6 +366,16 @@ public class EmployeeServiceImpl implements IEmployeeService {
 		return employerRepository.findAll();
 	}
 
+	/**
+	 * Retrieves all employers as flat, read-only rows, e.g. to fill the employer dropdowns.
+	 * The rows are cached by {@link EmployerViewsCache} until an employer is inserted, updated or deleted.
+	 * @return A list of all employers.
+	 * */
+	@Override
+	public List<EmployerReadDTO> getAllEmployerViews() {
+		return employerViewsCache.getEmployerViews();
+	}
+
 	/**
 	 * Maps an EmployerDTO object to a new Employer entity.
 	 * @param employerDTO The DTO object containing employer information.
@@ -222,6 +391,27 @@ public class EmployeeServiceImpl implements IEmployeeService {
 	}
 
 
+	/**
+	 * Converts a blank request value to null, so that the optional filters of the queries are skipped.
+	 * @param value The value to convert.
+	 * @return The trimmed value, or null if it is blank.
+	 */
+	private String emptyToNull(String value) {
+		if (value == null || value.trim().isEmpty()) {
+			return null;
+		}
+		return value.trim();
+	}
+
+	/**
+	 * Returns the salary of an employee for the payroll totals, where a missing salary counts as zero.
+	 * @param employee The employee.
+	 * @return The salary in minor units, or zero.
+	 */
+	private long salaryOf(Employee employee) {
+		return employee.getSalary() == null ? 0 : employee.getSalary();
+	}
+
 	/**
 	 * Maps an EmployeeDTO object to a new Employee entity.
 	 * @param employeeDTO The DTO object containing employee information.
@@ -233,7 +423,7 @@ public class EmployeeServiceImpl implements IEmployeeService {
 		employee.setFirstname(employeeDTO.getFirstname());
 		employee.setLastname(employeeDTO.getLastname());
 		employee.setJobTitle(employeeDTO.getJobTitle());
-		employee.setSalary(employeeDTO.getSalary());
+		employee.setSalary(MoneyUtil.toMinorUnits(employeeDTO.getSalary()));
 		return employee;
 	}
 }
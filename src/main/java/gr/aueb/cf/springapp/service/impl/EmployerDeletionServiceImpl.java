@@ -0,0 +1,319 @@
+package gr.aueb.cf.springapp.service.impl;
+
+import gr.aueb.cf.springapp.dao.ChangeLogRepository;
+import gr.aueb.cf.springapp.dao.EmployerDeletionRepository;
+import gr.aueb.cf.springapp.dao.EmployerPayrollRepository;
+import gr.aueb.cf.springapp.dao.EmployerRepository;
+import gr.aueb.cf.springapp.dto.EmployerDeletionReadDTO;
+import gr.aueb.cf.springapp.entity.Employer;
+import gr.aueb.cf.springapp.entity.EmployerDeletion;
+import gr.aueb.cf.springapp.enums.ChangeType;
+import gr.aueb.cf.springapp.enums.DeletionStatus;
+import gr.aueb.cf.springapp.enums.ResourceType;
+import gr.aueb.cf.springapp.service.IEmployerDeletionService;
+import gr.aueb.cf.springapp.service.event.EmployeesChangedEvent;
+import gr.aueb.cf.springapp.service.exceptions.EntityNotFoundException;
+import gr.aueb.cf.springapp.service.util.LoggerUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Deletes employers in the background, however many employees and projects they have.
+ * Starting a deletion only marks the employer as deleting, which hides it from all reads right away.
+ * The job then works one chunk per short transaction: first the employer's employees, in id order, are locked,
+ * removed from the employer's projects and detached from the employer with set-based statements, and the
+ * payroll totals are adjusted; then the projects are deleted the same way; finally the payroll row and the
+ * employer itself. A cancellation stops the job between two chunks and makes the employer visible again
+ * with what is left of it. Deletions run one at a time, in the order they were started, and unfinished ones
+ * are resumed on startup.
+ */
+@Service
+public class EmployerDeletionServiceImpl implements IEmployerDeletionService {
+
+    private final EmployerDeletionRepository employerDeletionRepository;
+    private final EmployerRepository employerRepository;
+    private final EmployerPayrollRepository employerPayrollRepository;
+    private final ChangeLogRepository changeLogRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmployerViewsCache employerViewsCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "employer-deletions");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Deletions submitted to the executor and not finished yet, so that none is run twice at once. */
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public EmployerDeletionServiceImpl(EmployerDeletionRepository employerDeletionRepository,
+                                       EmployerRepository employerRepository,
+                                       EmployerPayrollRepository employerPayrollRepository,
+                                       ChangeLogRepository changeLogRepository,
+                                       ApplicationEventPublisher eventPublisher, EmployerViewsCache employerViewsCache,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${app.employer-deletion.chunk-size:1000}") int chunkSize) {
+        this.employerDeletionRepository = employerDeletionRepository;
+        this.employerRepository = employerRepository;
+        this.employerPayrollRepository = employerPayrollRepository;
+        this.changeLogRepository = changeLogRepository;
+        this.eventPublisher = eventPublisher;
+        this.employerViewsCache = employerViewsCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Hides the employer from all reads and starts deleting it in the background.
+     *
+     * @param employerId the id of the employer.
+     * @return the new deletion.
+     * @throws EntityNotFoundException if the employer does not exist or is already being deleted.
+     */
+    @Override
+    public EmployerDeletionReadDTO startDeletion(Long employerId) throws EntityNotFoundException {
+        Long id = transactionTemplate.execute(status -> {
+            Employer employer = employerRepository.findEmployerById(employerId);
+            if (employer == null) {
+                return null;
+            }
+            employer.setDeleting(true);
+
+            EmployerDeletion deletion = new EmployerDeletion();
+            deletion.setEmployerId(employerId);
+            deletion.setEmployerName(employer.getName());
+            deletion.setEmployeesTotal(employerDeletionRepository.countEmployees(employerId));
+            deletion.setProjectsTotal(employerDeletionRepository.countProjects(employerId));
+            deletion.setStatus(DeletionStatus.PENDING);
+            deletion.setCreatedAt(LocalDateTime.now());
+            eventPublisher.publishEvent(EmployeesChangedEvent.ofEmployer(employerId));
+            Long deletionId = employerDeletionRepository.save(deletion).getId();
+            changeLogRepository.recordChange(ResourceType.EMPLOYER, ChangeType.DELETED, employerId);
+            return deletionId;
+        });
+        if (id == null) throw new EntityNotFoundException(Employer.class, employerId);
+
+        employerViewsCache.evictAfterCommit();
+        submit(id);
+        return employerDeletionRepository.findViewById(id);
+    }
+
+    /**
+     * Cancels a deletion. A pending or running deletion stops after its current chunk; a failed one is
+     * cancelled right away. In both cases the employer becomes visible again, without the employees and
+     * projects already removed. A finished deletion is left as is.
+     * Cancelling and resuming are serialized, so a failed deletion cannot be resumed between the check that it
+     * is not queued and its cancellation, and a cancelled one is never resumed.
+     *
+     * @param id the id of the deletion.
+     * @return the deletion.
+     * @throws EntityNotFoundException if no deletion is found with the specified ID.
+     */
+    @Override
+    public synchronized EmployerDeletionReadDTO cancelDeletion(Long id) throws EntityNotFoundException {
+        Boolean found = transactionTemplate.execute(status -> employerDeletionRepository.findById(id)
+                .map(deletion -> {
+                    if (deletion.getStatus() == DeletionStatus.FAILED && !queued.contains(id)) {
+                        cancel(deletion);
+                    } else if (deletion.isUnfinished()) {
+                        employerDeletionRepository.requestCancel(id);
+                    }
+                    return true;
+                })
+                .orElse(false));
+        if (!Boolean.TRUE.equals(found)) throw new EntityNotFoundException(EmployerDeletion.class, id);
+
+        employerViewsCache.evictAfterCommit();
+        return employerDeletionRepository.findViewById(id);
+    }
+
+    /**
+     * Resumes a deletion with what is left of the employer, e.g. after it failed.
+     * A completed or cancelled deletion is left as is. Serialized with {@link #cancelDeletion(Long)}, so the status
+     * read here is not changed by a cancellation before the deletion is queued.
+     *
+     * @param id the id of the deletion.
+     * @return the deletion.
+     * @throws EntityNotFoundException if no deletion is found with the specified ID.
+     */
+    @Override
+    public synchronized EmployerDeletionReadDTO resumeDeletion(Long id) throws EntityNotFoundException {
+        EmployerDeletionReadDTO deletion = getDeletion(id);
+        if (deletion.getStatus() != DeletionStatus.COMPLETED && deletion.getStatus() != DeletionStatus.CANCELLED) {
+            submit(id);
+        }
+        return deletion;
+    }
+
+    /**
+     * Retrieves a deletion with its progress.
+     *
+     * @param id the id of the deletion.
+     * @return the deletion.
+     * @throws EntityNotFoundException if no deletion is found with the specified ID.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public EmployerDeletionReadDTO getDeletion(Long id) throws EntityNotFoundException {
+        EmployerDeletionReadDTO deletion = employerDeletionRepository.findViewById(id);
+        if (deletion == null) throw new EntityNotFoundException(EmployerDeletion.class, id);
+        return deletion;
+    }
+
+    /**
+     * Retrieves the pending, running and failed deletions with their progress, newest first.
+     *
+     * @return the deletions.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployerDeletionReadDTO> getUnfinishedDeletions() {
+        return employerDeletionRepository.findViewsByStatusIn(
+                Arrays.asList(DeletionStatus.PENDING, DeletionStatus.RUNNING, DeletionStatus.FAILED));
+    }
+
+    /**
+     * Resumes on startup the deletions that were pending or running when the application stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinished() {
+        for (Long id : employerDeletionRepository.findIdsByStatusIn(
+                Arrays.asList(DeletionStatus.PENDING, DeletionStatus.RUNNING))) {
+            submit(id);
+        }
+    }
+
+    /**
+     * Stops after the current chunk; the deletion stays RUNNING and is resumed on the next startup.
+     */
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void submit(Long id) {
+        if (queued.add(id)) {
+            executor.submit(() -> run(id));
+        }
+    }
+
+    /**
+     * Deletes the employer chunk by chunk until nothing is left or the deletion is cancelled.
+     * The arrays are allocated once per run.
+     */
+    private void run(Long id) {
+        long[] ids = new long[chunkSize];
+        long[] salaries = new long[chunkSize];
+        try {
+            setStatus(id, DeletionStatus.RUNNING, null);
+            Boolean more;
+            do {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                more = transactionTemplate.execute(status -> deleteChunk(id, ids, salaries));
+            } while (Boolean.TRUE.equals(more));
+            employerViewsCache.evictAfterCommit();
+            LoggerUtil.getCurrentLogger().info("Employer deletion " + id + " finished");
+        } catch (RuntimeException e) {
+            LoggerUtil.getCurrentLogger().warning("Employer deletion " + id + " failed: " + e.getMessage());
+            setStatus(id, DeletionStatus.FAILED, e.getMessage());
+        } finally {
+            queued.remove(id);
+        }
+    }
+
+    /**
+     * Runs the next step of the deletion in the caller's transaction: a chunk of employees, else a chunk of
+     * projects, else the employer itself; or the cancellation, if it was requested.
+     * @return true if there is more to delete.
+     */
+    private boolean deleteChunk(Long id, long[] ids, long[] salaries) {
+        EmployerDeletion deletion = employerDeletionRepository.findById(id)
+                .orElseThrow(() -> new IllegalStateException("Employer deletion " + id + " does not exist"));
+        Long employerId = deletion.getEmployerId();
+        if (deletion.isCancelRequested()) {
+            cancel(deletion);
+            return false;
+        }
+
+        int count = employerDeletionRepository.lockEmployeeChunk(employerId, ids, salaries);
+        if (count > 0) {
+            int assignments = employerDeletionRepository.detachEmployees(employerId, ids, count);
+            long salary = 0;
+            for (int i = 0; i < count; i++) {
+                salary += salaries[i];
+            }
+            employerPayrollRepository.adjustPayroll(employerId, -count, -salary);
+            deletion.recordEmployees(count, assignments);
+            List<Long> employeeIds = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                employeeIds.add(ids[i]);
+            }
+            changeLogRepository.recordChanges(ResourceType.EMPLOYEE, ChangeType.UPDATED, employeeIds);
+            return true;
+        }
+
+        count = employerDeletionRepository.lockProjectChunk(employerId, ids);
+        if (count > 0) {
+            deletion.recordProjects(count, employerDeletionRepository.deleteProjects(ids, count));
+            List<Long> projectIds = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                projectIds.add(ids[i]);
+            }
+            changeLogRepository.recordChanges(ResourceType.PROJECT, ChangeType.DELETED, projectIds);
+            return true;
+        }
+
+        employerPayrollRepository.deleteByEmployerId(employerId);
+        employerRepository.findById(employerId).ifPresent(employerRepository::delete);
+        deletion.setStatus(DeletionStatus.COMPLETED);
+        deletion.setFinishedAt(LocalDateTime.now());
+        return false;
+    }
+
+    /**
+     * Makes the employer visible again with its remaining employees, in the caller's transaction.
+     */
+    private void cancel(EmployerDeletion deletion) {
+        Long employerId = deletion.getEmployerId();
+        employerRepository.findById(employerId).ifPresent(employer -> employer.setDeleting(false));
+        deletion.setStatus(DeletionStatus.CANCELLED);
+        deletion.setFinishedAt(LocalDateTime.now());
+        eventPublisher.publishEvent(EmployeesChangedEvent.ofEmployees(
+                employerDeletionRepository.findEmployeeIds(employerId)));
+        changeLogRepository.recordChange(ResourceType.EMPLOYER, ChangeType.UPDATED, employerId);
+        LoggerUtil.getCurrentLogger().info("Employer deletion " + deletion.getId() + " cancelled");
+    }
+
+    private void setStatus(Long id, DeletionStatus status, String errorMessage) {
+        transactionTemplate.executeWithoutResult(transaction -> employerDeletionRepository.findById(id)
+                .ifPresent(deletion -> {
+                    deletion.setStatus(status);
+                    deletion.setErrorMessage(errorMessage);
+                    if (status == DeletionStatus.FAILED) {
+                        deletion.setFinishedAt(LocalDateTime.now());
+                    }
+                }));
+    }
+}
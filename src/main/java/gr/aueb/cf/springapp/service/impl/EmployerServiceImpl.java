@@ -1,20 +1,32 @@
 package gr.aueb.cf.springapp.service.impl;
 
+import gr.aueb.cf.springapp.dao.ChangeLogRepository;
 import gr.aueb.cf.springapp.dao.EmployeeRepository;
+import gr.aueb.cf.springapp.dao.EmployerPayrollRepository;
 import gr.aueb.cf.springapp.dao.EmployerRepository;
+import gr.aueb.cf.springapp.dto.EmployeeReadDTO;
 import gr.aueb.cf.springapp.dto.EmployerDTO;
+import gr.aueb.cf.springapp.dto.EmployerReadDTO;
 import gr.aueb.cf.springapp.entity.Employee;
 import gr.aueb.cf.springapp.entity.Employer;
 import gr.aueb.cf.springapp.entity.Project;
+import gr.aueb.cf.springapp.enums.ChangeType;
+import gr.aueb.cf.springapp.enums.ResourceType;
 import gr.aueb.cf.springapp.service.IEmployerService;
+import gr.aueb.cf.springapp.service.event.EmployeesChangedEvent;
 import gr.aueb.cf.springapp.service.exceptions.EntityAlreadyExistsException;
 import gr.aueb.cf.springapp.service.exceptions.EntityNotFoundException;
+import gr.aueb.cf.springapp.service.util.ChunkedRows;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class EmployerServiceImpl implements IEmployerService {
@@ -22,10 +34,24 @@ public class EmployerServiceImpl implements IEmployerService {
     private final EmployerRepository employerRepository;
 
     private final EmployeeRepository employeeRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final EmployerPayrollRepository employerPayrollRepository;
+
+    private final ChangeLogRepository changeLogRepository;
+    private final EmployerViewsCache employerViewsCache;
     @Autowired
-    public EmployerServiceImpl(EmployerRepository employerRepository, EmployeeRepository employeeRepository) {
+    public EmployerServiceImpl(EmployerRepository employerRepository, EmployeeRepository employeeRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               EmployerPayrollRepository employerPayrollRepository,
+                               ChangeLogRepository changeLogRepository, EmployerViewsCache employerViewsCache) {
         this.employerRepository = employerRepository;
         this.employeeRepository = employeeRepository;
+        this.eventPublisher = eventPublisher;
+        this.employerPayrollRepository = employerPayrollRepository;
+        this.changeLogRepository = changeLogRepository;
+        this.employerViewsCache = employerViewsCache;
     }
 
 
@@ -39,6 +65,31 @@ public class EmployerServiceImpl implements IEmployerService {
         return employerRepository.findAll();
     }
 
+    /**
+     * Retrieves all employers with their employees as flat, read-only rows, read one chunk of employers at a time
+     * for the list view. Every chunk is read with two queries, its employers and their employees.
+     * @param chunkSize The number of employers read at a time.
+     * @return The employers, read as they are iterated.
+     */
+    @Override
+    public ChunkedRows<EmployerReadDTO> findEmployerViewsInChunks(int chunkSize) {
+        return new ChunkedRows<>(chunkSize, (after, size) -> {
+            List<EmployerReadDTO> employers = employerRepository.findViewsAfter(after == null ? null : after.getId(),
+                    PageRequest.of(0, size));
+            if (employers.isEmpty()) {
+                return employers;
+            }
+            Map<Long, EmployerReadDTO> employersById = new HashMap<>();
+            for (EmployerReadDTO employer : employers) {
+                employersById.put(employer.getId(), employer);
+            }
+            for (EmployeeReadDTO employee : employeeRepository.findViewsByEmployerIdIn(employersById.keySet())) {
+                employersById.get(employee.getEmployerId()).addEmployee(employee);
+            }
+            return employers;
+        });
+    }
+
     /**
      * Retrieves an employer by ID.
      * @param id The ID of the employer to retrieve.
@@ -68,55 +119,12 @@ public class EmployerServiceImpl implements IEmployerService {
         employer.setName(employerDTO.getName());
         employer.setAddress(employerDTO.getAddress());
         employerRepository.save(employer);
+        employerViewsCache.evictAfterCommit();
+        changeLogRepository.recordChange(ResourceType.EMPLOYER, ChangeType.UPDATED, employer.getId());
+        eventPublisher.publishEvent(EmployeesChangedEvent.ofEmployer(employer.getId()));
         return employer;
     }
 
-    /**
-     * Deletes an employer by ID.
-     * It also removes employer from all of his employees, deletes all employer's projects
-     * and removes the relationship between project and employees(since project and employee must belong to the same employer).
-     * @param id The ID of the employer to delete.
-     * @throws EntityNotFoundException If the employer with the specified ID does not exist.
-     */
-    @Override
-    @Transactional
-    public void deleteEmployer(Long id) throws EntityNotFoundException {
-        Employer employer = employerRepository.findEmployerById(id);
-        if (employer == null) throw new EntityNotFoundException(Employer.class, id);
-
-        List<Employee> employees = new ArrayList<>(employer.getAllEmployees());
-        List<Project> projects = new ArrayList<>(employer.getAllProjects());
-
-        if (!employees.isEmpty()){
-            for (Employee employee : employees){
-                employee.removeEmployer();
-            }
-        }
-
-
-        if (!projects.isEmpty()) {
-            for (Project project : projects) {
-                employer.deleteProject(project);
-                removeProjectFromEmployees(project);
-            }
-        }
-        employerRepository.deleteById(id);
-    }
-
-    /**
-     * Removes a project from all its employees.
-     * (Also in the deleteProject convenient method employees are removed from the project)
-     *@param project  projects to remove from employees .
-     *
-     */
-    private void removeProjectFromEmployees(Project project) {
-        List<Employee> employees = new ArrayList<>(project.getAllEmployees());
-        for (Employee employee : employees) {
-            employee.deleteProject(project);
-        }
-    }
-
-
     /**
      * Retrieves all employees of an employer.
      * @param id The ID of the employer.
@@ -166,7 +174,10 @@ public class EmployerServiceImpl implements IEmployerService {
         if (employerDTO.getId() != null) {
             throw  new EntityAlreadyExistsException(Employer.class, employerDTO.getId());
         }
-        return employerRepository.save(mapToEmployer(employerDTO));
+        Employer employer = employerRepository.save(mapToEmployer(employerDTO));
+        employerViewsCache.evictAfterCommit();
+        changeLogRepository.recordChange(ResourceType.EMPLOYER, ChangeType.CREATED, employer.getId());
+        return employer;
     }
 
 
@@ -197,7 +208,12 @@ public class EmployerServiceImpl implements IEmployerService {
 
         removeEmployeeFromProjects(employee,projects);
 
+        Long previousEmployerId = employee.getEmployer().getId();
         employer.deleteEmployee(employee);
+        employerPayrollRepository.adjustPayroll(previousEmployerId, -1,
+                employee.getSalary() == null ? 0 : -employee.getSalary());
+        changeLogRepository.recordChange(ResourceType.EMPLOYEE, ChangeType.UPDATED, employeeId);
+        eventPublisher.publishEvent(EmployeesChangedEvent.ofEmployee(employeeId));
     }
 
     /**
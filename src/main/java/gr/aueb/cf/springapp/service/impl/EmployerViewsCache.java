@@ -0,0 +1,56 @@
+package gr.aueb.cf.springapp.service.impl;
+
+import gr.aueb.cf.springapp.config.CacheConfig;
+import gr.aueb.cf.springapp.dao.EmployerRepository;
+import gr.aueb.cf.springapp.dto.EmployerReadDTO;
+import gr.aueb.cf.springapp.service.util.TransactionUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * The single owner of the employer dropdown cache (employerViews): the services read the flat employer rows
+ * through it and clear it through it whenever an employer is inserted, updated, hidden or shown again.
+ * The cache is cleared once the changing transaction has committed; clearing it before the commit would let
+ * a concurrent request cache the old rows again.
+ */
+@Component
+public class EmployerViewsCache {
+
+    private final EmployerRepository employerRepository;
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public EmployerViewsCache(EmployerRepository employerRepository, CacheManager cacheManager) {
+        this.employerRepository = employerRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Retrieves all employers as flat, read-only rows, e.g. to fill the employer dropdowns.
+     * The rows are cached until an employer is inserted, updated or deleted.
+     * @return A list of all employers.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.EMPLOYER_VIEWS_CACHE)
+    public List<EmployerReadDTO> getEmployerViews() {
+        return employerRepository.findAllViews();
+    }
+
+    /**
+     * Clears the cached rows once the current transaction has committed, or right away if there is none.
+     */
+    public void evictAfterCommit() {
+        TransactionUtil.afterCommit(() -> {
+            Cache cache = cacheManager.getCache(CacheConfig.EMPLOYER_VIEWS_CACHE);
+            if (cache != null) {
+                cache.clear();
+            }
+        });
+    }
+}
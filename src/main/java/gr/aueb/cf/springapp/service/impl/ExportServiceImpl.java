@@ -0,0 +1,127 @@
+package gr.aueb.cf.springapp.service.impl;
+
+import gr.aueb.cf.springapp.dao.EmployeeRepository;
+import gr.aueb.cf.springapp.dao.EmployerRepository;
+import gr.aueb.cf.springapp.dao.ProjectRepository;
+import gr.aueb.cf.springapp.dto.AssignmentReadDTO;
+import gr.aueb.cf.springapp.dto.EmployeeReadDTO;
+import gr.aueb.cf.springapp.dto.EmployerReadDTO;
+import gr.aueb.cf.springapp.dto.ProjectReadDTO;
+import gr.aueb.cf.springapp.enums.ExportFormat;
+import gr.aueb.cf.springapp.service.IExportService;
+import gr.aueb.cf.springapp.service.util.TableWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exports employees, employers, projects and the assignment table as CSV or XLSX.
+ * The rows are read as flat DTOs through forward-only cursors and written to the output stream as they arrive,
+ * so neither the result list nor any entity is kept in memory and the response starts right away.
+ */
+@Service
+public class ExportServiceImpl implements IExportService {
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployerRepository employerRepository;
+    private final ProjectRepository projectRepository;
+
+    @Autowired
+    public ExportServiceImpl(EmployeeRepository employeeRepository, EmployerRepository employerRepository,
+                             ProjectRepository projectRepository) {
+        this.employeeRepository = employeeRepository;
+        this.employerRepository = employerRepository;
+        this.projectRepository = projectRepository;
+    }
+
+    /**
+     * Writes all employees with their employer.
+     * @param format the format of the export.
+     * @param outputStream the stream to write to; it is not closed.
+     * @throws IOException if the rows cannot be written.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmployees(ExportFormat format, OutputStream outputStream) throws IOException {
+        try (Stream<EmployeeReadDTO> employees = employeeRepository.streamAllViews();
+             TableWriter writer = TableWriter.of(format, outputStream, "Employees")) {
+            writer.writeRow("id", "firstname", "lastname", "jobTitle", "salary", "employerId", "employerName");
+            Iterator<EmployeeReadDTO> iterator = employees.iterator();
+            while (iterator.hasNext()) {
+                EmployeeReadDTO employee = iterator.next();
+                writer.writeRow(employee.getId(), employee.getFirstname(), employee.getLastname(),
+                        employee.getJobTitle(), employee.getSalary(), employee.getEmployerId(),
+                        employee.getEmployerName());
+            }
+        }
+    }
+
+    /**
+     * Writes all employers.
+     * @param format the format of the export.
+     * @param outputStream the stream to write to; it is not closed.
+     * @throws IOException if the rows cannot be written.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmployers(ExportFormat format, OutputStream outputStream) throws IOException {
+        try (Stream<EmployerReadDTO> employers = employerRepository.streamAllViews();
+             TableWriter writer = TableWriter.of(format, outputStream, "Employers")) {
+            writer.writeRow("id", "name", "address");
+            Iterator<EmployerReadDTO> iterator = employers.iterator();
+            while (iterator.hasNext()) {
+                EmployerReadDTO employer = iterator.next();
+                writer.writeRow(employer.getId(), employer.getName(), employer.getAddress());
+            }
+        }
+    }
+
+    /**
+     * Writes all projects with their employer.
+     * @param format the format of the export.
+     * @param outputStream the stream to write to; it is not closed.
+     * @throws IOException if the rows cannot be written.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportProjects(ExportFormat format, OutputStream outputStream) throws IOException {
+        try (Stream<ProjectReadDTO> projects = projectRepository.streamAllViews();
+             TableWriter writer = TableWriter.of(format, outputStream, "Projects")) {
+            writer.writeRow("id", "name", "description", "startDate", "endDate", "status", "employerId",
+                    "employerName");
+            Iterator<ProjectReadDTO> iterator = projects.iterator();
+            while (iterator.hasNext()) {
+                ProjectReadDTO project = iterator.next();
+                writer.writeRow(project.getId(), project.getName(), project.getDescription(),
+                        project.getStartDate(), project.getEndDate(), project.getStatus(),
+                        project.getEmployerId(), project.getEmployerName());
+            }
+        }
+    }
+
+    /**
+     * Writes all rows of the EMPLOYEES_PROJECTS assignment table, with the employee and project names.
+     * @param format the format of the export.
+     * @param outputStream the stream to write to; it is not closed.
+     * @throws IOException if the rows cannot be written.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAssignments(ExportFormat format, OutputStream outputStream) throws IOException {
+        try (Stream<AssignmentReadDTO> assignments = employeeRepository.streamAllAssignments();
+             TableWriter writer = TableWriter.of(format, outputStream, "Assignments")) {
+            writer.writeRow("employeeId", "firstname", "lastname", "projectId", "projectName");
+            Iterator<AssignmentReadDTO> iterator = assignments.iterator();
+            while (iterator.hasNext()) {
+                AssignmentReadDTO assignment = iterator.next();
+                writer.writeRow(assignment.getEmployeeId(), assignment.getFirstname(), assignment.getLastname(),
+                        assignment.getProjectId(), assignment.getProjectName());
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package gr.aueb.cf.springapp.service.impl;
+
+import gr.aueb.cf.springapp.dao.EmployeeRepository;
+import gr.aueb.cf.springapp.dao.EmployerPayrollRepository;
+import gr.aueb.cf.springapp.dao.ProjectRepository;
+import gr.aueb.cf.springapp.dto.PayrollSummaryDTO;
+import gr.aueb.cf.springapp.service.IPayrollService;
+import gr.aueb.cf.springapp.service.util.MoneyUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Payroll reports per employer, job title and project staffing. All totals, averages and medians
+ * are computed by the database; the employer report reads the running totals kept in EMPLOYER_PAYROLLS.
+ * Totals are exact sums of the DECIMAL salaries, handled in minor units (cents).
+ */
+@Service
+public class PayrollServiceImpl implements IPayrollService {
+
+    private final EmployerPayrollRepository employerPayrollRepository;
+    private final EmployeeRepository employeeRepository;
+    private final ProjectRepository projectRepository;
+
+    @Autowired
+    public PayrollServiceImpl(EmployerPayrollRepository employerPayrollRepository,
+                              EmployeeRepository employeeRepository, ProjectRepository projectRepository) {
+        this.employerPayrollRepository = employerPayrollRepository;
+        this.employeeRepository = employeeRepository;
+        this.projectRepository = projectRepository;
+    }
+
+    /**
+     * Retrieves the payroll of every employer from the running totals, one row per employer.
+     * The median is not part of the running totals; when requested it is computed with an extra query
+     * over the employees.
+     *
+     * @param withMedian whether to compute the median salary of each employer.
+     * @return The payroll of every employer, by name
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<PayrollSummaryDTO> getPayrollByEmployer(boolean withMedian) {
+        List<PayrollSummaryDTO> payrolls = employerPayrollRepository.findAllSummaries();
+        if (withMedian) {
+            setMedians(payrolls, toMedians(employeeRepository.findMedianSalaryByEmployer(), true), true);
+        }
+        return payrolls;
+    }
+
+    /**
+     * Retrieves the total, average and median salary of every job title.
+     *
+     * @return The payroll of every job title, by job title
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<PayrollSummaryDTO> getPayrollByJobTitle() {
+        List<PayrollSummaryDTO> payrolls = new ArrayList<>();
+        for (Object[] row : employeeRepository.findPayrollByJobTitle()) {
+            payrolls.add(new PayrollSummaryDTO(null, (String) row[0], toLong(row[1]), toLong(row[2])));
+        }
+        setMedians(payrolls, toMedians(employeeRepository.findMedianSalaryByJobTitle(), false), false);
+        return payrolls;
+    }
+
+    /**
+     * Retrieves the total, average and median salary of the employees staffed on every project.
+     *
+     * @return The payroll of every staffed project, by name
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<PayrollSummaryDTO> getPayrollByProject() {
+        List<PayrollSummaryDTO> payrolls = new ArrayList<>();
+        for (Object[] row : projectRepository.findPayrollByProject()) {
+            payrolls.add(new PayrollSummaryDTO(toLong(row[0]), (String) row[1], toLong(row[2]), toLong(row[3])));
+        }
+        setMedians(payrolls, toMedians(projectRepository.findMedianSalaryByProject(), true), true);
+        return payrolls;
+    }
+
+    /**
+     * Maps the (key, median) rows of a median query by their key, with the medians in minor units.
+     * @param rows the rows of the query.
+     * @param numericKey whether the key is an id, which native queries may return as any Number type.
+     * @return the medians by key.
+     */
+    private Map<Object, Long> toMedians(List<Object[]> rows, boolean numericKey) {
+        Map<Object, Long> medians = new HashMap<>();
+        for (Object[] row : rows) {
+            Object key = numericKey ? toLong(row[0]) : row[0];
+            medians.put(key, row[1] == null ? null : MoneyUtil.toMinorUnits(new BigDecimal(row[1].toString())));
+        }
+        return medians;
+    }
+
+    /**
+     * Reads a count, id or amount in minor units of a native query, which may be returned as any Number type.
+     */
+    private Long toLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+    /**
+     * Sets the median of every payroll row from the medians by key.
+     * @param payrolls the payroll rows.
+     * @param medians the medians by id or by name.
+     * @param byId whether the medians are keyed by the id of the rows, or else by their name.
+     */
+    private void setMedians(List<PayrollSummaryDTO> payrolls, Map<Object, Long> medians, boolean byId) {
+        for (PayrollSummaryDTO payroll : payrolls) {
+            payroll.setMedianSalary(medians.get(byId ? payroll.getId() : payroll.getName()));
+        }
+    }
+}
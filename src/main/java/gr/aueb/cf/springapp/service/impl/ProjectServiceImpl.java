@@ -1,28 +1,46 @@
 package gr.aueb.cf.springapp.service.impl;
 
+import gr.aueb.cf.springapp.dao.ChangeLogRepository;
 import gr.aueb.cf.springapp.dao.EmployeeRepository;
 import gr.aueb.cf.springapp.dao.EmployerRepository;
 import gr.aueb.cf.springapp.dao.ProjectRepository;
+import gr.aueb.cf.springapp.dto.AssignmentMatrixDTO;
+import gr.aueb.cf.springapp.dto.BulkAssignmentResultDTO;
+import gr.aueb.cf.springapp.dto.EmployeeReadDTO;
+import gr.aueb.cf.springapp.dto.EmployerReadDTO;
+import gr.aueb.cf.springapp.dto.LinkReadDTO;
 import gr.aueb.cf.springapp.dto.ProjectDTO;
+import gr.aueb.cf.springapp.dto.ProjectFilterDTO;
+import gr.aueb.cf.springapp.dto.ProjectReadDTO;
 import gr.aueb.cf.springapp.entity.Employee;
 import gr.aueb.cf.springapp.entity.Employer;
 import gr.aueb.cf.springapp.entity.Project;
+import gr.aueb.cf.springapp.enums.ChangeType;
+import gr.aueb.cf.springapp.enums.ResourceType;
 import gr.aueb.cf.springapp.service.IProjectService;
 import gr.aueb.cf.springapp.service.exceptions.EntityAlreadyExistsException;
 import gr.aueb.cf.springapp.service.exceptions.EntityNotFoundException;
 import gr.aueb.cf.springapp.service.exceptions.InvalidEmployeeAssigmentException;
 import gr.aueb.cf.springapp.service.exceptions.ProjectAlreadyAssignedInEmployee;
+import gr.aueb.cf.springapp.service.util.ChunkedRows;
+import gr.aueb.cf.springapp.service.util.DateUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class ProjectServiceImpl implements IProjectService {
@@ -32,11 +50,18 @@ public class ProjectServiceImpl implements IProjectService {
 
     private final EmployerRepository employerRepository;
 
+    private final ChangeLogRepository changeLogRepository;
+
+    private final EmployerViewsCache employerViewsCache;
+
     @Autowired
-    public ProjectServiceImpl(ProjectRepository projectRepository, EmployeeRepository employeeRepository, EmployerRepository employerRepository) {
+    public ProjectServiceImpl(ProjectRepository projectRepository, EmployeeRepository employeeRepository, EmployerRepository employerRepository,
+                              ChangeLogRepository changeLogRepository, EmployerViewsCache employerViewsCache) {
         this.projectRepository = projectRepository;
         this.employeeRepository = employeeRepository;
         this.employerRepository = employerRepository;
+        this.changeLogRepository = changeLogRepository;
+        this.employerViewsCache = employerViewsCache;
     }
 
     /**
@@ -59,6 +84,17 @@ public class ProjectServiceImpl implements IProjectService {
         return employerRepository.findAll();
     }
 
+    /**
+     * Retrieves all employers as flat, read-only rows, e.g. to fill the employer dropdowns.
+     * The rows are cached by {@link EmployerViewsCache} until an employer is inserted, updated or deleted.
+     *
+     * @return The list of employers
+     */
+    @Override
+    public List<EmployerReadDTO> getAllEmployerViews() {
+        return employerViewsCache.getEmployerViews();
+    }
+
     /**
      * Retrieves a list of all projects.
      *
@@ -69,6 +105,206 @@ public class ProjectServiceImpl implements IProjectService {
         return projectRepository.findAll();
     }
 
+    /**
+     * Retrieves all projects with their employees as flat, read-only rows.
+     * The rows are built from two queries, whatever the number of projects and assignments.
+     *
+     * @return The list of projects
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProjectReadDTO> findAllProjectViews() {
+        List<ProjectReadDTO> projects = projectRepository.findAllViews();
+        addEmployeeLinks(projects, projectRepository.findAllEmployeeLinks());
+        return projects;
+    }
+
+    /**
+     * Retrieves all projects as flat, read-only rows without their employees, e.g. to fill the project dropdowns.
+     *
+     * @return A list of all projects, without their employees
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProjectReadDTO> findAllProjectViewsWithoutEmployees() {
+        return projectRepository.findAllViews();
+    }
+
+    /**
+     * Retrieves a page of employers with the assignments of their employees to their projects.
+     * The matrices are built from four queries whatever the number of employees and projects: the page of
+     * employers, their employees, their projects and the pairs of the join table.
+     *
+     * @param pageable The page of employers
+     * @return A page of assignment matrices, one per employer
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<AssignmentMatrixDTO> getAssignmentMatrices(Pageable pageable) {
+        Page<EmployerReadDTO> employers = employerRepository.findViewsPage(pageable);
+        Map<Long, AssignmentMatrixDTO> matricesByEmployerId = new LinkedHashMap<>();
+        for (EmployerReadDTO employer : employers) {
+            matricesByEmployerId.put(employer.getId(), new AssignmentMatrixDTO(employer.getId(), employer.getName()));
+        }
+        if (matricesByEmployerId.isEmpty()) {
+            return employers.map(employer -> matricesByEmployerId.get(employer.getId()));
+        }
+
+        Map<Long, AssignmentMatrixDTO> matricesByProjectId = new HashMap<>();
+        for (LinkReadDTO project : projectRepository.findLinksByEmployerIdIn(matricesByEmployerId.keySet())) {
+            AssignmentMatrixDTO matrix = matricesByEmployerId.get(project.getOwnerId());
+            matrix.addProject(project);
+            matricesByProjectId.put(project.getId(), matrix);
+        }
+        for (EmployeeReadDTO employee : employeeRepository.findViewsByEmployerIdIn(matricesByEmployerId.keySet())) {
+            matricesByEmployerId.get(employee.getEmployerId())
+                    .addEmployee(employee.getId(), employee.getFirstname(), employee.getLastname());
+        }
+        projectRepository.forEachAssignmentOfEmployers(matricesByEmployerId.keySet(), (employeeId, projectId) -> {
+            AssignmentMatrixDTO matrix = matricesByProjectId.get(projectId);
+            if (matrix != null) {
+                matrix.markAssigned(employeeId, projectId);
+            }
+        });
+        return employers.map(employer -> matricesByEmployerId.get(employer.getId()));
+    }
+
+    /**
+     * Retrieves the projects matching the date filter with their employees as flat, read-only rows.
+     * The dates are compared in the database, on the indexed START_DATE and END_DATE columns.
+     * Only the first given filter is applied, in this order: active on a date, ending within a number of days
+     * from today, overlapping a date range. Without any filter all projects are returned.
+     *
+     * @param filter The date filter
+     * @return The list of matching projects
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProjectReadDTO> findProjectViews(ProjectFilterDTO filter) {
+        List<ProjectReadDTO> projects;
+        if (filter.getActiveOn() != null) {
+            projects = projectRepository.findViewsActiveOn(filter.getActiveOn());
+        } else if (filter.getEndingWithinDays() != null && filter.getEndingWithinDays() >= 0) {
+            LocalDate today = LocalDate.now();
+            projects = projectRepository.findViewsEndingBetween(today, today.plusDays(filter.getEndingWithinDays()));
+        } else if (filter.getOverlapFrom() != null && filter.getOverlapTo() != null) {
+            projects = projectRepository.findViewsOverlapping(filter.getOverlapFrom(), filter.getOverlapTo());
+        } else {
+            return findAllProjectViews();
+        }
+
+        return withEmployeeLinks(projects);
+    }
+
+    /**
+     * Retrieves the projects matching the date filter with their headcounts as flat, read-only rows, read one chunk
+     * at a time for the list view. The filter is applied as in {@link #findProjectViews(ProjectFilterDTO)} and
+     * every chunk is read with two queries, its projects and one GROUP BY on the join table for their headcounts,
+     * so the cost does not depend on the size of the teams; the employees are read with
+     * {@link #findProjectMembers(Long, Pageable)} when they are shown.
+     *
+     * @param filter    The date filter
+     * @param chunkSize The number of projects read at a time
+     * @return The matching projects, read as they are iterated
+     */
+    @Override
+    public ChunkedRows<ProjectReadDTO> findProjectViewsInChunks(ProjectFilterDTO filter, int chunkSize) {
+        ChunkedRows.ChunkLoader<ProjectReadDTO> loader;
+        if (filter.getActiveOn() != null) {
+            LocalDate date = filter.getActiveOn();
+            loader = (after, size) -> projectRepository.findViewsActiveOnAfter(date,
+                    after == null ? null : after.getId(), PageRequest.of(0, size));
+        } else if (filter.getEndingWithinDays() != null && filter.getEndingWithinDays() >= 0) {
+            LocalDate today = LocalDate.now();
+            LocalDate to = today.plusDays(filter.getEndingWithinDays());
+            loader = (after, size) -> projectRepository.findViewsEndingBetweenAfter(today, to,
+                    after == null ? null : after.getEndDate(), after == null ? null : after.getId(),
+                    PageRequest.of(0, size));
+        } else if (filter.getOverlapFrom() != null && filter.getOverlapTo() != null) {
+            LocalDate from = filter.getOverlapFrom();
+            LocalDate to = filter.getOverlapTo();
+            loader = (after, size) -> projectRepository.findViewsOverlappingAfter(from, to,
+                    after == null ? null : after.getStartDate(), after == null ? null : after.getId(),
+                    PageRequest.of(0, size));
+        } else {
+            loader = (after, size) -> projectRepository.findViewsAfter(after == null ? null : after.getId(),
+                    PageRequest.of(0, size));
+        }
+        return new ChunkedRows<>(chunkSize, (after, size) -> withEmployeeCounts(loader.load(after, size)));
+    }
+
+    /**
+     * Retrieves a page of the employees of a project, in name order.
+     *
+     * @param projectId The ID of the project
+     * @param pageable  The page of employees
+     * @return A page of references to the employees of the project
+     * @throws EntityNotFoundException If the project is not found or its employer is being deleted
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<LinkReadDTO> findProjectMembers(Long projectId, Pageable pageable) throws EntityNotFoundException {
+        if (!projectRepository.existsVisibleById(projectId)) {
+            throw new EntityNotFoundException(Project.class, projectId);
+        }
+        return projectRepository.findEmployeeLinksPage(projectId, pageable);
+    }
+
+    /**
+     * Sets on each project its headcount, counted with a single GROUP BY query on the join table.
+     *
+     * @param projects The project rows
+     * @return The same project rows, with their headcounts
+     */
+    private List<ProjectReadDTO> withEmployeeCounts(List<ProjectReadDTO> projects) {
+        if (!projects.isEmpty()) {
+            Map<Long, ProjectReadDTO> projectsById = new HashMap<>();
+            for (ProjectReadDTO project : projects) {
+                projectsById.put(project.getId(), project);
+            }
+            for (Object[] row : projectRepository.countEmployeesByProjectIdIn(projectsById.keySet())) {
+                projectsById.get(((Number) row[0]).longValue()).setEmployeeCount(((Number) row[1]).longValue());
+            }
+        }
+        return projects;
+    }
+
+    /**
+     * Attaches to each project its employees, read with a single query on the join table.
+     *
+     * @param projects The project rows
+     * @return The same project rows, with their employees
+     */
+    private List<ProjectReadDTO> withEmployeeLinks(List<ProjectReadDTO> projects) {
+        if (!projects.isEmpty()) {
+            List<Long> projectIds = new ArrayList<>(projects.size());
+            for (ProjectReadDTO project : projects) {
+                projectIds.add(project.getId());
+            }
+            addEmployeeLinks(projects, projectRepository.findEmployeeLinksByProjectIdIn(projectIds));
+        }
+        return projects;
+    }
+
+    /**
+     * Attaches each employee link to the project row it belongs to.
+     *
+     * @param projects  The project rows
+     * @param employees The employee links of the projects
+     */
+    private void addEmployeeLinks(List<ProjectReadDTO> projects, List<LinkReadDTO> employees) {
+        Map<Long, ProjectReadDTO> projectsById = new HashMap<>();
+        for (ProjectReadDTO project : projects) {
+            projectsById.put(project.getId(), project);
+        }
+        for (LinkReadDTO employee : employees) {
+            ProjectReadDTO project = projectsById.get(employee.getOwnerId());
+            if (project != null) {
+                project.addEmployee(employee);
+            }
+        }
+    }
+
 
     /**
      * Retrieves a project by its ID.
@@ -104,7 +340,9 @@ public class ProjectServiceImpl implements IProjectService {
         Employer employer = projectDTO.getEmployer();
         project.setEmployer(employer);
         employer.addProject(project);
-        return projectRepository.save(project);
+        Project inserted = projectRepository.save(project);
+        changeLogRepository.recordChange(ResourceType.PROJECT, ChangeType.CREATED, inserted.getId());
+        return inserted;
 
     }
 
@@ -123,17 +361,18 @@ public class ProjectServiceImpl implements IProjectService {
         project.setId(projectDTO.getId());
         project.setName(projectDTO.getName());
         project.setDescription(projectDTO.getDescription());
-        project.setStartDate(projectDTO.getStartDate());
-        project.setEndDate(projectDTO.getEndDate());
+        project.setStartDate(DateUtil.parse(projectDTO.getStartDate()));
+        project.setEndDate(DateUtil.parse(projectDTO.getEndDate()));
         project.setStatus(projectDTO.getStatus());
 
         projectRepository.save(project);
+        changeLogRepository.recordChange(ResourceType.PROJECT, ChangeType.UPDATED, project.getId());
         return project;
     }
 
     /**
-     * Deletes a project by its ID.It also removes project from all employees associated with it
-     * and sets its employer to null.
+     * Deletes a project by its ID. All of its assignments are removed with one DELETE on the join table,
+     * without loading its employees; only the associations Hibernate has already loaded are updated in memory.
      *
      * @param id The ID of the project to delete
      * @throws EntityNotFoundException If the project is not found
@@ -145,26 +384,13 @@ public class ProjectServiceImpl implements IProjectService {
         project = projectRepository.findProjectById(id);
         if (project == null) throw new EntityNotFoundException(Project.class, id);
 
-        removeProjectFromEmployees(project);
-
-        project.setEmployer(null);
-        projectRepository.deleteById(id);
-    }
-
-
-    /**
-     * Removes a project from all associated employees.
-     *
-     * @param project The project to remove
-     */
-    private void removeProjectFromEmployees(Project project) {
-        List<Employee> employees = new ArrayList<>(project.getAllEmployees());
-        if (employees.size() == 0) {
-            return;
-        }
-        for (Employee employee : employees) {
-            employee.deleteProject(project);
-        }
+        project.releaseLoadedAssociations();
+        projectRepository.flush();
+        List<Long> employeeIds = projectRepository.findEmployeeIdsByProjectId(id);
+        projectRepository.deleteAllAssignments(id);
+        projectRepository.delete(project);
+        changeLogRepository.recordChanges(ResourceType.EMPLOYEE, ChangeType.UPDATED, employeeIds);
+        changeLogRepository.recordChange(ResourceType.PROJECT, ChangeType.DELETED, id);
     }
 
 
@@ -199,6 +425,7 @@ public class ProjectServiceImpl implements IProjectService {
         }
 
         project.addEmployee(employee);
+        changeLogRepository.recordChange(ResourceType.EMPLOYEE, ChangeType.UPDATED, employeeId);
         return employee;
     }
 
@@ -223,11 +450,77 @@ public class ProjectServiceImpl implements IProjectService {
 
         project.deleteEmployee(employee);
         employee.deleteProject(project);
+        changeLogRepository.recordChange(ResourceType.EMPLOYEE, ChangeType.UPDATED, employeeId);
 
         return employee;
     }
 
 
+    /**
+     * Assigns many employees to a project in one transaction.
+     * The employer membership of all employees is checked with one query, and the join rows of the employees
+     * that are not assigned yet are inserted with a JDBC batch, without loading any employee.
+     * Either all employees are assigned or, if one of them is invalid, none.
+     *
+     * @param projectId   The ID of the project
+     * @param employeeIds The IDs of the employees
+     * @return The number of requested and newly assigned employees
+     * @throws EntityNotFoundException           If the project or one of the employees is not found
+     * @throws InvalidEmployeeAssigmentException If some employees don't belong to the employer of the project
+     */
+    @Override
+    @Transactional
+    public BulkAssignmentResultDTO assignEmployeesToProject(Long projectId, Collection<Long> employeeIds)
+            throws EntityNotFoundException, InvalidEmployeeAssigmentException {
+
+        Project project = projectRepository.findProjectById(projectId);
+        if (project == null) throw new EntityNotFoundException(Project.class, projectId);
+
+        Set<Long> requested = new LinkedHashSet<>(employeeIds);
+        if (requested.isEmpty()) {
+            return new BulkAssignmentResultDTO(projectId, project.getName(), 0, 0);
+        }
+
+        Set<Long> invalid = new LinkedHashSet<>(requested);
+        invalid.removeAll(employeeRepository.findIdsByEmployerIdAndIdIn(project.getEmployer().getId(), requested));
+        if (!invalid.isEmpty()) {
+            for (Long employeeId : invalid) {
+                if (!employeeRepository.existsById(employeeId)) {
+                    throw new EntityNotFoundException(Employee.class, employeeId);
+                }
+            }
+            throw new InvalidEmployeeAssigmentException(Project.class, projectId, invalid);
+        }
+
+        Set<Long> assigned = projectRepository.insertAssignments(projectId, requested);
+        changeLogRepository.recordChanges(ResourceType.EMPLOYEE, ChangeType.UPDATED, assigned);
+        return new BulkAssignmentResultDTO(projectId, project.getName(), requested.size(), assigned.size());
+    }
+
+    /**
+     * Releases many employees from a project in one transaction, with one DELETE on the join table.
+     * Employees that are not assigned to the project are ignored.
+     *
+     * @param projectId   The ID of the project
+     * @param employeeIds The IDs of the employees
+     * @return The number of requested and released employees
+     * @throws EntityNotFoundException If the project is not found
+     */
+    @Override
+    @Transactional
+    public BulkAssignmentResultDTO unassignEmployeesFromProject(Long projectId, Collection<Long> employeeIds)
+            throws EntityNotFoundException {
+
+        Project project = projectRepository.findProjectById(projectId);
+        if (project == null) throw new EntityNotFoundException(Project.class, projectId);
+
+        Set<Long> requested = new LinkedHashSet<>(employeeIds);
+        Set<Long> released = projectRepository.deleteAssignments(projectId, requested);
+        changeLogRepository.recordChanges(ResourceType.EMPLOYEE, ChangeType.UPDATED, released);
+        return new BulkAssignmentResultDTO(projectId, project.getName(), requested.size(), released.size());
+    }
+
+
     /**
      * Checks if a date string is in the correct format (yyyy-MM-dd).
      *
@@ -236,9 +529,7 @@ public class ProjectServiceImpl implements IProjectService {
      */
     @Override
     public boolean isDateFormatted(String date) {
-        Pattern pattern = Pattern.compile("^\\d{4}-\\d{2}-\\d{2}$");
-        Matcher matcher = pattern.matcher(date);
-        return matcher.matches();
+        return date != null && DateUtil.DATE_PATTERN.matcher(date).matches();
     }
 
 
@@ -250,17 +541,15 @@ public class ProjectServiceImpl implements IProjectService {
      */
     @Override
     public boolean isDateValid(String dateToValid){
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-
         LocalDate date;
 
         try {
-            date = LocalDate.parse(dateToValid, formatter);
+            date = DateUtil.parse(dateToValid);
         }catch (DateTimeParseException e) {
             return false;
         }
 
-        return !date.isBefore(LocalDate.now());
+        return date != null && !date.isBefore(LocalDate.now());
     }
 
     /**
@@ -272,19 +561,17 @@ public class ProjectServiceImpl implements IProjectService {
      */
     @Override
     public boolean isEndAfterStartDate(String startDateToValid, String endDateToValid) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-
         LocalDate startDate;
         LocalDate endDate;
 
         try {
-            startDate = LocalDate.parse(startDateToValid, formatter);
-        endDate = LocalDate.parse(endDateToValid, formatter);
+            startDate = DateUtil.parse(startDateToValid);
+            endDate = DateUtil.parse(endDateToValid);
         }catch (DateTimeParseException e) {
             return false;
         }
 
-        return endDate.isAfter(startDate);
+        return startDate != null && endDate != null && endDate.isAfter(startDate);
     }
 
     /**
@@ -295,7 +582,7 @@ public class ProjectServiceImpl implements IProjectService {
      */
     private Project mapToProject(ProjectDTO projectDTO) {
         return new Project(projectDTO.getId(), projectDTO.getName(), projectDTO.getDescription()
-                , projectDTO.getStartDate(), projectDTO.getEndDate(), projectDTO.getStatus(),
+                , DateUtil.parse(projectDTO.getStartDate()), DateUtil.parse(projectDTO.getEndDate()), projectDTO.getStatus(),
                 projectDTO.getEmployer(), projectDTO.getEmployeeList());
     }
 }
@@ -0,0 +1,231 @@
+package gr.aueb.cf.springapp.service.impl;
+
+import gr.aueb.cf.springapp.dao.EmployeeRepository;
+import gr.aueb.cf.springapp.dao.EmployerRepository;
+import gr.aueb.cf.springapp.dao.ProjectRepository;
+import gr.aueb.cf.springapp.dto.AssignmentResourceDTO;
+import gr.aueb.cf.springapp.dto.EmployeeResourceDTO;
+import gr.aueb.cf.springapp.dto.EmployerResourceDTO;
+import gr.aueb.cf.springapp.dto.LinkReadDTO;
+import gr.aueb.cf.springapp.dto.ProjectResourceDTO;
+import gr.aueb.cf.springapp.dto.ResourcePageDTO;
+import gr.aueb.cf.springapp.dto.ResourceVersionDTO;
+import gr.aueb.cf.springapp.entity.Employee;
+import gr.aueb.cf.springapp.entity.Employer;
+import gr.aueb.cf.springapp.entity.Project;
+import gr.aueb.cf.springapp.service.IResourceService;
+import gr.aueb.cf.springapp.service.exceptions.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Reads the resources of the REST API as flat DTOs, and their versions.
+ * A version is read by a query of its own that reads no resource, so that a conditional GET of an unchanged
+ * resource costs one lookup: the version of an entity, or the row count and the last change of a collection.
+ * Collections are keyset paginated in id order; the cursor of the next page is the id of the last item
+ * (the employee and project ids of the last row for the assignments).
+ */
+@Service
+public class ResourceServiceImpl implements IResourceService {
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployerRepository employerRepository;
+    private final ProjectRepository projectRepository;
+
+    @Autowired
+    public ResourceServiceImpl(EmployeeRepository employeeRepository, EmployerRepository employerRepository,
+                               ProjectRepository projectRepository) {
+        this.employeeRepository = employeeRepository;
+        this.employerRepository = employerRepository;
+        this.projectRepository = projectRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersionDTO getEmployeesVersion() {
+        return employeeRepository.findCollectionVersion();
+    }
+
+    /**
+     * Reads a page of employees, with the ids of their projects read in one more query for the whole page.
+     * @param after the cursor of the page, or null for the first page.
+     * @param size the maximum number of employees.
+     * @return the employees and the cursor of the next page.
+     * @throws IllegalArgumentException if the cursor is not valid.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResourcePageDTO<EmployeeResourceDTO> getEmployees(String after, int size) {
+        List<EmployeeResourceDTO> employees = employeeRepository.findResourcesAfter(parseId(after),
+                PageRequest.of(0, size));
+        withProjectIds(employees);
+        return toPage(employees, size, employee -> String.valueOf(employee.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersionDTO getEmployeeVersion(Long id) throws EntityNotFoundException {
+        ResourceVersionDTO version = employeeRepository.findVersionById(id);
+        if (version == null) throw new EntityNotFoundException(Employee.class, id);
+        return version;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeResourceDTO getEmployee(Long id) throws EntityNotFoundException {
+        EmployeeResourceDTO employee = employeeRepository.findResourceById(id);
+        if (employee == null) throw new EntityNotFoundException(Employee.class, id);
+        withProjectIds(Collections.singletonList(employee));
+        return employee;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersionDTO getEmployersVersion() {
+        return employerRepository.findCollectionVersion();
+    }
+
+    /**
+     * Reads a page of employers.
+     * @param after the cursor of the page, or null for the first page.
+     * @param size the maximum number of employers.
+     * @return the employers and the cursor of the next page.
+     * @throws IllegalArgumentException if the cursor is not valid.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResourcePageDTO<EmployerResourceDTO> getEmployers(String after, int size) {
+        return toPage(employerRepository.findResourcesAfter(parseId(after), PageRequest.of(0, size)), size,
+                employer -> String.valueOf(employer.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersionDTO getEmployerVersion(Long id) throws EntityNotFoundException {
+        ResourceVersionDTO version = employerRepository.findVersionById(id);
+        if (version == null) throw new EntityNotFoundException(Employer.class, id);
+        return version;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployerResourceDTO getEmployer(Long id) throws EntityNotFoundException {
+        EmployerResourceDTO employer = employerRepository.findResourceById(id);
+        if (employer == null) throw new EntityNotFoundException(Employer.class, id);
+        return employer;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersionDTO getProjectsVersion() {
+        return projectRepository.findCollectionVersion();
+    }
+
+    /**
+     * Reads a page of projects.
+     * @param after the cursor of the page, or null for the first page.
+     * @param size the maximum number of projects.
+     * @return the projects and the cursor of the next page.
+     * @throws IllegalArgumentException if the cursor is not valid.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResourcePageDTO<ProjectResourceDTO> getProjects(String after, int size) {
+        return toPage(projectRepository.findResourcesAfter(parseId(after), PageRequest.of(0, size)), size,
+                project -> String.valueOf(project.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersionDTO getProjectVersion(Long id) throws EntityNotFoundException {
+        ResourceVersionDTO version = projectRepository.findVersionById(id);
+        if (version == null) throw new EntityNotFoundException(Project.class, id);
+        return version;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProjectResourceDTO getProject(Long id) throws EntityNotFoundException {
+        ProjectResourceDTO project = projectRepository.findResourceById(id);
+        if (project == null) throw new EntityNotFoundException(Project.class, id);
+        return project;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersionDTO getAssignmentsVersion() {
+        return employeeRepository.findAssignmentsVersion();
+    }
+
+    /**
+     * Reads a page of rows of the assignment table.
+     * @param after the cursor of the page, as employeeId:projectId, or null for the first page.
+     * @param size the maximum number of rows.
+     * @return the rows and the cursor of the next page.
+     * @throws IllegalArgumentException if the cursor is not valid.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResourcePageDTO<AssignmentResourceDTO> getAssignments(String after, int size) {
+        Long afterEmployeeId = null;
+        Long afterProjectId = null;
+        if (after != null && !after.isEmpty()) {
+            int separator = after.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor '" + after + "'");
+            }
+            afterEmployeeId = parseId(after.substring(0, separator));
+            afterProjectId = parseId(after.substring(separator + 1));
+        }
+        return toPage(employeeRepository.findAssignmentResourcesAfter(afterEmployeeId, afterProjectId,
+                        PageRequest.of(0, size)), size,
+                assignment -> assignment.getEmployeeId() + ":" + assignment.getProjectId());
+    }
+
+    /**
+     * Adds the ids of their projects to the given employees, read from the join table in one query.
+     */
+    private void withProjectIds(List<EmployeeResourceDTO> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        Map<Long, EmployeeResourceDTO> employeesById = new HashMap<>();
+        for (EmployeeResourceDTO employee : employees) {
+            employeesById.put(employee.getId(), employee);
+        }
+        for (LinkReadDTO link : employeeRepository.findProjectLinks(employeesById.keySet())) {
+            employeesById.get(link.getOwnerId()).addProjectId(link.getId());
+        }
+    }
+
+    /**
+     * @return the id of a cursor, or null for no cursor.
+     * @throws IllegalArgumentException if the cursor is not an id.
+     */
+    private static Long parseId(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor '" + cursor + "'");
+        }
+    }
+
+    /**
+     * A full page may be followed by more items, so it gets the cursor of its last item; a shorter page is the last.
+     */
+    private static <T> ResourcePageDTO<T> toPage(List<T> items, int size, Function<T, String> cursorOf) {
+        String next = items.size() < size ? null : cursorOf.apply(items.get(items.size() - 1));
+        return new ResourcePageDTO<>(items, next);
+    }
+}
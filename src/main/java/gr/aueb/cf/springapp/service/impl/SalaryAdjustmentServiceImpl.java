@@ -0,0 +1,276 @@
+package gr.aueb.cf.springapp.service.impl;
+
+import gr.aueb.cf.springapp.dao.ChangeLogRepository;
+import gr.aueb.cf.springapp.dao.EmployerPayrollRepository;
+import gr.aueb.cf.springapp.dao.SalaryAdjustmentRepository;
+import gr.aueb.cf.springapp.dto.SalaryAdjustmentDTO;
+import gr.aueb.cf.springapp.dto.SalaryAdjustmentReadDTO;
+import gr.aueb.cf.springapp.entity.SalaryAdjustment;
+import gr.aueb.cf.springapp.enums.AdjustmentStatus;
+import gr.aueb.cf.springapp.enums.ChangeType;
+import gr.aueb.cf.springapp.enums.ResourceType;
+import gr.aueb.cf.springapp.service.ISalaryAdjustmentService;
+import gr.aueb.cf.springapp.service.event.EmployeesChangedEvent;
+import gr.aueb.cf.springapp.service.exceptions.EntityNotFoundException;
+import gr.aueb.cf.springapp.service.util.LoggerUtil;
+import gr.aueb.cf.springapp.service.util.MoneyUtil;
+import gr.aueb.cf.springapp.service.util.PayrollCalculator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Bulk salary adjustments: a percentage or absolute change of the salaries of the employees of an employer,
+ * a job title and/or a project, applied in the background one chunk at a time.
+ * Each chunk runs in its own short transaction: the chunk's employees are read and locked in id order,
+ * the new salaries are computed with {@link PayrollCalculator}, written as audit rows with JDBC batches
+ * and copied to EMPLOYEES with one set-based UPDATE; the employers' payroll totals and the checkpoint of the
+ * adjustment are updated in the same transaction. An interrupted adjustment resumes after its last chunk,
+ * on startup or on request. A chunk that raced with another write of the adjustment fails on its version and is
+ * rolled back, so the adjustment is marked failed with its checkpoint intact instead of being rewound. Adjustments run one at a time, in the order they were started.
+ */
+@Service
+public class SalaryAdjustmentServiceImpl implements ISalaryAdjustmentService {
+
+    private final SalaryAdjustmentRepository salaryAdjustmentRepository;
+    private final EmployerPayrollRepository employerPayrollRepository;
+    private final ChangeLogRepository changeLogRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "salary-adjustments");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Adjustments submitted to the executor and not finished yet, so that none is run twice at once. */
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public SalaryAdjustmentServiceImpl(SalaryAdjustmentRepository salaryAdjustmentRepository,
+                                       EmployerPayrollRepository employerPayrollRepository,
+                                       ChangeLogRepository changeLogRepository,
+                                       ApplicationEventPublisher eventPublisher,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${app.salary-adjustment.chunk-size:1000}") int chunkSize) {
+        this.salaryAdjustmentRepository = salaryAdjustmentRepository;
+        this.employerPayrollRepository = employerPayrollRepository;
+        this.changeLogRepository = changeLogRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Records a new adjustment with the number of employees it matches, and starts it in the background.
+     *
+     * @param adjustmentDTO the change and the filters of the adjustment.
+     * @return the new adjustment.
+     * @throws IllegalArgumentException if not exactly one of the percentage and the amount is given,
+     * the percentage has more than two decimals or lowers the salaries by more than 100%.
+     */
+    @Override
+    public SalaryAdjustmentReadDTO startAdjustment(SalaryAdjustmentDTO adjustmentDTO) {
+        SalaryAdjustment adjustment = mapToNewAdjustment(adjustmentDTO);
+        Long id = transactionTemplate.execute(status -> {
+            adjustment.setEmployeesTotal(salaryAdjustmentRepository.countEmployees(adjustment));
+            return salaryAdjustmentRepository.save(adjustment).getId();
+        });
+        submit(id);
+        return salaryAdjustmentRepository.findViewById(id);
+    }
+
+    /**
+     * Resumes an adjustment from its checkpoint, e.g. after it failed. A completed adjustment is left as is.
+     *
+     * @param id the id of the adjustment.
+     * @return the adjustment.
+     * @throws EntityNotFoundException if no adjustment is found with the specified ID.
+     */
+    @Override
+    public SalaryAdjustmentReadDTO resumeAdjustment(Long id) throws EntityNotFoundException {
+        SalaryAdjustmentReadDTO adjustment = getAdjustment(id);
+        if (adjustment.getStatus() != AdjustmentStatus.COMPLETED) {
+            submit(id);
+        }
+        return adjustment;
+    }
+
+    /**
+     * Retrieves an adjustment with its progress.
+     *
+     * @param id the id of the adjustment.
+     * @return the adjustment.
+     * @throws EntityNotFoundException if no adjustment is found with the specified ID.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SalaryAdjustmentReadDTO getAdjustment(Long id) throws EntityNotFoundException {
+        SalaryAdjustmentReadDTO adjustment = salaryAdjustmentRepository.findViewById(id);
+        if (adjustment == null) throw new EntityNotFoundException(SalaryAdjustment.class, id);
+        return adjustment;
+    }
+
+    /**
+     * Retrieves all adjustments with their progress, newest first.
+     *
+     * @return the adjustments.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<SalaryAdjustmentReadDTO> getAllAdjustments() {
+        return salaryAdjustmentRepository.findAllViews();
+    }
+
+    /**
+     * Resumes on startup the adjustments that were pending or running when the application stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinished() {
+        for (Long id : salaryAdjustmentRepository.findIdsByStatusIn(
+                Arrays.asList(AdjustmentStatus.PENDING, AdjustmentStatus.RUNNING))) {
+            submit(id);
+        }
+    }
+
+    /**
+     * Stops after the current chunk; the adjustment stays RUNNING and is resumed on the next startup.
+     */
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void submit(Long id) {
+        if (queued.add(id)) {
+            executor.submit(() -> run(id));
+        }
+    }
+
+    /**
+     * Adjusts the employees chunk by chunk until none is left. The arrays are allocated once per run.
+     */
+    private void run(Long id) {
+        long[] ids = new long[chunkSize];
+        long[] oldSalaries = new long[chunkSize];
+        long[] newSalaries = new long[chunkSize];
+        try {
+            setStatus(id, AdjustmentStatus.RUNNING, null);
+            Integer adjusted;
+            do {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                adjusted = transactionTemplate.execute(status -> adjustChunk(id, ids, oldSalaries, newSalaries));
+            } while (adjusted != null && adjusted > 0);
+            setStatus(id, AdjustmentStatus.COMPLETED, null);
+            LoggerUtil.getCurrentLogger().info("Salary adjustment " + id + " completed");
+        } catch (RuntimeException e) {
+            LoggerUtil.getCurrentLogger().warning("Salary adjustment " + id + " failed: " + e.getMessage());
+            setStatus(id, AdjustmentStatus.FAILED, e.getMessage());
+        } finally {
+            queued.remove(id);
+        }
+    }
+
+    /**
+     * Adjusts the next chunk of employees after the checkpoint, in the caller's transaction.
+     * @return the number of employees adjusted, zero if none is left.
+     */
+    private int adjustChunk(Long id, long[] ids, long[] oldSalaries, long[] newSalaries) {
+        SalaryAdjustment adjustment = salaryAdjustmentRepository.findById(id)
+                .orElseThrow(() -> new IllegalStateException("Salary adjustment " + id + " does not exist"));
+        long fromId = adjustment.getLastEmployeeId();
+        int count = salaryAdjustmentRepository.lockChunk(adjustment, fromId, ids, oldSalaries);
+        if (count == 0) {
+            return 0;
+        }
+
+        System.arraycopy(oldSalaries, 0, newSalaries, 0, count);
+        long change = adjustment.getPercentage() != null
+                ? PayrollCalculator.applyRaise(newSalaries, count, adjustment.getPercentage())
+                : PayrollCalculator.applyAdjustment(newSalaries, count, adjustment.getAmount());
+        long toId = ids[count - 1];
+
+        salaryAdjustmentRepository.insertAudits(id, ids, oldSalaries, newSalaries, count);
+        salaryAdjustmentRepository.applyAudits(id, fromId, toId);
+        for (Map.Entry<Long, Long> payrollChange : salaryAdjustmentRepository.findPayrollChanges(id, fromId, toId)
+                .entrySet()) {
+            employerPayrollRepository.adjustPayroll(payrollChange.getKey(), 0, payrollChange.getValue());
+        }
+        adjustment.recordChunk(toId, count, change);
+
+        List<Long> employeeIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employeeIds.add(ids[i]);
+        }
+        changeLogRepository.recordChanges(ResourceType.EMPLOYEE, ChangeType.UPDATED, employeeIds);
+        eventPublisher.publishEvent(EmployeesChangedEvent.ofEmployees(employeeIds));
+        return count;
+    }
+
+    private void setStatus(Long id, AdjustmentStatus status, String errorMessage) {
+        transactionTemplate.executeWithoutResult(transaction -> salaryAdjustmentRepository.findById(id)
+                .ifPresent(adjustment -> {
+                    adjustment.setStatus(status);
+                    adjustment.setErrorMessage(errorMessage);
+                    if (status == AdjustmentStatus.COMPLETED || status == AdjustmentStatus.FAILED) {
+                        adjustment.setFinishedAt(LocalDateTime.now());
+                    }
+                }));
+    }
+
+    /**
+     * Maps a SalaryAdjustmentDTO object to a new, pending SalaryAdjustment entity.
+     * @param adjustmentDTO The DTO object containing the adjustment information.
+     * @return The new SalaryAdjustment entity.
+     */
+    private SalaryAdjustment mapToNewAdjustment(SalaryAdjustmentDTO adjustmentDTO) {
+        BigDecimal percentage = adjustmentDTO.getPercentage();
+        BigDecimal amount = adjustmentDTO.getAmount();
+        if ((percentage == null) == (amount == null)) {
+            throw new IllegalArgumentException("Give either a percentage or an amount");
+        }
+
+        SalaryAdjustment adjustment = new SalaryAdjustment();
+        if (percentage != null) {
+            if (percentage.stripTrailingZeros().scale() > 2) {
+                throw new IllegalArgumentException("The percentage can have at most two decimals");
+            }
+            long basisPoints = percentage.movePointRight(2).longValueExact();
+            if (basisPoints < -PayrollCalculator.BASIS_POINTS) {
+                throw new IllegalArgumentException("Salaries cannot be lowered by more than 100%");
+            }
+            adjustment.setPercentage(basisPoints);
+        } else {
+            adjustment.setAmount(MoneyUtil.toMinorUnits(amount));
+        }
+        adjustment.setEmployerId(adjustmentDTO.getEmployerId());
+        String jobTitle = adjustmentDTO.getJobTitle();
+        adjustment.setJobTitle(jobTitle == null || jobTitle.trim().isEmpty() ? null : jobTitle.trim());
+        adjustment.setProjectId(adjustmentDTO.getProjectId());
+        adjustment.setStatus(AdjustmentStatus.PENDING);
+        adjustment.setCreatedAt(LocalDateTime.now());
+        return adjustment;
+    }
+}
@@ -1,13 +1,16 @@
 package gr.aueb.cf.springapp.service.impl;
 
+import gr.aueb.cf.springapp.authentication.VerifiedCredentialCache;
 import gr.aueb.cf.springapp.dao.UserRepository;
 import gr.aueb.cf.springapp.dto.UserDTO;
 import gr.aueb.cf.springapp.entity.User;
 import gr.aueb.cf.springapp.service.IUserService;
 import gr.aueb.cf.springapp.service.exceptions.EntityNotFoundException;
+import gr.aueb.cf.springapp.service.util.TransactionUtil;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.regex.Matcher;
@@ -17,10 +20,15 @@ import java.util.regex.Pattern;
 public class UserServiceImpl implements IUserService {
 
     private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final VerifiedCredentialCache credentialCache;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                           VerifiedCredentialCache credentialCache) {
         this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.credentialCache = credentialCache;
     }
 
     /**
@@ -31,7 +39,6 @@ public class UserServiceImpl implements IUserService {
      */
     @Override
     public User registerUser(UserDTO userToRegister) {
-        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
         String hashedPassword = passwordEncoder.encode(userToRegister.getPassword());
 
         userToRegister.setPassword(hashedPassword);
@@ -42,17 +49,25 @@ public class UserServiceImpl implements IUserService {
 
     /**
      * Updates an existing user based on the provided UserDTO.
+     * Previously verified credentials of the user are forgotten once the update has committed.
      * @param userDTO the UserDTO containing updated user data
      * @return the updated User entity
      * @throws EntityNotFoundException if the user with the specified ID is not found
      */
     @Override
+    @Transactional
     public User updateUser(UserDTO userDTO) throws EntityNotFoundException {
         Optional<User> user = userRepository.findById(userDTO.getId());
         if (user.isEmpty()){
             throw new EntityNotFoundException(User.class, userDTO.getId());
         }
-        return  userRepository.save(mapUser(userDTO));
+        String previousUsername = user.get().getUsername();
+        User updated = userRepository.save(mapUser(userDTO));
+        TransactionUtil.afterCommit(() -> {
+            credentialCache.invalidate(previousUsername);
+            credentialCache.invalidate(userDTO.getUsername());
+        });
+        return updated;
     }
 
     /**
@@ -70,16 +85,20 @@ public class UserServiceImpl implements IUserService {
     /**
      *
      * Deletes the user with the specified ID.
+     * Previously verified credentials of the user are forgotten once the deletion has committed.
      * @param id the ID of the user to delete
      * @throws EntityNotFoundException if the user with the specified ID is not found
      */
     @Override
+    @Transactional
     public void deleteUser(Long id) throws EntityNotFoundException {
         Optional<User> user = userRepository.findById(id);
         if (user.isEmpty()){
             throw new EntityNotFoundException(User.class, id);
         }
+        String username = user.get().getUsername();
         userRepository.deleteById(id);
+        TransactionUtil.afterCommit(() -> credentialCache.invalidate(username));
     }
 
     /**
@@ -0,0 +1,84 @@
+package gr.aueb.cf.springapp.service.util;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the rows of a list view one chunk at a time, so that a template can render any number of rows
+ * while only one chunk is held in memory; with Thymeleaf writing its output while it processes the template,
+ * the rows of a chunk reach the browser before the next chunk is read.
+ * Every chunk is read by its own query that seeks right after the last row of the previous chunk (keyset
+ * pagination), so no connection or transaction is held open while the response is written.
+ * The first chunk is read right away, so that errors of the query surface before the view starts rendering.
+ * A chunk shorter than the chunk size is the last one. The rows can be iterated only once.
+ *
+ * @param <T> the type of the rows.
+ */
+public class ChunkedRows<T> implements Iterator<T> {
+
+    private final int chunkSize;
+    private final ChunkLoader<T> loader;
+    private final boolean empty;
+
+    private Iterator<T> chunk;
+    private boolean lastChunk;
+    private T last;
+
+    public ChunkedRows(int chunkSize, ChunkLoader<T> loader) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        this.loader = loader;
+        List<T> rows = loader.load(null, chunkSize);
+        this.empty = rows.isEmpty();
+        this.chunk = rows.iterator();
+        this.lastChunk = rows.size() < chunkSize;
+    }
+
+    /**
+     * Reads the next chunk when the current one is used up.
+     */
+    @Override
+    public boolean hasNext() {
+        if (!chunk.hasNext() && !lastChunk) {
+            List<T> rows = loader.load(last, chunkSize);
+            chunk = rows.iterator();
+            lastChunk = rows.size() < chunkSize;
+        }
+        return chunk.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        last = chunk.next();
+        return last;
+    }
+
+    /**
+     * @return true if there are no rows at all, whatever has been iterated.
+     */
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * Reads one chunk of rows.
+     *
+     * @param <T> the type of the rows.
+     */
+    @FunctionalInterface
+    public interface ChunkLoader<T> {
+
+        /**
+         * @param after the last row of the previous chunk, or null for the first chunk.
+         * @param chunkSize the maximum number of rows to read.
+         * @return the rows right after the given one, in the order of the view.
+         */
+        List<T> load(T after, int chunkSize);
+    }
+}
@@ -0,0 +1,33 @@
+package gr.aueb.cf.springapp.service.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a table as UTF-8 CSV with CRLF line endings (RFC 4180).
+ */
+public class CsvTableWriter implements TableWriter {
+
+    private final BufferedWriter writer;
+
+    public CsvTableWriter(OutputStream outputStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void writeRow(Object... values) throws IOException {
+        writer.write(CsvUtil.formatLine(values));
+        writer.write("\r\n");
+    }
+
+    /**
+     * Flushes the buffered rows to the output stream, which is left open.
+     */
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+}
@@ -0,0 +1,113 @@
+package gr.aueb.cf.springapp.service.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 helpers for the CSV import and export of the application.
+ * Fields may be quoted with double quotes, and a quote inside a quoted field is written twice.
+ * Line breaks inside fields are quoted on export but not supported on import.
+ * Text that a spreadsheet would run as a formula (starting with =, +, -, @, a tab or a carriage return) is
+ * exported with a leading apostrophe, so that opening an export cannot run a formula stored in the data.
+ */
+public class CsvUtil {
+
+    private CsvUtil() {}
+
+    /**
+     * Splits one CSV line into its fields.
+     * @param line the line to split.
+     * @return the unquoted fields of the line.
+     * @throws IllegalArgumentException if a quoted field is not closed.
+     */
+    public static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Joins values into one CSV line, without the line separator.
+     * Null values are written as empty fields, and fields that contain a comma, a quote or a line break are quoted.
+     * Text values that start like a formula are prefixed with an apostrophe; numbers, e.g. negative amounts, are not.
+     * @param values the values of the line.
+     * @return the CSV line.
+     */
+    public static String formatLine(Object... values) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            if (values[i] instanceof CharSequence) {
+                appendField(line, escapeFormula(values[i].toString()));
+            } else if (values[i] != null) {
+                appendField(line, values[i].toString());
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * Prefixes text that a spreadsheet would run as a formula with an apostrophe.
+     * @param text the text of a field.
+     * @return the text, prefixed with an apostrophe if it starts with =, +, -, @, a tab or a carriage return.
+     */
+    public static String escapeFormula(String text) {
+        if (text.isEmpty()) {
+            return text;
+        }
+        char first = text.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+            return "'" + text;
+        }
+        return text;
+    }
+
+    private static void appendField(StringBuilder line, String field) {
+        boolean quote = false;
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(field);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+}
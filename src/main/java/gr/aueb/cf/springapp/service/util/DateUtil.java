@@ -0,0 +1,40 @@
+package gr.aueb.cf.springapp.service.util;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.regex.Pattern;
+
+/**
+ * Shared, thread-safe formatter and pattern for the yyyy-MM-dd dates of the project forms,
+ * so that they are built once instead of on every validation.
+ */
+public class DateUtil {
+
+    public static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    public static final Pattern DATE_PATTERN = Pattern.compile("^\\d{4}-\\d{2}-\\d{2}$");
+
+    private DateUtil() {}
+
+    /**
+     * Parses a yyyy-MM-dd date.
+     * @param date the date to parse, may be null or blank.
+     * @return the date, or null if the text is null or blank.
+     * @throws java.time.format.DateTimeParseException if the text is not a valid date.
+     */
+    public static LocalDate parse(String date) {
+        if (date == null || date.trim().isEmpty()) {
+            return null;
+        }
+        return LocalDate.parse(date.trim(), DATE_FORMATTER);
+    }
+
+    /**
+     * Formats a date as yyyy-MM-dd.
+     * @param date the date to format, may be null.
+     * @return the formatted date, or null if the date is null.
+     */
+    public static String format(LocalDate date) {
+        return date == null ? null : date.format(DATE_FORMATTER);
+    }
+}
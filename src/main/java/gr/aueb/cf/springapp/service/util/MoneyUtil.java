@@ -0,0 +1,44 @@
+package gr.aueb.cf.springapp.service.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between amounts of money and the minor units (cents) in which the entities keep them.
+ * Amounts have two decimal places; anything finer is rounded half-even, as the DECIMAL(15,2) column would.
+ */
+public class MoneyUtil {
+
+    /** Number of decimal places of an amount, i.e. minor units per major unit are 10^SCALE. */
+    public static final int SCALE = 2;
+
+    private MoneyUtil() {}
+
+    /**
+     * Converts an amount to minor units.
+     * @param amount the amount, may be null.
+     * @return the amount in minor units, or null if the amount is null.
+     * @throws ArithmeticException if the amount does not fit in a long.
+     */
+    public static Long toMinorUnits(BigDecimal amount) {
+        return amount == null ? null : amount.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converts minor units to an amount with two decimal places.
+     * @param minorUnits the amount in minor units, may be null.
+     * @return the amount, or null if the minor units are null.
+     */
+    public static BigDecimal toAmount(Long minorUnits) {
+        return minorUnits == null ? null : BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * Rounds an amount computed by the database (e.g. an average) to two decimal places.
+     * @param amount the amount, may be null.
+     * @return the rounded amount, or null if the amount is null.
+     */
+    public static BigDecimal round(BigDecimal amount) {
+        return amount == null ? null : amount.setScale(SCALE, RoundingMode.HALF_EVEN);
+    }
+}
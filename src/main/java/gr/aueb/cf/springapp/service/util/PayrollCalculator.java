@@ -0,0 +1,93 @@
+package gr.aueb.cf.springapp.service.util;
+
+/**
+ * Payroll arithmetic over salaries in minor units (cents), held in a primitive array.
+ * Every method works on the first count elements in place, allocates nothing and is exact: a raise is
+ * rounded half-even to the cent once per salary, and totals are plain long sums (exact up to about 9 * 10^16 cents).
+ * The loops are simple enough for the JIT to unroll and vectorize.
+ */
+public class PayrollCalculator {
+
+    /** A percentage is given in basis points, hundredths of a percent: 10000 basis points are 100%. */
+    public static final long BASIS_POINTS = 10_000;
+
+    private PayrollCalculator() {}
+
+    /**
+     * Sums the salaries.
+     * @param salaries the salaries in minor units.
+     * @param count the number of salaries to sum, from the start of the array.
+     * @return the total in minor units.
+     */
+    public static long total(long[] salaries, int count) {
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += salaries[i];
+        }
+        return total;
+    }
+
+    /**
+     * Raises (or, for a negative percentage, lowers) every salary by a percentage, rounded half-even to the cent.
+     * @param salaries the salaries in minor units, changed in place.
+     * @param count the number of salaries to change, from the start of the array.
+     * @param basisPoints the percentage in basis points, e.g. 350 for 3.5%; not lower than -10000.
+     * @return the change of the total in minor units.
+     * @throws ArithmeticException if a salary times the percentage does not fit in a long.
+     */
+    public static long applyRaise(long[] salaries, int count, long basisPoints) {
+        if (basisPoints < -BASIS_POINTS) {
+            throw new IllegalArgumentException("A salary cannot be lowered by more than 100%");
+        }
+        long change = 0;
+        for (int i = 0; i < count; i++) {
+            long raise = raise(salaries[i], basisPoints);
+            salaries[i] += raise;
+            change += raise;
+        }
+        return change;
+    }
+
+    /**
+     * Adds an amount to every salary; a salary never drops below zero.
+     * @param salaries the salaries in minor units, changed in place.
+     * @param count the number of salaries to change, from the start of the array.
+     * @param amount the amount to add in minor units, may be negative.
+     * @return the change of the total in minor units.
+     */
+    public static long applyAdjustment(long[] salaries, int count, long amount) {
+        long change = 0;
+        for (int i = 0; i < count; i++) {
+            long adjusted = Math.max(0, salaries[i] + amount);
+            change += adjusted - salaries[i];
+            salaries[i] = adjusted;
+        }
+        return change;
+    }
+
+    /**
+     * Computes the raise of one salary by a percentage, rounded half-even to the cent.
+     * @param salary the salary in minor units.
+     * @param basisPoints the percentage in basis points.
+     * @return the raise in minor units, negative if the percentage is.
+     * @throws ArithmeticException if the salary times the percentage does not fit in a long.
+     */
+    public static long raise(long salary, long basisPoints) {
+        return divideHalfEven(Math.multiplyExact(salary, basisPoints), BASIS_POINTS);
+    }
+
+    /**
+     * Divides and rounds half-even, also for negative dividends.
+     * @param dividend the dividend.
+     * @param divisor the divisor, greater than zero.
+     * @return the rounded quotient.
+     */
+    public static long divideHalfEven(long dividend, long divisor) {
+        long quotient = Math.floorDiv(dividend, divisor);
+        long twiceRemainder = 2 * (dividend - quotient * divisor);
+        if (twiceRemainder > divisor || (twiceRemainder == divisor && (quotient & 1) != 0)) {
+            quotient++;
+        }
+        return quotient;
+    }
+}
@@ -0,0 +1,36 @@
+package gr.aueb.cf.springapp.service.util;
+
+import gr.aueb.cf.springapp.enums.ExportFormat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a table, one row at a time, to an output stream in one of the export formats.
+ * Rows are not kept in memory after they have been written. Closing the writer finishes the
+ * document but does not close the underlying output stream.
+ */
+public interface TableWriter extends Closeable {
+
+    /**
+     * Writes one row of the table.
+     * @param values the cell values of the row; null values are written as empty cells.
+     * @throws IOException if the row cannot be written.
+     */
+    void writeRow(Object... values) throws IOException;
+
+    /**
+     * Creates a writer for the given format.
+     * @param format the format of the table.
+     * @param outputStream the stream to write the table to.
+     * @param sheetName the name of the sheet, where the format has sheets.
+     * @return the writer.
+     */
+    static TableWriter of(ExportFormat format, OutputStream outputStream, String sheetName) {
+        if (format == ExportFormat.XLSX) {
+            return new XlsxTableWriter(outputStream, sheetName);
+        }
+        return new CsvTableWriter(outputStream);
+    }
+}
@@ -0,0 +1,31 @@
+package gr.aueb.cf.springapp.service.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Actions tied to the outcome of the current transaction, e.g. clearing a cache of the data it changed.
+ * An action run before the commit would let a concurrent reader cache the old data again until the commit.
+ */
+public class TransactionUtil {
+
+    private TransactionUtil() {}
+
+    /**
+     * Runs an action once the current transaction has committed, or right away if there is no transaction.
+     * The action is not run if the transaction rolls back.
+     * @param action the action to run.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
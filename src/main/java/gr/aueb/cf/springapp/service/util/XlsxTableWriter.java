@@ -0,0 +1,78 @@
+package gr.aueb.cf.springapp.service.util;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a table as an XLSX workbook with the streaming (SXSSF) API of Apache POI.
+ * Only the last {@value #ROW_WINDOW} rows are kept in memory; older rows are flushed to a
+ * compressed temporary file, which is deleted when the writer is closed.
+ * When a sheet is full, the table continues on a new sheet that repeats the header row.
+ */
+public class XlsxTableWriter implements TableWriter {
+
+    private static final int ROW_WINDOW = 100;
+    private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private final OutputStream outputStream;
+    private final SXSSFWorkbook workbook;
+    private final String sheetName;
+    private Sheet sheet;
+    private Object[] header;
+    private int rowIndex;
+
+    public XlsxTableWriter(OutputStream outputStream, String sheetName) {
+        this.outputStream = outputStream;
+        this.sheetName = sheetName;
+        this.workbook = new SXSSFWorkbook(ROW_WINDOW);
+        this.workbook.setCompressTempFiles(true);
+        this.sheet = workbook.createSheet(sheetName);
+    }
+
+    @Override
+    public void writeRow(Object... values) {
+        if (header == null) {
+            header = values;
+        } else if (rowIndex == MAX_ROWS) {
+            sheet = workbook.createSheet(sheetName + " " + (workbook.getNumberOfSheets() + 1));
+            rowIndex = 0;
+            append(header);
+        }
+        append(values);
+    }
+
+    private void append(Object[] values) {
+        Row row = sheet.createRow(rowIndex++);
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            Cell cell = row.createCell(i);
+            if (value instanceof Number) {
+                cell.setCellValue(((Number) value).doubleValue());
+            } else {
+                cell.setCellValue(value.toString());
+            }
+        }
+    }
+
+    /**
+     * Writes the workbook to the output stream, which is left open, and deletes the temporary files.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            workbook.write(outputStream);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+}
@@ -0,0 +1,6 @@
+-- CHANGE_LOG_SEQUENCE holds the next sequence number of the change log in a single row, which every transaction
+-- that records changes locks until it commits. The row is created once, past any change already recorded,
+-- so the script is safe to run on every startup.
+INSERT INTO CHANGE_LOG_SEQUENCE (ID, NEXT_SEQ)
+SELECT 1, m.NEXT_SEQ FROM (SELECT COALESCE(MAX(SEQ), 0) + 1 AS NEXT_SEQ FROM CHANGE_LOG) m
+WHERE NOT EXISTS (SELECT 1 FROM CHANGE_LOG_SEQUENCE s WHERE s.ID = 1);
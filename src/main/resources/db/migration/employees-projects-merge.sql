@@ -0,0 +1,12 @@
+-- Assignments used to be stored twice, in EMPLOYEES_PROJECTS (owned by Employee) and in PROJECTS_EMPLOYEES
+-- (owned by Project). Employee is now the only owning side: the rows that exist only in PROJECTS_EMPLOYEES are
+-- copied over and the old table is dropped. The table is created first, so the script is safe to run on every
+-- startup, including on a new database.
+CREATE TABLE IF NOT EXISTS PROJECTS_EMPLOYEES (PROJECT_ID BIGINT NOT NULL, EMPLOYEE_ID BIGINT NOT NULL);
+
+INSERT INTO EMPLOYEES_PROJECTS (EMPLOYEE_ID, PROJECT_ID)
+SELECT DISTINCT pe.EMPLOYEE_ID, pe.PROJECT_ID FROM PROJECTS_EMPLOYEES pe
+WHERE NOT EXISTS (SELECT 1 FROM EMPLOYEES_PROJECTS ep
+                  WHERE ep.EMPLOYEE_ID = pe.EMPLOYEE_ID AND ep.PROJECT_ID = pe.PROJECT_ID);
+
+DROP TABLE PROJECTS_EMPLOYEES;
@@ -0,0 +1,3 @@
+-- Employee ids used to come from the shared AUTO generator (hibernate_sequence).
+-- Moves the pooled EMPLOYEES_SEQ past every id already issued; safe to run on every startup.
+UPDATE EMPLOYEES_SEQ SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(ID), 0) + 1 FROM EMPLOYEES));
@@ -0,0 +1,9 @@
+-- EMPLOYER_PAYROLLS holds the running payroll totals of every employer, adjusted by the application on every
+-- salary or employer change. The totals are recomputed from EMPLOYEES on startup, so rows changed outside the
+-- application are picked up; the script is safe to run on every startup.
+DELETE FROM EMPLOYER_PAYROLLS;
+
+INSERT INTO EMPLOYER_PAYROLLS (EMPLOYER_ID, EMPLOYEE_COUNT, TOTAL_SALARY_CENTS)
+SELECT EMPLOYER_ID, COUNT(*), COALESCE(SUM(SALARY), 0) * 100 FROM EMPLOYEES
+WHERE EMPLOYER_ID IS NOT NULL
+GROUP BY EMPLOYER_ID;
@@ -0,0 +1,15 @@
+-- VERSION and LAST_MODIFIED of EMPLOYEES, EMPLOYERS and PROJECTS make the ETags of the REST API. Rows written
+-- before the columns existed start at version 0, last modified now; only such rows are updated,
+-- so the script is safe to run on every startup.
+UPDATE EMPLOYEES SET VERSION = COALESCE(VERSION, 0), LAST_MODIFIED = COALESCE(LAST_MODIFIED, CURRENT_TIMESTAMP)
+WHERE VERSION IS NULL OR LAST_MODIFIED IS NULL;
+
+UPDATE EMPLOYERS SET VERSION = COALESCE(VERSION, 0), LAST_MODIFIED = COALESCE(LAST_MODIFIED, CURRENT_TIMESTAMP)
+WHERE VERSION IS NULL OR LAST_MODIFIED IS NULL;
+
+UPDATE PROJECTS SET VERSION = COALESCE(VERSION, 0), LAST_MODIFIED = COALESCE(LAST_MODIFIED, CURRENT_TIMESTAMP)
+WHERE VERSION IS NULL OR LAST_MODIFIED IS NULL;
+
+-- VERSION of SALARY_ADJUSTMENTS detects concurrent writes of the checkpoint; adjustments recorded before the column
+-- existed start at version 0.
+UPDATE SALARY_ADJUSTMENTS SET VERSION = 0 WHERE VERSION IS NULL;
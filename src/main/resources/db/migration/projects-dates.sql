@@ -0,0 +1,10 @@
+-- START_DATE and END_DATE used to be VARCHAR columns holding yyyy-MM-dd text. They are converted in place to DATE,
+-- which MySQL does from that text without loss. The ALTER only runs while the columns are not DATE yet,
+-- so the script is safe to run on every startup.
+SET @projects_dates = COALESCE((SELECT IF(DATA_TYPE = 'date', 'DO 0',
+        'ALTER TABLE PROJECTS MODIFY START_DATE DATE, MODIFY END_DATE DATE')
+    FROM information_schema.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'PROJECTS' AND COLUMN_NAME = 'START_DATE'), 'DO 0');
+PREPARE projects_dates_statement FROM @projects_dates;
+EXECUTE projects_dates_statement;
+DEALLOCATE PREPARE projects_dates_statement;
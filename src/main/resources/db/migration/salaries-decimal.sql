@@ -0,0 +1,19 @@
+-- SALARY used to be a DOUBLE column. It is converted in place to DECIMAL(15,2), rounding every salary to the cent,
+-- and the application now handles it in minor units. The ALTER only runs while the column is not DECIMAL yet,
+-- so the script is safe to run on every startup.
+SET @employees_salary = COALESCE((SELECT IF(DATA_TYPE = 'decimal', 'DO 0',
+        'ALTER TABLE EMPLOYEES MODIFY SALARY DECIMAL(15,2)')
+    FROM information_schema.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'EMPLOYEES' AND COLUMN_NAME = 'SALARY'), 'DO 0');
+PREPARE employees_salary_statement FROM @employees_salary;
+EXECUTE employees_salary_statement;
+DEALLOCATE PREPARE employees_salary_statement;
+
+-- The running payroll totals are now kept in cents in TOTAL_SALARY_CENTS (added by Hibernate). The old DOUBLE
+-- TOTAL_SALARY column is dropped if it is still there; the totals are recomputed by employer-payrolls.sql.
+SET @payrolls_total = COALESCE((SELECT 'ALTER TABLE EMPLOYER_PAYROLLS DROP COLUMN TOTAL_SALARY'
+    FROM information_schema.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'EMPLOYER_PAYROLLS' AND COLUMN_NAME = 'TOTAL_SALARY'), 'DO 0');
+PREPARE payrolls_total_statement FROM @payrolls_total;
+EXECUTE payrolls_total_statement;
+DEALLOCATE PREPARE payrolls_total_statement;
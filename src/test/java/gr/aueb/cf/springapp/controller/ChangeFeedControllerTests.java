@@ -0,0 +1,60 @@
+package gr.aueb.cf.springapp.controller;
+
+import gr.aueb.cf.springapp.dto.ChangeFeedDTO;
+import gr.aueb.cf.springapp.service.IChangeFeedService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ChangeFeedControllerTests {
+
+	private IChangeFeedService changeFeedService;
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		changeFeedService = mock(IChangeFeedService.class);
+		mockMvc = MockMvcBuilders.standaloneSetup(new ChangeFeedController(changeFeedService)).build();
+		when(changeFeedService.getChanges(anyLong(), anyInt()))
+				.thenAnswer(invocation -> new ChangeFeedDTO(Collections.emptyList(), invocation.<Long>getArgument(0), false));
+	}
+
+	@Test
+	void changesAreReadFromTheStartByDefault() throws Exception {
+		mockMvc.perform(get("/api/changes"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.next").value(0))
+				.andExpect(jsonPath("$.more").value(false));
+
+		verify(changeFeedService).getChanges(0, 100);
+	}
+
+	@Test
+	void limitIsCappedAtAThousand() throws Exception {
+		mockMvc.perform(get("/api/changes").param("since", "7").param("limit", "5000"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.next").value(7));
+
+		verify(changeFeedService).getChanges(7, 1000);
+	}
+
+	@Test
+	void negativeCursorIsABadRequest() throws Exception {
+		when(changeFeedService.getChanges(-1, 100)).thenThrow(new IllegalArgumentException("Invalid cursor -1"));
+
+		mockMvc.perform(get("/api/changes").param("since", "-1"))
+				.andExpect(status().isBadRequest());
+	}
+}
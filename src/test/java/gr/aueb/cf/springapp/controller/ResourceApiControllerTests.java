@@ -0,0 +1,124 @@
+package gr.aueb.cf.springapp.controller;
+
+import gr.aueb.cf.springapp.dto.EmployerResourceDTO;
+import gr.aueb.cf.springapp.dto.ResourcePageDTO;
+import gr.aueb.cf.springapp.dto.ResourceVersionDTO;
+import gr.aueb.cf.springapp.entity.Employer;
+import gr.aueb.cf.springapp.service.IResourceService;
+import gr.aueb.cf.springapp.service.exceptions.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ResourceApiControllerTests {
+
+	private static final long EMPLOYER_ID = 5L;
+	private static final Instant LAST_MODIFIED = Instant.ofEpochMilli(1_700_000_000_000L);
+	private static final String ETAG = "\"3-1700000000000\"";
+
+	private IResourceService resourceService;
+	private PlatformTransactionManager transactionManager;
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		resourceService = mock(IResourceService.class);
+		transactionManager = mock(PlatformTransactionManager.class);
+		mockMvc = MockMvcBuilders.standaloneSetup(new ResourceApiController(resourceService, transactionManager))
+				.build();
+
+		when(resourceService.getEmployerVersion(EMPLOYER_ID)).thenReturn(new ResourceVersionDTO(3L, LAST_MODIFIED));
+		when(resourceService.getEmployer(EMPLOYER_ID))
+				.thenReturn(new EmployerResourceDTO(EMPLOYER_ID, "Acme", "Address", 3L, LAST_MODIFIED));
+	}
+
+	@Test
+	void resourceIsSentWithItsETagAndLastModified() throws Exception {
+		mockMvc.perform(get("/api/v1/employers/{id}", EMPLOYER_ID))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, ETAG))
+				.andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED.toEpochMilli()))
+				.andExpect(jsonPath("$.name").value("Acme"))
+				.andExpect(jsonPath("$.address").value("Address"));
+
+		verify(transactionManager).getTransaction(argThat(definition -> definition.isReadOnly()));
+		verify(transactionManager).commit(any());
+	}
+
+	@Test
+	void matchingIfNoneMatchIsAnsweredWithNotModifiedWithoutReadingTheResource() throws Exception {
+		mockMvc.perform(get("/api/v1/employers/{id}", EMPLOYER_ID).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, ETAG))
+				.andExpect(content().string(""));
+
+		verify(resourceService, never()).getEmployer(any());
+	}
+
+	@Test
+	void staleIfNoneMatchIsAnsweredWithTheResource() throws Exception {
+		mockMvc.perform(get("/api/v1/employers/{id}", EMPLOYER_ID)
+						.header(HttpHeaders.IF_NONE_MATCH, "\"2-1600000000000\""))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, ETAG))
+				.andExpect(jsonPath("$.name").value("Acme"));
+	}
+
+	@Test
+	void fieldsKeepsOnlyTheGivenFields() throws Exception {
+		mockMvc.perform(get("/api/v1/employers/{id}", EMPLOYER_ID).param("fields", "id, name"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.id").value(EMPLOYER_ID))
+				.andExpect(jsonPath("$.name").value("Acme"))
+				.andExpect(jsonPath("$.address").doesNotExist());
+	}
+
+	@Test
+	void unknownResourceIsNotFound() throws Exception {
+		when(resourceService.getEmployerVersion(42L)).thenThrow(new EntityNotFoundException(Employer.class, 42L));
+
+		mockMvc.perform(get("/api/v1/employers/{id}", 42L))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void invalidCursorIsABadRequest() throws Exception {
+		when(resourceService.getEmployersVersion()).thenReturn(new ResourceVersionDTO(1L, LAST_MODIFIED));
+		when(resourceService.getEmployers(any(), anyInt())).thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+		mockMvc.perform(get("/api/v1/employers").param("after", "not-a-cursor"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void emptyCollectionHasAnETagButNoLastModified() throws Exception {
+		when(resourceService.getEmployersVersion()).thenReturn(new ResourceVersionDTO(0L, null));
+		when(resourceService.getEmployers(null, 50))
+				.thenReturn(new ResourcePageDTO<>(Collections.emptyList(), null));
+
+		mockMvc.perform(get("/api/v1/employers"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"0-0\""))
+				.andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+				.andExpect(jsonPath("$.items").isEmpty());
+	}
+}
@@ -0,0 +1,46 @@
+package gr.aueb.cf.springapp.dao;
+
+import gr.aueb.cf.springapp.entity.EmployerDeletion;
+import gr.aueb.cf.springapp.enums.DeletionStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+class EmployerDeletionRepositoryTests {
+
+	@Autowired
+	private EmployerDeletionRepository employerDeletionRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Test
+	void chunkThatLoadedTheDeletionBeforeACancelDoesNotClearIt() {
+		EmployerDeletion deletion = new EmployerDeletion();
+		deletion.setEmployerId(1L);
+		deletion.setStatus(DeletionStatus.RUNNING);
+		deletion.setCreatedAt(LocalDateTime.now());
+		Long id = entityManager.persistAndFlush(deletion).getId();
+		entityManager.clear();
+
+		EmployerDeletion chunk = entityManager.find(EmployerDeletion.class, id);
+		assertFalse(chunk.isCancelRequested());
+		assertEquals(1, employerDeletionRepository.requestCancel(id));
+		chunk.recordEmployees(2, 3);
+		entityManager.flush();
+		entityManager.clear();
+
+		EmployerDeletion reloaded = entityManager.find(EmployerDeletion.class, id);
+		assertTrue(reloaded.isCancelRequested());
+		assertEquals(2, reloaded.getEmployeesDetached());
+		assertEquals(3, reloaded.getAssignmentsRemoved());
+	}
+}
@@ -0,0 +1,41 @@
+package gr.aueb.cf.springapp.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MoneyConverterTests {
+
+	private final MoneyConverter converter = new MoneyConverter();
+
+	@Test
+	void minorUnitsSurviveARoundTripThroughTheColumn() {
+		for (long minorUnits : new long[] {0, 1, -1, 99, 100, -12_345, 123_456_789, Long.MAX_VALUE, Long.MIN_VALUE}) {
+			assertEquals(minorUnits, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(minorUnits)));
+		}
+	}
+
+	@Test
+	void columnValuesSurviveARoundTripThroughTheEntity() {
+		for (String amount : new String[] {"0.00", "0.01", "-0.01", "1234.50", "-98765.43"}) {
+			BigDecimal column = new BigDecimal(amount);
+			assertEquals(column, converter.convertToDatabaseColumn(converter.convertToEntityAttribute(column)));
+		}
+	}
+
+	@Test
+	void columnValuesWithMoreDecimalPlacesAreRoundedHalfEven() {
+		assertEquals(1000L, converter.convertToEntityAttribute(new BigDecimal("10.005")));
+		assertEquals(1002L, converter.convertToEntityAttribute(new BigDecimal("10.015")));
+		assertEquals(-1000L, converter.convertToEntityAttribute(new BigDecimal("-10.005")));
+	}
+
+	@Test
+	void nullIsKeptAsNull() {
+		assertNull(converter.convertToDatabaseColumn(null));
+		assertNull(converter.convertToEntityAttribute(null));
+	}
+}
@@ -0,0 +1,85 @@
+package gr.aueb.cf.springapp.service.impl;
+
+import gr.aueb.cf.springapp.dao.ChangeLogRepository;
+import gr.aueb.cf.springapp.dto.ChangeFeedDTO;
+import gr.aueb.cf.springapp.dto.ChangeReadDTO;
+import gr.aueb.cf.springapp.enums.ChangeType;
+import gr.aueb.cf.springapp.enums.ResourceType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChangeFeedServiceImplTests {
+
+	private ChangeLogRepository changeLogRepository;
+	private ChangeFeedServiceImpl changeFeedService;
+
+	@BeforeEach
+	void setUp() {
+		changeLogRepository = mock(ChangeLogRepository.class);
+		changeFeedService = new ChangeFeedServiceImpl(changeLogRepository);
+	}
+
+	@Test
+	void oneChangeMoreThanTheLimitMeansMoreAreWaiting() {
+		when(changeLogRepository.findChangesAfter(10, PageRequest.of(0, 4))).thenReturn(changes(11, 12, 15, 16));
+
+		ChangeFeedDTO feed = changeFeedService.getChanges(10, 3);
+
+		assertEquals(3, feed.getChanges().size());
+		assertEquals(15, feed.getNext());
+		assertTrue(feed.isMore());
+	}
+
+	@Test
+	void lastPageHasNoMore() {
+		when(changeLogRepository.findChangesAfter(10, PageRequest.of(0, 4))).thenReturn(changes(11, 12, 15));
+
+		ChangeFeedDTO feed = changeFeedService.getChanges(10, 3);
+
+		assertEquals(3, feed.getChanges().size());
+		assertEquals(15, feed.getNext());
+		assertFalse(feed.isMore());
+	}
+
+	@Test
+	void noChangesKeepTheCursor() {
+		when(changeLogRepository.findChangesAfter(anyLong(), any())).thenReturn(Collections.emptyList());
+
+		ChangeFeedDTO feed = changeFeedService.getChanges(42, 100);
+
+		assertTrue(feed.getChanges().isEmpty());
+		assertEquals(42, feed.getNext());
+		assertFalse(feed.isMore());
+	}
+
+	@Test
+	void negativeCursorIsRejected() {
+		assertThrows(IllegalArgumentException.class, () -> changeFeedService.getChanges(-1, 100));
+		verify(changeLogRepository, never()).findChangesAfter(anyLong(), any());
+	}
+
+	private static List<ChangeReadDTO> changes(long... seqs) {
+		List<ChangeReadDTO> changes = new ArrayList<>();
+		for (long seq : seqs) {
+			changes.add(new ChangeReadDTO(seq, ResourceType.EMPLOYEE, seq * 10, ChangeType.UPDATED, Instant.now()));
+		}
+		return changes;
+	}
+}
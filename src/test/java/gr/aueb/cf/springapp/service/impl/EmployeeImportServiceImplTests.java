@@ -0,0 +1,152 @@
+package gr.aueb.cf.springapp.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.aueb.cf.springapp.dao.EmployerRepository;
+import gr.aueb.cf.springapp.dto.EmployeeDTO;
+import gr.aueb.cf.springapp.dto.ImportResultDTO;
+import gr.aueb.cf.springapp.dto.ImportRowErrorDTO;
+import gr.aueb.cf.springapp.service.IEmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmployeeImportServiceImplTests {
+
+	private static final int CHUNK_SIZE = 2;
+	private static final String HEADER = "firstname,lastname,jobTitle,salary,employerId\n";
+
+	private IEmployeeService employeeService;
+	private EmployerRepository employerRepository;
+	private EmployeeImportServiceImpl importService;
+
+	/** Copies of the chunks passed to insertEmployees, which the import reuses after the call. */
+	private List<List<EmployeeDTO>> chunks;
+
+	@BeforeEach
+	void setUp() {
+		employeeService = mock(IEmployeeService.class);
+		employerRepository = mock(EmployerRepository.class);
+		importService = new EmployeeImportServiceImpl(employeeService, employerRepository,
+				Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), CHUNK_SIZE);
+
+		chunks = new ArrayList<>();
+		doAnswer(invocation -> {
+			List<EmployeeDTO> chunk = invocation.getArgument(0);
+			chunks.add(new ArrayList<>(chunk));
+			return null;
+		}).when(employeeService).insertEmployees(anyList());
+		when(employerRepository.findExistingIdsIn(anyCollection())).thenReturn(Collections.singletonList(1L));
+	}
+
+	@Test
+	void validRowsAreWrittenInChunksAndInvalidRowsAreReported() throws Exception {
+		ImportResultDTO result = importService.importCsv(stream(HEADER
+				+ "John,Smith,Engineer,1000.50,1\n"
+				+ "Jane,Doe,Manager,2000,99\n"
+				+ "Nick,Papas,Analyst,abc,\n"
+				+ "\n"
+				+ "Maria,Nikou,Developer,1500,\n"
+				+ "\"Smith, Jr\",Lee,\"Engineer \"\"II\"\"\",1200.00,1\n"));
+
+		assertEquals(5, result.getRowsRead());
+		assertEquals(3, result.getImported());
+		assertEquals(2, result.getRejected());
+		assertEquals(Arrays.asList(3L, 4L), errorRows(result));
+		assertEquals("Entity Employer with id 99 does not exist", result.getErrors().get(0).getMessage());
+		assertEquals("Salary 'abc' is not a number", result.getErrors().get(1).getMessage());
+
+		assertEquals(2, chunks.size());
+		assertEquals(Collections.singletonList("John"), firstnames(chunks.get(0)));
+		assertEquals(Arrays.asList("Maria", "Smith, Jr"), firstnames(chunks.get(1)));
+		assertEquals(new BigDecimal("1000.50"), chunks.get(0).get(0).getSalary());
+		assertEquals("Engineer \"II\"", chunks.get(1).get(1).getJobTitle());
+		verify(employerRepository, times(2)).findExistingIdsIn(anyCollection());
+	}
+
+	@Test
+	void rowsThatFailValidationAreNotWritten() throws Exception {
+		ImportResultDTO result = importService.importCsv(stream(HEADER + "Jo,Smith,Engineer,1000,\n"));
+
+		assertEquals(1, result.getRejected());
+		assertEquals(Collections.singletonList(2L), errorRows(result));
+		assertEquals("Firstname cannot be less than 3 characters", result.getErrors().get(0).getMessage());
+		verify(employeeService, never()).insertEmployees(anyList());
+		verify(employerRepository, never()).findExistingIdsIn(anyCollection());
+	}
+
+	@Test
+	void chunkThatCannotBeSavedRejectsEveryRowOfTheChunk() throws Exception {
+		doThrow(new DataIntegrityViolationException("duplicate")).when(employeeService).insertEmployees(anyList());
+
+		ImportResultDTO result = importService.importCsv(stream(HEADER
+				+ "John,Smith,Engineer,1000,\n"
+				+ "Jane,Doe,Manager,2000,\n"));
+
+		assertEquals(0, result.getImported());
+		assertEquals(Arrays.asList(2L, 3L), errorRows(result));
+		assertEquals("Could not be saved: duplicate", result.getErrors().get(0).getMessage());
+	}
+
+	@Test
+	void csvWithoutARequiredColumnIsRejected() {
+		assertThrows(IllegalArgumentException.class,
+				() -> importService.importCsv(stream("firstname,lastname,salary\nJohn,Smith,1000\n")));
+	}
+
+	@Test
+	void jsonArrayIsImportedInChunks() throws Exception {
+		ImportResultDTO result = importService.importJson(stream("["
+				+ "{\"firstname\":\"John\",\"lastname\":\"Smith\",\"jobTitle\":\"Engineer\",\"salary\":1000.5,\"employerId\":1},"
+				+ "{\"firstname\":\"Jane\",\"lastname\":\"Doe\",\"jobTitle\":\"Manager\",\"salary\":\"2000\"},"
+				+ "{\"firstname\":\"Maria\",\"lastname\":\"Nikou\",\"jobTitle\":\"Developer\",\"salary\":1500}"
+				+ "]"));
+
+		assertEquals(3, result.getRowsRead());
+		assertEquals(3, result.getImported());
+		assertEquals(2, chunks.size());
+		assertEquals(Arrays.asList("John", "Jane"), firstnames(chunks.get(0)));
+		assertEquals(Collections.singletonList("Maria"), firstnames(chunks.get(1)));
+	}
+
+	private static InputStream stream(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static List<Long> errorRows(ImportResultDTO result) {
+		List<Long> rows = new ArrayList<>();
+		for (ImportRowErrorDTO error : result.getErrors()) {
+			rows.add(error.getRow());
+		}
+		return rows;
+	}
+
+	private static List<String> firstnames(List<EmployeeDTO> employees) {
+		List<String> firstnames = new ArrayList<>();
+		for (EmployeeDTO employee : employees) {
+			firstnames.add(employee.getFirstname());
+		}
+		return firstnames;
+	}
+}
@@ -0,0 +1,251 @@
+package gr.aueb.cf.springapp.service.impl;
+
+import gr.aueb.cf.springapp.dao.ChangeLogRepository;
+import gr.aueb.cf.springapp.dao.EmployerDeletionRepository;
+import gr.aueb.cf.springapp.dao.EmployerPayrollRepository;
+import gr.aueb.cf.springapp.dao.EmployerRepository;
+import gr.aueb.cf.springapp.dto.EmployerDeletionReadDTO;
+import gr.aueb.cf.springapp.entity.Employer;
+import gr.aueb.cf.springapp.entity.EmployerDeletion;
+import gr.aueb.cf.springapp.enums.ChangeType;
+import gr.aueb.cf.springapp.enums.DeletionStatus;
+import gr.aueb.cf.springapp.enums.ResourceType;
+import gr.aueb.cf.springapp.service.event.EmployeesChangedEvent;
+import gr.aueb.cf.springapp.service.exceptions.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs deletions against mocked repositories. The deletion runs on the executor of the service, so the tests
+ * wait for the commits of its transactions: one to start it, one per status change and one per step.
+ */
+class EmployerDeletionServiceImplTests {
+
+	private static final long DELETION_ID = 1L;
+	private static final long EMPLOYER_ID = 5L;
+	private static final int CHUNK_SIZE = 2;
+
+	private EmployerDeletionRepository employerDeletionRepository;
+	private EmployerRepository employerRepository;
+	private EmployerPayrollRepository employerPayrollRepository;
+	private ChangeLogRepository changeLogRepository;
+	private ApplicationEventPublisher eventPublisher;
+	private EmployerViewsCache employerViewsCache;
+	private PlatformTransactionManager transactionManager;
+	private EmployerDeletionServiceImpl employerDeletionService;
+
+	private Employer employer;
+	private volatile EmployerDeletion deletion;
+
+	@BeforeEach
+	void setUp() {
+		employerDeletionRepository = mock(EmployerDeletionRepository.class);
+		employerRepository = mock(EmployerRepository.class);
+		employerPayrollRepository = mock(EmployerPayrollRepository.class);
+		changeLogRepository = mock(ChangeLogRepository.class);
+		eventPublisher = mock(ApplicationEventPublisher.class);
+		employerViewsCache = mock(EmployerViewsCache.class);
+		transactionManager = mock(PlatformTransactionManager.class);
+		employerDeletionService = new EmployerDeletionServiceImpl(employerDeletionRepository, employerRepository,
+				employerPayrollRepository, changeLogRepository, eventPublisher, employerViewsCache,
+				transactionManager, CHUNK_SIZE);
+
+		employer = new Employer(EMPLOYER_ID, "Acme", "Address", new ArrayList<>(), new ArrayList<>());
+		when(employerRepository.findEmployerById(EMPLOYER_ID)).thenReturn(employer);
+		when(employerRepository.findById(EMPLOYER_ID)).thenReturn(Optional.of(employer));
+		when(employerDeletionRepository.save(any())).thenAnswer(invocation -> {
+			deletion = invocation.getArgument(0);
+			deletion.setId(DELETION_ID);
+			return deletion;
+		});
+		when(employerDeletionRepository.findById(DELETION_ID)).thenAnswer(invocation -> Optional.ofNullable(deletion));
+		when(employerDeletionRepository.findViewById(DELETION_ID)).thenAnswer(invocation -> view(deletion));
+	}
+
+	@AfterEach
+	void tearDown() {
+		employerDeletionService.close();
+	}
+
+	@Test
+	void employeesThenProjectsThenTheEmployerAreDeletedChunkByChunk() throws Exception {
+		when(employerDeletionRepository.countEmployees(EMPLOYER_ID)).thenReturn(3L);
+		when(employerDeletionRepository.countProjects(EMPLOYER_ID)).thenReturn(1L);
+		AtomicInteger employeeChunks = new AtomicInteger();
+		when(employerDeletionRepository.lockEmployeeChunk(eq(EMPLOYER_ID), any(), any())).thenAnswer(invocation -> {
+			long[] ids = invocation.getArgument(1);
+			long[] salaries = invocation.getArgument(2);
+			switch (employeeChunks.getAndIncrement()) {
+				case 0:
+					ids[0] = 3;
+					salaries[0] = 100;
+					ids[1] = 8;
+					salaries[1] = 200;
+					return 2;
+				case 1:
+					ids[0] = 9;
+					salaries[0] = 50;
+					return 1;
+				default:
+					return 0;
+			}
+		});
+		when(employerDeletionRepository.detachEmployees(eq(EMPLOYER_ID), any(), anyInt())).thenReturn(1);
+		AtomicInteger projectChunks = new AtomicInteger();
+		when(employerDeletionRepository.lockProjectChunk(eq(EMPLOYER_ID), any())).thenAnswer(invocation -> {
+			if (projectChunks.getAndIncrement() > 0) {
+				return 0;
+			}
+			invocation.<long[]>getArgument(1)[0] = 20;
+			return 1;
+		});
+		when(employerDeletionRepository.deleteProjects(any(), eq(1))).thenReturn(2);
+
+		EmployerDeletionReadDTO started = employerDeletionService.startDeletion(EMPLOYER_ID);
+		awaitCommits(6);
+
+		assertNotNull(started);
+		assertTrue(employer.isDeleting());
+		assertEquals(DeletionStatus.COMPLETED, deletion.getStatus());
+		assertNotNull(deletion.getFinishedAt());
+		assertEquals("Acme", deletion.getEmployerName());
+		assertEquals(3, deletion.getEmployeesTotal());
+		assertEquals(3, deletion.getEmployeesDetached());
+		assertEquals(1, deletion.getProjectsDeleted());
+		assertEquals(4, deletion.getAssignmentsRemoved());
+		verify(employerPayrollRepository).adjustPayroll(EMPLOYER_ID, -2, -300);
+		verify(employerPayrollRepository).adjustPayroll(EMPLOYER_ID, -1, -50);
+		verify(changeLogRepository).recordChange(ResourceType.EMPLOYER, ChangeType.DELETED, EMPLOYER_ID);
+		verify(changeLogRepository).recordChanges(ResourceType.EMPLOYEE, ChangeType.UPDATED, Arrays.asList(3L, 8L));
+		verify(changeLogRepository).recordChanges(ResourceType.EMPLOYEE, ChangeType.UPDATED,
+				Collections.singletonList(9L));
+		verify(changeLogRepository).recordChanges(ResourceType.PROJECT, ChangeType.DELETED,
+				Collections.singletonList(20L));
+		verify(employerPayrollRepository).deleteByEmployerId(EMPLOYER_ID);
+		verify(employerRepository).delete(employer);
+		verify(employerViewsCache, timeout(5000).times(2)).evictAfterCommit();
+	}
+
+	@Test
+	void unknownEmployerIsNotDeleted() {
+		assertThrows(EntityNotFoundException.class, () -> employerDeletionService.startDeletion(42L));
+		verify(employerDeletionRepository, never()).save(any());
+		verify(employerViewsCache, never()).evictAfterCommit();
+	}
+
+	@Test
+	void failedStepMarksTheDeletionFailed() throws Exception {
+		when(employerDeletionRepository.lockEmployeeChunk(eq(EMPLOYER_ID), any(), any()))
+				.thenThrow(new IllegalStateException("Lock wait timeout exceeded"));
+
+		employerDeletionService.startDeletion(EMPLOYER_ID);
+		awaitCommits(3);
+
+		assertEquals(DeletionStatus.FAILED, deletion.getStatus());
+		assertEquals("Lock wait timeout exceeded", deletion.getErrorMessage());
+		assertNotNull(deletion.getFinishedAt());
+		assertTrue(employer.isDeleting());
+		verify(employerRepository, never()).delete(any());
+	}
+
+	@Test
+	void failedDeletionIsCancelledRightAwayAndTheEmployerIsVisibleAgain() throws Exception {
+		employer.setDeleting(true);
+		deletion = deletion(DeletionStatus.FAILED);
+		when(employerDeletionRepository.findEmployeeIds(EMPLOYER_ID)).thenReturn(Arrays.asList(3L, 8L));
+
+		EmployerDeletionReadDTO cancelled = employerDeletionService.cancelDeletion(DELETION_ID);
+
+		assertEquals(DeletionStatus.CANCELLED, cancelled.getStatus());
+		verify(employerDeletionRepository, never()).requestCancel(any());
+		assertFalse(employer.isDeleting());
+		assertNotNull(deletion.getFinishedAt());
+		verify(eventPublisher).publishEvent(any(EmployeesChangedEvent.class));
+		verify(changeLogRepository).recordChange(ResourceType.EMPLOYER, ChangeType.UPDATED, EMPLOYER_ID);
+		verify(employerViewsCache).evictAfterCommit();
+	}
+
+	@Test
+	void unfinishedDeletionIsCancelledByItsJobBeforeTheNextStep() throws Exception {
+		employer.setDeleting(true);
+		deletion = deletion(DeletionStatus.RUNNING);
+		when(employerDeletionRepository.requestCancel(DELETION_ID)).thenAnswer(invocation -> {
+			ReflectionTestUtils.setField(deletion, "cancelRequested", true);
+			return 1;
+		});
+
+		employerDeletionService.cancelDeletion(DELETION_ID);
+		verify(employerDeletionRepository).requestCancel(DELETION_ID);
+		assertTrue(deletion.isCancelRequested());
+		assertEquals(DeletionStatus.RUNNING, deletion.getStatus());
+
+		employerDeletionService.resumeDeletion(DELETION_ID);
+		awaitCommits(3);
+
+		assertEquals(DeletionStatus.CANCELLED, deletion.getStatus());
+		assertFalse(employer.isDeleting());
+		verify(employerDeletionRepository, never()).lockEmployeeChunk(any(), any(), any());
+		verify(employerRepository, never()).delete(any());
+	}
+
+	@Test
+	void cancelledDeletionIsNotResumed() throws Exception {
+		deletion = deletion(DeletionStatus.CANCELLED);
+
+		assertEquals(DeletionStatus.CANCELLED, employerDeletionService.resumeDeletion(DELETION_ID).getStatus());
+		employerDeletionService.close();
+
+		verify(transactionManager, never()).getTransaction(any());
+		verify(employerDeletionRepository, never()).lockEmployeeChunk(any(), any(), any());
+	}
+
+	private static EmployerDeletion deletion(DeletionStatus status) {
+		EmployerDeletion deletion = new EmployerDeletion();
+		deletion.setId(DELETION_ID);
+		deletion.setEmployerId(EMPLOYER_ID);
+		deletion.setEmployerName("Acme");
+		deletion.setStatus(status);
+		return deletion;
+	}
+
+	private static EmployerDeletionReadDTO view(EmployerDeletion deletion) {
+		if (deletion == null) {
+			return null;
+		}
+		return new EmployerDeletionReadDTO(deletion.getId(), deletion.getEmployerId(), deletion.getEmployerName(),
+				deletion.getStatus(), deletion.isCancelRequested(), deletion.getEmployeesTotal(),
+				deletion.getEmployeesDetached(), deletion.getProjectsTotal(), deletion.getProjectsDeleted(),
+				deletion.getAssignmentsRemoved(), deletion.getCreatedAt(), deletion.getFinishedAt(),
+				deletion.getErrorMessage());
+	}
+
+	private void awaitCommits(int commits) {
+		verify(transactionManager, timeout(5000).times(commits)).commit(any());
+	}
+}
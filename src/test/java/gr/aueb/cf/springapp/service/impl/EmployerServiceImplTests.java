@@ -0,0 +1,108 @@
+package gr.aueb.cf.springapp.service.impl;
+
+import gr.aueb.cf.springapp.dto.EmployerReadDTO;
+import gr.aueb.cf.springapp.entity.Employee;
+import gr.aueb.cf.springapp.entity.Employer;
+import gr.aueb.cf.springapp.entity.Project;
+import gr.aueb.cf.springapp.enums.Status;
+import gr.aueb.cf.springapp.service.IEmployerService;
+import gr.aueb.cf.springapp.service.util.ChunkedRows;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.sql.init.mode=never"})
+@Import({EmployerServiceImpl.class, EmployerViewsCache.class})
+class EmployerServiceImplTests {
+
+	private static final int EMPLOYERS = 5;
+	private static final int EMPLOYEES_PER_EMPLOYER = 10;
+	private static final int PROJECTS_PER_EMPLOYER = 3;
+
+	/** Employers read per chunk of the employers page; the last chunk is not full, so no chunk is empty. */
+	private static final int EMPLOYERS_PER_CHUNK = 2;
+
+	/** Statements allowed for one chunk of the employers page, whatever the number of employees. */
+	private static final int EMPLOYERS_CHUNK_QUERY_BUDGET = 2;
+
+	@Autowired
+	private IEmployerService employerService;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		for (int i = 0; i < EMPLOYERS; i++) {
+			Employer employer = new Employer();
+			employer.setName("Employer " + i);
+			employer.setAddress("Address " + i);
+			entityManager.persist(employer);
+
+			List<Project> projects = new ArrayList<>();
+			for (int j = 0; j < PROJECTS_PER_EMPLOYER; j++) {
+				Project project = new Project(null, "Project " + i + j, "Description", LocalDate.of(2030, 1, 1),
+						LocalDate.of(2030, 12, 31), Status.ACTIVE, employer, new ArrayList<>());
+				employer.addProject(project);
+				entityManager.persist(project);
+				projects.add(project);
+			}
+
+			for (int k = 0; k < EMPLOYEES_PER_EMPLOYER; k++) {
+				Employee employee = new Employee();
+				employee.setFirstname("First" + k);
+				employee.setLastname("Last" + i + k);
+				employee.setJobTitle("Developer");
+				employee.setSalary(100_000L);
+				employee.addEmployer(employer);
+				entityManager.persist(employee);
+				for (Project project : projects) {
+					employee.addProject(project);
+				}
+			}
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void employersPageIsLoadedWithAFixedNumberOfStatementsPerChunk() {
+		ChunkedRows<EmployerReadDTO> employers = employerService.findEmployerViewsInChunks(EMPLOYERS_PER_CHUNK);
+
+		int employersRead = 0;
+		while (employers.hasNext()) {
+			EmployerReadDTO employer = employers.next();
+			assertEquals(EMPLOYEES_PER_EMPLOYER, employer.getEmployees().size());
+			employersRead++;
+		}
+
+		int chunks = (EMPLOYERS + EMPLOYERS_PER_CHUNK - 1) / EMPLOYERS_PER_CHUNK;
+		int budget = chunks * EMPLOYERS_CHUNK_QUERY_BUDGET;
+		assertEquals(EMPLOYERS, employersRead);
+		assertTrue(statistics.getPrepareStatementCount() <= budget,
+				"Expected at most " + budget + " statements but were " + statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+}
@@ -0,0 +1,136 @@
+package gr.aueb.cf.springapp.service.impl;
+
+import gr.aueb.cf.springapp.dao.ChangeLogRepository;
+import gr.aueb.cf.springapp.entity.Employee;
+import gr.aueb.cf.springapp.entity.Employer;
+import gr.aueb.cf.springapp.entity.Project;
+import gr.aueb.cf.springapp.enums.ChangeType;
+import gr.aueb.cf.springapp.enums.ResourceType;
+import gr.aueb.cf.springapp.enums.Status;
+import gr.aueb.cf.springapp.service.IProjectService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+@Import({ProjectServiceImpl.class, EmployerViewsCache.class})
+class ProjectServiceImplTests {
+
+	@Autowired
+	private IProjectService projectService;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@MockBean
+	private ChangeLogRepository changeLogRepository;
+
+	private Employer employer;
+	private Project deleted;
+	private Project sibling;
+	private Employee employee;
+
+	@BeforeEach
+	void setUp() {
+		employer = new Employer();
+		employer.setName("Employer");
+		employer.setAddress("Address");
+		entityManager.persist(employer);
+
+		deleted = project("Deleted project");
+		sibling = project("Sibling project");
+
+		employee = new Employee();
+		employee.setFirstname("First");
+		employee.setLastname("Last");
+		employee.setJobTitle("Developer");
+		employee.setSalary(100_000L);
+		employee.addEmployer(employer);
+		entityManager.persist(employee);
+		employee.addProject(deleted);
+		employee.addProject(sibling);
+
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void deletingAProjectKeepsItsEmployerAndSiblingProjects() throws Exception {
+		projectService.deleteProject(deleted.getId());
+		entityManager.flush();
+		entityManager.clear();
+
+		assertNull(entityManager.find(Project.class, deleted.getId()));
+		assertNotNull(entityManager.find(Employer.class, employer.getId()));
+		assertNotNull(entityManager.find(Project.class, sibling.getId()));
+
+		Employee reloaded = entityManager.find(Employee.class, employee.getId());
+		assertNotNull(reloaded);
+		assertEquals(employer.getId(), reloaded.getEmployer().getId());
+		assertEquals(1, reloaded.getAllProjects().size());
+		assertTrue(reloaded.getAllProjects().contains(entityManager.find(Project.class, sibling.getId())));
+	}
+
+	@Test
+	void deletingAProjectWithItsEmployerLoadedKeepsTheEmployer() throws Exception {
+		Employer loaded = entityManager.find(Employer.class, employer.getId());
+		assertEquals(2, loaded.getAllProjects().size());
+
+		projectService.deleteProject(deleted.getId());
+		entityManager.flush();
+		entityManager.clear();
+
+		assertNull(entityManager.find(Project.class, deleted.getId()));
+		assertEquals(1, entityManager.find(Employer.class, employer.getId()).getAllProjects().size());
+	}
+
+	@Test
+	void onlyTheEmployeesWhoseAssignmentChangedAreRecorded() throws Exception {
+		Employee unassigned = employee("Other");
+		entityManager.flush();
+
+		assertEquals(1, projectService.assignEmployeesToProject(deleted.getId(),
+				Arrays.asList(employee.getId(), unassigned.getId())).getChanged());
+		verify(changeLogRepository).recordChanges(ResourceType.EMPLOYEE, ChangeType.UPDATED,
+				Collections.singleton(unassigned.getId()));
+
+		assertEquals(1, projectService.unassignEmployeesFromProject(sibling.getId(),
+				Arrays.asList(employee.getId(), unassigned.getId())).getChanged());
+		verify(changeLogRepository).recordChanges(ResourceType.EMPLOYEE, ChangeType.UPDATED,
+				Collections.singleton(employee.getId()));
+	}
+
+	private Employee employee(String lastname) {
+		Employee employee = new Employee();
+		employee.setFirstname("First");
+		employee.setLastname(lastname);
+		employee.setJobTitle("Developer");
+		employee.setSalary(100_000L);
+		employee.addEmployer(entityManager.find(Employer.class, employer.getId()));
+		entityManager.persist(employee);
+		return employee;
+	}
+
+	private Project project(String name) {
+		Project project = new Project(null, name, "Description", LocalDate.of(2030, 1, 1),
+				LocalDate.of(2030, 12, 31), Status.ACTIVE, employer, new ArrayList<>());
+		employer.addProject(project);
+		entityManager.persist(project);
+		return project;
+	}
+}
@@ -0,0 +1,183 @@
+package gr.aueb.cf.springapp.service.impl;
+
+import gr.aueb.cf.springapp.dao.ChangeLogRepository;
+import gr.aueb.cf.springapp.dao.EmployerPayrollRepository;
+import gr.aueb.cf.springapp.dao.SalaryAdjustmentRepository;
+import gr.aueb.cf.springapp.dto.SalaryAdjustmentDTO;
+import gr.aueb.cf.springapp.entity.SalaryAdjustment;
+import gr.aueb.cf.springapp.enums.AdjustmentStatus;
+import gr.aueb.cf.springapp.enums.ChangeType;
+import gr.aueb.cf.springapp.enums.ResourceType;
+import gr.aueb.cf.springapp.service.event.EmployeesChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs adjustments against mocked repositories. The adjustment runs on the executor of the service, so the tests
+ * wait for the commits of its transactions: one to start it, one per status change and one per chunk.
+ */
+class SalaryAdjustmentServiceImplTests {
+
+	private static final long ADJUSTMENT_ID = 1L;
+	private static final long EMPLOYER_ID = 5L;
+	private static final long[] EMPLOYEE_IDS = {3, 8};
+
+	private SalaryAdjustmentRepository salaryAdjustmentRepository;
+	private EmployerPayrollRepository employerPayrollRepository;
+	private ChangeLogRepository changeLogRepository;
+	private ApplicationEventPublisher eventPublisher;
+	private PlatformTransactionManager transactionManager;
+	private SalaryAdjustmentServiceImpl salaryAdjustmentService;
+
+	private volatile SalaryAdjustment adjustment;
+
+	/** Copies of the ids, old and new salaries written as audit rows; the service reuses its arrays. */
+	private final List<long[]> audits = Collections.synchronizedList(new ArrayList<>());
+
+	@BeforeEach
+	void setUp() {
+		salaryAdjustmentRepository = mock(SalaryAdjustmentRepository.class);
+		employerPayrollRepository = mock(EmployerPayrollRepository.class);
+		changeLogRepository = mock(ChangeLogRepository.class);
+		eventPublisher = mock(ApplicationEventPublisher.class);
+		transactionManager = mock(PlatformTransactionManager.class);
+		salaryAdjustmentService = new SalaryAdjustmentServiceImpl(salaryAdjustmentRepository,
+				employerPayrollRepository, changeLogRepository, eventPublisher, transactionManager, EMPLOYEE_IDS.length);
+
+		when(salaryAdjustmentRepository.countEmployees(any())).thenReturn((long) EMPLOYEE_IDS.length);
+		when(salaryAdjustmentRepository.save(any())).thenAnswer(invocation -> {
+			adjustment = invocation.getArgument(0);
+			adjustment.setId(ADJUSTMENT_ID);
+			return adjustment;
+		});
+		when(salaryAdjustmentRepository.findById(ADJUSTMENT_ID)).thenAnswer(invocation -> Optional.of(adjustment));
+		doAnswer(invocation -> {
+			int count = invocation.getArgument(4);
+			for (int i = 1; i <= 3; i++) {
+				audits.add(Arrays.copyOf(invocation.<long[]>getArgument(i), count));
+			}
+			return null;
+		}).when(salaryAdjustmentRepository).insertAudits(eq(ADJUSTMENT_ID), any(), any(), any(), anyInt());
+	}
+
+	@AfterEach
+	void tearDown() {
+		salaryAdjustmentService.close();
+	}
+
+	@Test
+	void percentageRaiseIsAppliedChunkByChunkAndCompleted() {
+		lockSalaries(100_000, 250_050);
+		when(salaryAdjustmentRepository.findPayrollChanges(ADJUSTMENT_ID, 0, 8))
+				.thenReturn(Collections.singletonMap(EMPLOYER_ID, 12_252L));
+
+		salaryAdjustmentService.startAdjustment(new SalaryAdjustmentDTO(EMPLOYER_ID, " ", null,
+				new BigDecimal("3.5"), null));
+		awaitCommits(5);
+
+		assertEquals(350L, adjustment.getPercentage());
+		assertNull(adjustment.getJobTitle());
+		assertEquals(AdjustmentStatus.COMPLETED, adjustment.getStatus());
+		assertNotNull(adjustment.getFinishedAt());
+		assertEquals(2, adjustment.getEmployeesTotal());
+		assertEquals(2, adjustment.getEmployeesAdjusted());
+		assertEquals(8, adjustment.getLastEmployeeId());
+		assertEquals(12_252L, adjustment.getTotalChange());
+		verify(salaryAdjustmentRepository).applyAudits(ADJUSTMENT_ID, 0, 8);
+		verify(employerPayrollRepository).adjustPayroll(EMPLOYER_ID, 0, 12_252L);
+		verify(changeLogRepository).recordChanges(ResourceType.EMPLOYEE, ChangeType.UPDATED, Arrays.asList(3L, 8L));
+		verify(eventPublisher).publishEvent(any(EmployeesChangedEvent.class));
+	}
+
+	@Test
+	void auditRowsHoldTheOldAndTheNewSalaries() {
+		lockSalaries(30_000, 100_000);
+
+		salaryAdjustmentService.startAdjustment(new SalaryAdjustmentDTO(null, "Engineer", null, null,
+				new BigDecimal("-500.00")));
+		awaitCommits(5);
+
+		assertEquals(-50_000L, adjustment.getAmount());
+		assertEquals(AdjustmentStatus.COMPLETED, adjustment.getStatus());
+		assertEquals(-80_000L, adjustment.getTotalChange());
+		assertArrayEquals(EMPLOYEE_IDS, audits.get(0));
+		assertArrayEquals(new long[] {30_000, 100_000}, audits.get(1));
+		assertArrayEquals(new long[] {0, 50_000}, audits.get(2));
+	}
+
+	@Test
+	void failedChunkMarksTheAdjustmentFailedAndKeepsItsCheckpoint() {
+		when(salaryAdjustmentRepository.lockChunk(any(), anyLong(), any(), any()))
+				.thenThrow(new IllegalStateException("Lock wait timeout exceeded"));
+
+		salaryAdjustmentService.startAdjustment(new SalaryAdjustmentDTO(EMPLOYER_ID, null, null,
+				new BigDecimal("10"), null));
+		awaitCommits(3);
+
+		assertEquals(AdjustmentStatus.FAILED, adjustment.getStatus());
+		assertEquals("Lock wait timeout exceeded", adjustment.getErrorMessage());
+		assertNotNull(adjustment.getFinishedAt());
+		assertEquals(0, adjustment.getLastEmployeeId());
+		assertEquals(0, adjustment.getEmployeesAdjusted());
+		verify(employerPayrollRepository, never()).adjustPayroll(any(), anyLong(), anyLong());
+	}
+
+	@Test
+	void invalidChangesAreRejectedBeforeAnythingIsSaved() {
+		assertThrows(IllegalArgumentException.class, () -> salaryAdjustmentService.startAdjustment(
+				new SalaryAdjustmentDTO(EMPLOYER_ID, null, null, null, null)));
+		assertThrows(IllegalArgumentException.class, () -> salaryAdjustmentService.startAdjustment(
+				new SalaryAdjustmentDTO(EMPLOYER_ID, null, null, BigDecimal.ONE, BigDecimal.ONE)));
+		assertThrows(IllegalArgumentException.class, () -> salaryAdjustmentService.startAdjustment(
+				new SalaryAdjustmentDTO(EMPLOYER_ID, null, null, new BigDecimal("1.005"), null)));
+		assertThrows(IllegalArgumentException.class, () -> salaryAdjustmentService.startAdjustment(
+				new SalaryAdjustmentDTO(EMPLOYER_ID, null, null, new BigDecimal("-100.01"), null)));
+		verify(salaryAdjustmentRepository, never()).save(any());
+	}
+
+	/**
+	 * Makes the first chunk the employees of EMPLOYEE_IDS with the given salaries, and the next chunk empty.
+	 */
+	private void lockSalaries(long... salaries) {
+		when(salaryAdjustmentRepository.lockChunk(any(), anyLong(), any(), any())).thenAnswer(invocation -> {
+			long afterId = invocation.getArgument(1);
+			if (afterId > 0) {
+				return 0;
+			}
+			System.arraycopy(EMPLOYEE_IDS, 0, invocation.<long[]>getArgument(2), 0, EMPLOYEE_IDS.length);
+			System.arraycopy(salaries, 0, invocation.<long[]>getArgument(3), 0, salaries.length);
+			return EMPLOYEE_IDS.length;
+		});
+	}
+
+	private void awaitCommits(int commits) {
+		verify(transactionManager, timeout(5000).times(commits)).commit(any());
+	}
+}
@@ -0,0 +1,50 @@
+package gr.aueb.cf.springapp.service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvUtilTests {
+
+	@Test
+	void plainFieldsAreSplitOnCommas() {
+		assertEquals(Arrays.asList("John", "Smith", "1000.50"), CsvUtil.parseLine("John,Smith,1000.50"));
+	}
+
+	@Test
+	void emptyFieldsAreKept() {
+		assertEquals(Arrays.asList("", "a", "", ""), CsvUtil.parseLine(",a,,"));
+		assertEquals(Collections.singletonList(""), CsvUtil.parseLine(""));
+	}
+
+	@Test
+	void quotedFieldsMayContainCommasAndDoubledQuotes() {
+		assertEquals(Arrays.asList("Smith, Jr", "Engineer \"II\"", ""),
+				CsvUtil.parseLine("\"Smith, Jr\",\"Engineer \"\"II\"\"\",\"\""));
+	}
+
+	@Test
+	void unterminatedQuotedFieldIsRejected() {
+		assertThrows(IllegalArgumentException.class, () -> CsvUtil.parseLine("John,\"Smith"));
+	}
+
+	@Test
+	void formattedLineIsParsedBackToItsValues() {
+		String line = CsvUtil.formatLine("Smith, Jr", "Engineer \"II\"", null, 42, "plain");
+
+		assertEquals("\"Smith, Jr\",\"Engineer \"\"II\"\"\",,42,plain", line);
+		assertEquals(Arrays.asList("Smith, Jr", "Engineer \"II\"", "", "42", "plain"), CsvUtil.parseLine(line));
+	}
+
+	@Test
+	void textThatStartsLikeAFormulaIsEscapedButNumbersAreNot() {
+		assertEquals("'=1+2,'+cmd,'-x,'@SUM(A1),-12.5", CsvUtil.formatLine("=1+2", "+cmd", "-x", "@SUM(A1)", -12.5));
+		assertEquals("'\tname", CsvUtil.escapeFormula("\tname"));
+		assertEquals("name", CsvUtil.escapeFormula("name"));
+		assertEquals("", CsvUtil.escapeFormula(""));
+	}
+}
@@ -0,0 +1,54 @@
+package gr.aueb.cf.springapp.service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyUtilTests {
+
+	@Test
+	void amountsAreRoundedHalfEvenToMinorUnits() {
+		assertEquals(1234L, MoneyUtil.toMinorUnits(new BigDecimal("12.345")));
+		assertEquals(1236L, MoneyUtil.toMinorUnits(new BigDecimal("12.355")));
+		assertEquals(0L, MoneyUtil.toMinorUnits(new BigDecimal("0.005")));
+		assertEquals(2L, MoneyUtil.toMinorUnits(new BigDecimal("0.015")));
+		assertEquals(1200L, MoneyUtil.toMinorUnits(new BigDecimal("12")));
+	}
+
+	@Test
+	void negativeAmountsAreRoundedHalfEvenToMinorUnits() {
+		assertEquals(-1234L, MoneyUtil.toMinorUnits(new BigDecimal("-12.345")));
+		assertEquals(-1236L, MoneyUtil.toMinorUnits(new BigDecimal("-12.355")));
+		assertEquals(-5L, MoneyUtil.toMinorUnits(new BigDecimal("-0.05")));
+	}
+
+	@Test
+	void amountThatDoesNotFitInALongIsRejected() {
+		assertThrows(ArithmeticException.class, () -> MoneyUtil.toMinorUnits(new BigDecimal("1e30")));
+	}
+
+	@Test
+	void minorUnitsAreConvertedToAmountsWithTwoDecimalPlaces() {
+		assertEquals(new BigDecimal("12.34"), MoneyUtil.toAmount(1234L));
+		assertEquals(new BigDecimal("-0.05"), MoneyUtil.toAmount(-5L));
+		assertEquals(new BigDecimal("0.00"), MoneyUtil.toAmount(0L));
+	}
+
+	@Test
+	void nullIsKeptAsNull() {
+		assertNull(MoneyUtil.toMinorUnits(null));
+		assertNull(MoneyUtil.toAmount(null));
+		assertNull(MoneyUtil.round(null));
+	}
+
+	@Test
+	void roundKeepsTwoDecimalPlacesHalfEven() {
+		assertEquals(new BigDecimal("2.34"), MoneyUtil.round(new BigDecimal("2.345")));
+		assertEquals(new BigDecimal("-2.34"), MoneyUtil.round(new BigDecimal("-2.345")));
+		assertEquals(new BigDecimal("2.00"), MoneyUtil.round(new BigDecimal("2")));
+	}
+}
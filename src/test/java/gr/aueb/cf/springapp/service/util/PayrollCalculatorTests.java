@@ -0,0 +1,82 @@
+package gr.aueb.cf.springapp.service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PayrollCalculatorTests {
+
+	@Test
+	void divisionRoundsHalfEvenLikeBigDecimal() {
+		for (long dividend = -1000; dividend <= 1000; dividend++) {
+			long expected = BigDecimal.valueOf(dividend).divide(BigDecimal.TEN, 0, RoundingMode.HALF_EVEN)
+					.longValueExact();
+			assertEquals(expected, PayrollCalculator.divideHalfEven(dividend, 10), "dividend " + dividend);
+		}
+	}
+
+	@Test
+	void raiseRoundsHalfEvenToTheCent() {
+		assertEquals(35, PayrollCalculator.raise(1000, 350));
+		assertEquals(0, PayrollCalculator.raise(1, 5000));
+		assertEquals(2, PayrollCalculator.raise(3, 5000));
+		assertEquals(2, PayrollCalculator.raise(5, 5000));
+	}
+
+	@Test
+	void negativeRaiseRoundsHalfEvenToTheCent() {
+		assertEquals(0, PayrollCalculator.raise(1, -5000));
+		assertEquals(-2, PayrollCalculator.raise(3, -5000));
+		assertEquals(-2, PayrollCalculator.raise(5, -5000));
+		assertEquals(-35, PayrollCalculator.raise(1000, -350));
+	}
+
+	@Test
+	void raiseThatOverflowsIsRejected() {
+		assertThrows(ArithmeticException.class, () -> PayrollCalculator.raise(Long.MAX_VALUE / 2, 10_000));
+		long[] salaries = {100, Long.MAX_VALUE / 2};
+		assertThrows(ArithmeticException.class, () -> PayrollCalculator.applyRaise(salaries, 2, 10_000));
+	}
+
+	@Test
+	void applyRaiseChangesTheFirstCountSalariesAndReturnsTheChange() {
+		long[] salaries = {100_000, 250_050, 7};
+
+		long change = PayrollCalculator.applyRaise(salaries, 2, 350);
+
+		assertArrayEquals(new long[] {103_500, 258_802, 7}, salaries);
+		assertEquals(3_500 + 8_752, change);
+	}
+
+	@Test
+	void applyRaiseLowersSalariesByAtMostAHundredPercent() {
+		long[] salaries = {100_000, 1};
+
+		assertEquals(-100_001, PayrollCalculator.applyRaise(salaries, 2, -10_000));
+		assertArrayEquals(new long[] {0, 0}, salaries);
+		assertThrows(IllegalArgumentException.class, () -> PayrollCalculator.applyRaise(salaries, 2, -10_001));
+	}
+
+	@Test
+	void negativeAdjustmentNeverDropsASalaryBelowZero() {
+		long[] salaries = {1_000, 300};
+
+		long change = PayrollCalculator.applyAdjustment(salaries, 2, -500);
+
+		assertArrayEquals(new long[] {500, 0}, salaries);
+		assertEquals(-800, change);
+	}
+
+	@Test
+	void totalSumsTheFirstCountSalaries() {
+		long[] salaries = {100, 200, -50, 1_000};
+
+		assertEquals(250, PayrollCalculator.total(salaries, 3));
+		assertEquals(0, PayrollCalculator.total(salaries, 0));
+	}
+}